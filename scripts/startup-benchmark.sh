@@ -0,0 +1,92 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: time to first HTTP response and resident memory for each startup mode.
+#
+#   mvn -Paot,cds package            # jvm, aot, cds and aot-cds (needs the docker-compose MySQL)
+#   mvn -Pnative native:compile      # native (needs GraalVM)
+#   scripts/startup-benchmark.sh [runs] [mode...]
+#
+# Modes whose artifacts are missing are skipped. Extra application arguments, e.g. another
+# datasource, can be passed in APP_ARGS. Results are printed as CSV and appended to $REPORT.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+shift || true
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+    MODES=(jvm aot cds aot-cds native)
+fi
+PORT=${PORT:-18080}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-180}
+REPORT=${REPORT:-target/startup-benchmark.csv}
+APP_ARGS=${APP_ARGS:-}
+
+JAR=target/ai-backend-1.0.0.jar
+CDS_JAR=target/cds/ai-backend-1.0.0-cds.jar
+CDS_ARCHIVE=target/cds/application.jsa
+NATIVE=target/lifepattern-ai
+
+command_for() {
+    case "$1" in
+        jvm)     [ -f "$JAR" ] && echo "java -jar $JAR" ;;
+        aot)     [ -f "$JAR" ] && echo "java -Dspring.aot.enabled=true -jar $JAR" ;;
+        cds)     [ -f "$CDS_ARCHIVE" ] && echo "java -XX:SharedArchiveFile=$CDS_ARCHIVE -jar $CDS_JAR" ;;
+        aot-cds) [ -f "$CDS_ARCHIVE" ] && echo "java -XX:SharedArchiveFile=$CDS_ARCHIVE -Dspring.aot.enabled=true -jar $CDS_JAR" ;;
+        native)  [ -x "$NATIVE" ] && echo "$NATIVE" ;;
+        *)       echo "Unknown mode: $1" >&2; exit 1 ;;
+    esac
+}
+
+now_millis() {
+    date +%s%3N
+}
+
+# Any HTTP status counts: the first response is what a load balancer health check would see
+wait_for_first_response() {
+    local pid=$1
+    local deadline=$(( $(now_millis) + TIMEOUT_SECONDS * 1000 ))
+    while [ "$(now_millis)" -lt "$deadline" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            return 1
+        fi
+        local status
+        status=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/api/actuator/health" || true)
+        if [ "$status" != "000" ]; then
+            return 0
+        fi
+        sleep 0.01
+    done
+    return 1
+}
+
+mkdir -p "$(dirname "$REPORT")"
+[ -f "$REPORT" ] || echo "mode,run,first_response_ms,rss_mb" > "$REPORT"
+echo "mode,run,first_response_ms,rss_mb"
+
+for mode in "${MODES[@]}"; do
+    cmd=$(command_for "$mode" || true)
+    if [ -z "$cmd" ]; then
+        echo "# $mode: artifact not built, skipped" >&2
+        continue
+    fi
+    for run in $(seq 1 "$RUNS"); do
+        start=$(now_millis)
+        # shellcheck disable=SC2086
+        $cmd --server.port="$PORT" $APP_ARGS > "target/startup-$mode.log" 2>&1 &
+        pid=$!
+        if wait_for_first_response "$pid"; then
+            elapsed=$(( $(now_millis) - start ))
+            rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+            line="$mode,$run,$elapsed,$(( rss_kb / 1024 ))"
+            echo "$line"
+            echo "$line" >> "$REPORT"
+        else
+            echo "# $mode run $run: no response within ${TIMEOUT_SECONDS}s, see target/startup-$mode.log" >&2
+        fi
+        kill "$pid" 2>/dev/null || true
+        wait "$pid" 2>/dev/null || true
+    done
+done
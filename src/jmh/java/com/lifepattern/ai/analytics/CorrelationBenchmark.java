@@ -0,0 +1,71 @@
+package com.lifepattern.ai.analytics;
+
+import com.lifepattern.ai.benchmark.BenchmarkData;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of applying one edited log to the stored co-moments versus recomputing them
+ * from a 10k-log history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelationBenchmark {
+    
+    private static final int HISTORY = 10_000;
+    private static final int METRICS = DailyLogMetric.count();
+    
+    private double[][] history;
+    private byte[] encoded;
+    private int cursor;
+    
+    @Setup
+    public void setUp() {
+        List<DailyLog> logs = BenchmarkData.dailyLogs(HISTORY, 42L);
+        history = new double[HISTORY][];
+        CoMomentAccumulator accumulator = new CoMomentAccumulator(METRICS);
+        for (int i = 0; i < HISTORY; i++) {
+            history[i] = DailyLogMetric.valuesOf(logs.get(i));
+            accumulator.add(history[i]);
+        }
+        encoded = accumulator.encode();
+    }
+    
+    @Benchmark
+    public double incrementalUpdate() {
+        cursor = (cursor + 1) % HISTORY;
+        CoMomentAccumulator accumulator = CoMomentAccumulator.decode(METRICS, encoded);
+        accumulator.remove(history[cursor]);
+        accumulator.add(history[(cursor + 1) % HISTORY]);
+        encoded = accumulator.encode();
+        return accumulator.correlation(0, METRICS - 1);
+    }
+    
+    @Benchmark
+    public double fullRecompute() {
+        CoMomentAccumulator accumulator = new CoMomentAccumulator(METRICS);
+        for (double[] values : history) {
+            accumulator.add(values);
+        }
+        return accumulator.correlation(0, METRICS - 1);
+    }
+    
+    @Benchmark
+    public double fullRecomputeSpearman() {
+        double[] x = new double[HISTORY];
+        double[] y = new double[HISTORY];
+        for (int i = 0; i < HISTORY; i++) {
+            x[i] = history[i][0];
+            y[i] = history[i][METRICS - 1];
+        }
+        return RankCorrelation.spearman(x, y, HISTORY);
+    }
+}
@@ -0,0 +1,91 @@
+package com.lifepattern.ai.benchmark;
+
+import com.lifepattern.ai.dto.DailyLogResponse;
+import com.lifepattern.ai.dto.TrendDataResponse;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public final class BenchmarkData {
+    
+    private static final LocalDate END_DATE = LocalDate.of(2024, 12, 31);
+    
+    private BenchmarkData() {
+    }
+    
+    public static User user() {
+        return User.builder()
+                .id(1L)
+                .email("bench@lifepattern.ai")
+                .password("$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchmark")
+                .name("Bench User")
+                .build();
+    }
+    
+    public static List<DailyLog> dailyLogs(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        User user = user();
+        List<DailyLog> logs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double sleep = halfHours(random, 4, 10);
+            double work = halfHours(random, 0, 12);
+            double study = halfHours(random, 0, Math.min(4, 24 - sleep - work));
+            double entertainment = halfHours(random, 0, Math.min(4, 24 - sleep - work - study));
+            logs.add(DailyLog.builder()
+                    .id((long) i + 1)
+                    .user(user)
+                    .date(END_DATE.minusDays(i))
+                    .sleepHours(sleep)
+                    .workHours(work)
+                    .studyHours(study)
+                    .entertainmentHours(entertainment)
+                    .energyLevel(random.nextInt(1, 11))
+                    .stressLevel(random.nextInt(1, 11))
+                    .notes(i % 3 == 0 ? "Long day, deadline for the quarterly report" : null)
+                    .build());
+        }
+        return logs;
+    }
+    
+    public static List<DailyLogResponse> dailyLogResponses(int count, long seed) {
+        List<DailyLogResponse> responses = new ArrayList<>(count);
+        for (DailyLog log : dailyLogs(count, seed)) {
+            responses.add(DailyLogResponse.builder()
+                    .id(log.getId().toString())
+                    .date(log.getDate())
+                    .sleepHours(log.getSleepHours())
+                    .workHours(log.getWorkHours())
+                    .studyHours(log.getStudyHours())
+                    .entertainmentHours(log.getEntertainmentHours())
+                    .energyLevel(log.getEnergyLevel())
+                    .stressLevel(log.getStressLevel())
+                    .notes(log.getNotes())
+                    .build());
+        }
+        return responses;
+    }
+    
+    public static List<TrendDataResponse> trendResponses(int count, long seed) {
+        List<TrendDataResponse> responses = new ArrayList<>(count);
+        for (DailyLog log : dailyLogs(count, seed)) {
+            responses.add(TrendDataResponse.builder()
+                    .date(log.getDate().toString())
+                    .sleep(log.getSleepHours())
+                    .stress(log.getStressLevel())
+                    .build());
+        }
+        return responses;
+    }
+    
+    private static double halfHours(SplittableRandom random, double min, double max) {
+        if (max <= min) {
+            return min;
+        }
+        int steps = (int) ((max - min) * 2);
+        return min + random.nextInt(steps + 1) / 2.0;
+    }
+}
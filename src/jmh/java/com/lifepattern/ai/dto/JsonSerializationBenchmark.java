@@ -0,0 +1,52 @@
+package com.lifepattern.ai.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lifepattern.ai.benchmark.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    
+    @Param({"10", "365", "3650"})
+    private int rows;
+    
+    private ObjectWriter dailyLogWriter;
+    private ObjectWriter trendWriter;
+    private List<DailyLogResponse> dailyLogs;
+    private List<TrendDataResponse> trends;
+    
+    @Setup
+    public void setUp() {
+        // Mirrors the spring.jackson.* settings in application.properties
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        dailyLogWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, DailyLogResponse.class));
+        trendWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, TrendDataResponse.class));
+        dailyLogs = BenchmarkData.dailyLogResponses(rows, 11L);
+        trends = BenchmarkData.trendResponses(rows, 13L);
+    }
+    
+    @Benchmark
+    public byte[] serializeDailyLogs() throws Exception {
+        return dailyLogWriter.writeValueAsBytes(dailyLogs);
+    }
+    
+    @Benchmark
+    public byte[] serializeTrends() throws Exception {
+        return trendWriter.writeValueAsBytes(trends);
+    }
+}
@@ -0,0 +1,138 @@
+package com.lifepattern.ai.inference;
+
+import com.lifepattern.ai.benchmark.BenchmarkData;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row-at-a-time versus batched scoring of a synthetic 200-tree, depth-6 ensemble, plus
+ * end-to-end throughput of the micro-batching scorer under concurrent callers.
+ * Batch benchmarks report time per batch; divide by batchSize to compare per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BurnoutModelBenchmark {
+    
+    private static final int TREES = 200;
+    private static final int DEPTH = 6;
+    private static final int FEATURES = DailyLogMetric.count();
+    
+    @Param({"1", "16", "64"})
+    private int batchSize;
+    
+    private TreeEnsembleModel model;
+    private BurnoutScorer scorer;
+    private double[][] rows;
+    private double[] packed;
+    private double[] scores;
+    private int cursor;
+    
+    @Setup
+    public void setUp() {
+        model = syntheticEnsemble(new Random(7));
+        scorer = new BurnoutScorer(model, batchSize, Duration.ofMillis(1), Duration.ofSeconds(1), 4096);
+        List<DailyLog> logs = BenchmarkData.dailyLogs(1024, 42L);
+        rows = new double[logs.size()][];
+        for (int i = 0; i < logs.size(); i++) {
+            rows[i] = DailyLogMetric.valuesOf(logs.get(i));
+        }
+        packed = new double[batchSize * FEATURES];
+        scores = new double[batchSize];
+    }
+    
+    @TearDown
+    public void tearDown() {
+        scorer.close();
+    }
+    
+    @Benchmark
+    public void singleRowScoring(Blackhole blackhole) {
+        for (int i = 0; i < batchSize; i++) {
+            blackhole.consume(model.score(nextRow()));
+        }
+    }
+    
+    @Benchmark
+    public double[] batchScoring() {
+        for (int i = 0; i < batchSize; i++) {
+            System.arraycopy(nextRow(), 0, packed, i * FEATURES, FEATURES);
+        }
+        model.scoreBatch(packed, FEATURES, batchSize, scores);
+        return scores;
+    }
+    
+    @Benchmark
+    public double formulaScoring() {
+        return FormulaBurnoutModel.INSTANCE.score(nextRow());
+    }
+    
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int microBatchedScorer(ThreadCursor thread) {
+        return scorer.score(rows[thread.next()]).getScore();
+    }
+    
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int directScoring(ThreadCursor thread) {
+        return BurnoutModel.toScore(model.score(rows[thread.next()]));
+    }
+    
+    private double[] nextRow() {
+        cursor = (cursor + 1) & 1023;
+        return rows[cursor];
+    }
+    
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+        
+        private int cursor;
+        
+        int next() {
+            cursor = (cursor + 1) & 1023;
+            return cursor;
+        }
+    }
+    
+    private static TreeEnsembleModel syntheticEnsemble(Random random) {
+        int nodesPerTree = (1 << (DEPTH + 1)) - 1;
+        int nodes = TREES * nodesPerTree;
+        int[] roots = new int[TREES];
+        int[] feature = new int[nodes];
+        double[] threshold = new double[nodes];
+        int[] left = new int[nodes];
+        int[] right = new int[nodes];
+        double[] value = new double[nodes];
+        for (int t = 0; t < TREES; t++) {
+            int offset = t * nodesPerTree;
+            roots[t] = offset;
+            for (int n = 0; n < nodesPerTree; n++) {
+                if (2 * n + 1 < nodesPerTree) {
+                    feature[offset + n] = random.nextInt(FEATURES);
+                    threshold[offset + n] = feature[offset + n] >= 4 ? 1 + random.nextInt(10) : random.nextDouble() * 12;
+                    left[offset + n] = offset + 2 * n + 1;
+                    right[offset + n] = offset + 2 * n + 2;
+                } else {
+                    feature[offset + n] = -1;
+                    value[offset + n] = random.nextGaussian();
+                }
+            }
+        }
+        return new TreeEnsembleModel("synthetic", 35.0, roots, feature, threshold, left, right, value);
+    }
+}
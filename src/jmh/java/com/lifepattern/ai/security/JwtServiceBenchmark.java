@@ -0,0 +1,50 @@
+package com.lifepattern.ai.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+    
+    private static final String SECRET =
+            "dGhpcy1pcy1hLXNlY3VyZS0yNTYtYml0LXNlY3JldC1rZXktZm9yLWp3dC10b2tlbi1nZW5lcmF0aW9uLWFuZC12YWxpZGF0aW9uLXByb2Nlc3M=";
+    
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86400000L);
+        userDetails = new User("bench@lifepattern.ai", "password", List.of());
+        token = jwtService.generateToken(userDetails);
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+    
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.isTokenValid(token, userDetails);
+    }
+    
+    @Benchmark
+    public boolean roundTrip() {
+        String fresh = jwtService.generateToken(userDetails);
+        return jwtService.extractUsername(fresh) != null && jwtService.isTokenValid(fresh, userDetails);
+    }
+}
@@ -0,0 +1,51 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.benchmark.BenchmarkData;
+import com.lifepattern.ai.entity.AIAnalysis;
+import com.lifepattern.ai.entity.DailyLog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalysisServiceBenchmark {
+    
+    private AnalysisService analysisService;
+    private List<DailyLog> logs;
+    private int cursor;
+    
+    @Setup
+    public void setUp() {
+        analysisService = new AnalysisService(null, null, null, null, null, null, null);
+        logs = BenchmarkData.dailyLogs(1024, 42L);
+    }
+    
+    private DailyLog nextLog() {
+        cursor = (cursor + 1) & 1023;
+        return logs.get(cursor);
+    }
+    
+    @Benchmark
+    public int burnoutScore() {
+        return analysisService.calculateBurnoutScore(nextLog());
+    }
+    
+    @Benchmark
+    public AIAnalysis.RiskLevel scoreAndRiskLevel() {
+        return analysisService.determineRiskLevel(analysisService.calculateBurnoutScore(nextLog()));
+    }
+    
+    @Benchmark
+    public void generateSuggestion(Blackhole blackhole) {
+        DailyLog log = nextLog();
+        AIAnalysis.RiskLevel riskLevel = analysisService.determineRiskLevel(analysisService.calculateBurnoutScore(log));
+        blackhole.consume(analysisService.generateSuggestion(riskLevel, log));
+    }
+}
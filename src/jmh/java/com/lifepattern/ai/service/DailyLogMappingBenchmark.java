@@ -0,0 +1,71 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.benchmark.BenchmarkData;
+import com.lifepattern.ai.dto.DailyLogResponse;
+import com.lifepattern.ai.entity.DailyLog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class DailyLogMappingBenchmark {
+    
+    @Param({"10", "365", "3650"})
+    private int rows;
+    
+    private DailyLogService dailyLogService;
+    private List<DailyLog> logs;
+    
+    @Setup
+    public void setUp() {
+        dailyLogService = new DailyLogService(null, null, null, null);
+        logs = BenchmarkData.dailyLogs(rows, 7L);
+    }
+    
+    @Benchmark
+    public void mapToResponse(Blackhole blackhole) {
+        for (DailyLog log : logs) {
+            blackhole.consume(dailyLogService.mapToResponse(log));
+        }
+    }
+    
+    @Benchmark
+    public void builderAllocation(Blackhole blackhole) {
+        for (DailyLog log : logs) {
+            blackhole.consume(DailyLogResponse.builder()
+                    .id("1")
+                    .date(log.getDate())
+                    .sleepHours(log.getSleepHours())
+                    .workHours(log.getWorkHours())
+                    .studyHours(log.getStudyHours())
+                    .entertainmentHours(log.getEntertainmentHours())
+                    .energyLevel(log.getEnergyLevel())
+                    .stressLevel(log.getStressLevel())
+                    .notes(log.getNotes())
+                    .build());
+        }
+    }
+    
+    @Benchmark
+    public void allArgsConstructorAllocation(Blackhole blackhole) {
+        for (DailyLog log : logs) {
+            blackhole.consume(new DailyLogResponse(
+                    "1",
+                    log.getDate(),
+                    log.getSleepHours(),
+                    log.getWorkHours(),
+                    log.getStudyHours(),
+                    log.getEntertainmentHours(),
+                    log.getEnergyLevel(),
+                    log.getStressLevel(),
+                    log.getNotes()));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.lifepattern.ai.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Snapshots MySQL's global statement counters so a run can report how many
+ * queries the backend issued. The counters are server-wide, so run against a
+ * dedicated local instance (the docker-compose stack) for meaningful numbers.
+ */
+class DatabaseCounters {
+    
+    private static final String[] COUNTERS = {"Questions", "Com_select", "Com_insert", "Com_update", "Com_delete"};
+    
+    private final LoadTestConfig config;
+    
+    DatabaseCounters(LoadTestConfig config) {
+        this.config = config;
+    }
+    
+    Map<String, Long> snapshot() throws SQLException {
+        Map<String, Long> values = new LinkedHashMap<>();
+        try (Connection connection = DriverManager.getConnection(
+                config.getJdbcUrl(), config.getJdbcUser(), config.getJdbcPassword());
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW GLOBAL STATUS WHERE Variable_name IN "
+                     + "('Questions', 'Com_select', 'Com_insert', 'Com_update', 'Com_delete')")) {
+            while (rs.next()) {
+                values.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return values;
+    }
+    
+    static Map<String, Long> delta(Map<String, Long> before, Map<String, Long> after) {
+        Map<String, Long> delta = new LinkedHashMap<>();
+        for (String counter : COUNTERS) {
+            delta.put(counter, after.getOrDefault(counter, 0L) - before.getOrDefault(counter, 0L));
+        }
+        return delta;
+    }
+}
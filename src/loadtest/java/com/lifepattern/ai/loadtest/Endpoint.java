@@ -0,0 +1,34 @@
+package com.lifepattern.ai.loadtest;
+
+import java.util.Arrays;
+
+public enum Endpoint {
+    LOGIN("login", "POST /auth/login"),
+    LIST_LOGS("list", "GET /logs"),
+    CREATE_LOG("create", "POST /logs"),
+    UPDATE_LOG("update", "PUT /logs/{id}"),
+    DELETE_LOG("delete", "DELETE /logs/{id}"),
+    LATEST_ANALYSIS("latest", "GET /analysis/latest"),
+    TRENDS("trends", "GET /analysis/trends"),
+    REGENERATE("regenerate", "POST /analysis/regenerate"),
+    CURRENT_USER("me", "GET /auth/me");
+    
+    private final String key;
+    private final String label;
+    
+    Endpoint(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    public static Endpoint fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint in mix: " + key));
+    }
+}
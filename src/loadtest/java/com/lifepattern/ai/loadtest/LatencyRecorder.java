@@ -0,0 +1,86 @@
+package com.lifepattern.ai.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-bucket latency histogram: 1µs resolution up to 1ms, then ~1% relative
+ * error up to 60s. Recording is a single atomic increment so it can be shared by
+ * all response callbacks.
+ */
+class LatencyRecorder {
+    
+    private static final int LINEAR_BUCKETS = 1000;
+    private static final double GROWTH = 1.01;
+    private static final int LOG_BUCKETS = (int) Math.ceil(Math.log(60_000_000.0 / LINEAR_BUCKETS) / Math.log(GROWTH));
+    
+    private final AtomicLong[] buckets = new AtomicLong[LINEAR_BUCKETS + LOG_BUCKETS + 1];
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+    
+    LatencyRecorder() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new AtomicLong();
+        }
+    }
+    
+    void record(long micros, boolean success) {
+        buckets[bucketOf(micros)].incrementAndGet();
+        count.incrementAndGet();
+        maxMicros.accumulateAndGet(micros, Math::max);
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+    
+    long count() {
+        return count.get();
+    }
+    
+    long errors() {
+        return errors.get();
+    }
+    
+    long maxMicros() {
+        return maxMicros.get();
+    }
+    
+    long percentileMicros(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i].get();
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return maxMicros.get();
+    }
+    
+    void reset() {
+        Arrays.stream(buckets).forEach(bucket -> bucket.set(0));
+        count.set(0);
+        errors.set(0);
+        maxMicros.set(0);
+    }
+    
+    private static int bucketOf(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) Math.max(0, micros);
+        }
+        int index = LINEAR_BUCKETS + (int) (Math.log((double) micros / LINEAR_BUCKETS) / Math.log(GROWTH));
+        return Math.min(index, LINEAR_BUCKETS + LOG_BUCKETS);
+    }
+    
+    private static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket + 1;
+        }
+        return (long) Math.ceil(LINEAR_BUCKETS * Math.pow(GROWTH, bucket - LINEAR_BUCKETS + 1));
+    }
+}
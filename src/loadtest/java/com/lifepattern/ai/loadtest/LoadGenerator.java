@@ -0,0 +1,187 @@
+package com.lifepattern.ai.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-model traffic replay: arrivals follow a Poisson process at the configured
+ * rate regardless of how quickly the server answers, and latency is measured from
+ * the intended arrival time so queueing delay is not hidden (no coordinated omission).
+ */
+class LoadGenerator {
+    
+    private static final String DAILY_LOG_BODY = """
+            {"date":"%s","sleepHours":%.1f,"workHours":%.1f,"studyHours":1.0,"entertainmentHours":2.0,\
+            "energyLevel":%d,"stressLevel":%d,"notes":"load test"}""";
+    
+    private final LoadTestConfig config;
+    private final List<SeededUser> users;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final HttpClient httpClient;
+    private final Endpoint[] weightedEndpoints;
+    
+    LoadGenerator(LoadTestConfig config, List<SeededUser> users) {
+        this.config = config;
+        this.users = users;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2))
+                .build();
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new LatencyRecorder());
+        }
+        this.weightedEndpoints = config.getMix().entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Endpoint[]::new);
+        if (weightedEndpoints.length == 0) {
+            throw new IllegalArgumentException("Traffic mix is empty");
+        }
+    }
+    
+    Map<Endpoint, LatencyRecorder> getRecorders() {
+        return recorders;
+    }
+    
+    long getDropped() {
+        return dropped.get();
+    }
+    
+    /**
+     * Runs arrivals until {@code duration} elapses. {@code onWarmupComplete} is invoked
+     * once the warm-up period is over so callers can reset counters.
+     */
+    void run(Duration warmup, Duration duration, Runnable onWarmupComplete) {
+        SplittableRandom random = new SplittableRandom(config.getRandomSeed());
+        double meanGapNanos = 1_000_000_000.0 / config.getRate();
+        long start = System.nanoTime();
+        long warmupEnd = start + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        boolean warm = warmup.isZero();
+        long next = start;
+        
+        while (next < end) {
+            long now;
+            while ((now = System.nanoTime()) < next) {
+                LockSupport.parkNanos(next - now);
+            }
+            if (!warm && next >= warmupEnd) {
+                onWarmupComplete.run();
+                recorders.values().forEach(LatencyRecorder::reset);
+                dropped.set(0);
+                warm = true;
+            }
+            SeededUser user = users.get(random.nextInt(users.size()));
+            Endpoint endpoint = user.getToken() == null
+                    ? Endpoint.LOGIN
+                    : weightedEndpoints[random.nextInt(weightedEndpoints.length)];
+            fire(endpoint, user, next, random.split());
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+        }
+        
+        while (inFlight.get() > 0) {
+            LockSupport.parkNanos(10_000_000L);
+        }
+    }
+    
+    private void fire(Endpoint endpoint, SeededUser user, long intendedNanos, SplittableRandom random) {
+        if (inFlight.get() >= config.getMaxInFlight()) {
+            dropped.incrementAndGet();
+            recorders.get(endpoint).record(0, false);
+            return;
+        }
+        HttpRequest request = buildRequest(endpoint, user, random);
+        if (request == null) {
+            return;
+        }
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    inFlight.decrementAndGet();
+                    long micros = (System.nanoTime() - intendedNanos) / 1000;
+                    boolean success = error == null && response.statusCode() < 300;
+                    recorders.get(endpoint).record(micros, success);
+                    if (success) {
+                        handleResponse(endpoint, user, response.body());
+                    }
+                });
+    }
+    
+    private HttpRequest buildRequest(Endpoint endpoint, SeededUser user, SplittableRandom random) {
+        String base = config.getBaseUrl();
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        if (endpoint != Endpoint.LOGIN) {
+            builder.header("Authorization", "Bearer " + user.getToken());
+        }
+        switch (endpoint) {
+            case LOGIN -> builder.uri(URI.create(config.getAuthUrl() + "/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + user.getEmail() + "\",\"password\":\"" + PopulationSeeder.PASSWORD + "\"}"));
+            case LIST_LOGS -> builder.uri(URI.create(base + "/logs")).GET();
+            case CREATE_LOG -> builder.uri(URI.create(base + "/logs"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(dailyLogBody(user.nextCreateDate().toString(), random)));
+            case UPDATE_LOG -> {
+                Long id = user.getCreatedLogIds().peekLast();
+                if (id == null) {
+                    return null;
+                }
+                builder.uri(URI.create(base + "/logs/" + id))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(dailyLogBody(user.nextCreateDate().toString(), random)));
+            }
+            case DELETE_LOG -> {
+                Long id = user.getCreatedLogIds().pollFirst();
+                if (id == null) {
+                    return null;
+                }
+                builder.uri(URI.create(base + "/logs/" + id)).DELETE();
+            }
+            case LATEST_ANALYSIS -> builder.uri(URI.create(base + "/analysis/latest")).GET();
+            case TRENDS -> builder.uri(URI.create(base + "/analysis/trends?days=" + (random.nextBoolean() ? 30 : 365))).GET();
+            case REGENERATE -> builder.uri(URI.create(base + "/analysis/regenerate"))
+                    .POST(HttpRequest.BodyPublishers.noBody());
+            case CURRENT_USER -> builder.uri(URI.create(base + "/auth/me")).GET();
+        }
+        return builder.build();
+    }
+    
+    private static String dailyLogBody(String date, SplittableRandom random) {
+        return String.format(Locale.ROOT, DAILY_LOG_BODY, date,
+                5 + random.nextInt(8) / 2.0, random.nextInt(20) / 2.0,
+                random.nextInt(1, 11), random.nextInt(1, 11));
+    }
+    
+    private void handleResponse(Endpoint endpoint, SeededUser user, String body) {
+        try {
+            if (endpoint == Endpoint.LOGIN) {
+                user.setToken(objectMapper.readTree(body).path("access_token").asText(null));
+            } else if (endpoint == Endpoint.CREATE_LOG) {
+                JsonNode id = objectMapper.readTree(body).path("id");
+                if (!id.isMissingNode()) {
+                    user.getCreatedLogIds().addLast(id.asLong());
+                }
+            }
+        } catch (Exception ignored) {
+            // A malformed body is already visible as an error on the server side
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.lifepattern.ai.loadtest;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+public class LoadTestConfig {
+    
+    private String baseUrl = "http://localhost:8080/api";
+    /** Where logins go; the reactive runtime only serves reads, so point this at a servlet instance */
+    private String authUrl;
+    private String jdbcUrl = "jdbc:mysql://localhost:3306/lifepattern_db?useSSL=false&allowPublicKeyRetrieval=true"
+            + "&serverTimezone=UTC&rewriteBatchedStatements=true";
+    private String jdbcUser = "lifepattern_user";
+    private String jdbcPassword = "lifepattern_password_123";
+    private int users = 1000;
+    private int years = 3;
+    private double gapRate = 0.1;
+    private boolean seed = true;
+    private boolean replay = true;
+    private double rate = 50.0;
+    private Duration duration = Duration.ofMinutes(2);
+    private Duration warmup = Duration.ofSeconds(15);
+    private int maxInFlight = 2000;
+    private long randomSeed = 20240221L;
+    private String report;
+    private final Map<Endpoint, Integer> mix = new LinkedHashMap<>(Map.of(
+            Endpoint.LOGIN, 5,
+            Endpoint.LIST_LOGS, 25,
+            Endpoint.CREATE_LOG, 10,
+            Endpoint.UPDATE_LOG, 5,
+            Endpoint.DELETE_LOG, 3,
+            Endpoint.LATEST_ANALYSIS, 20,
+            Endpoint.TRENDS, 25,
+            Endpoint.REGENERATE, 7,
+            Endpoint.CURRENT_USER, 0
+    ));
+    
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "base-url" -> config.baseUrl = value;
+                case "auth-url" -> config.authUrl = value;
+                case "jdbc-url" -> config.jdbcUrl = value;
+                case "jdbc-user" -> config.jdbcUser = value;
+                case "jdbc-password" -> config.jdbcPassword = value;
+                case "users" -> config.users = Integer.parseInt(value);
+                case "years" -> config.years = Integer.parseInt(value);
+                case "gap-rate" -> config.gapRate = Double.parseDouble(value);
+                case "seed" -> config.seed = Boolean.parseBoolean(value);
+                case "replay" -> config.replay = Boolean.parseBoolean(value);
+                case "rate" -> config.rate = Double.parseDouble(value);
+                case "duration" -> config.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> config.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "max-in-flight" -> config.maxInFlight = Integer.parseInt(value);
+                case "random-seed" -> config.randomSeed = Long.parseLong(value);
+                case "report" -> config.report = value;
+                case "mix" -> config.parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return config;
+    }
+    
+    public String getAuthUrl() {
+        return authUrl != null ? authUrl : baseUrl;
+    }
+    
+    private void parseMix(String value) {
+        mix.replaceAll((endpoint, weight) -> 0);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(Endpoint.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+    }
+}
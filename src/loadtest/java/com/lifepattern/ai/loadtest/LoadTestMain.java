@@ -0,0 +1,104 @@
+package com.lifepattern.ai.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Entry point for the offline load-test harness. Seeds a synthetic population into
+ * the docker-compose MySQL instance, replays a weighted traffic mix against a locally
+ * running backend and prints per-endpoint latency percentiles plus DB statement counts.
+ *
+ * <pre>
+ * mvn -Ploadtest verify -Dloadtest.args="--users=5000 --years=3 --rate=200 --duration=300"
+ * </pre>
+ */
+public class LoadTestMain {
+    
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        PopulationSeeder seeder = new PopulationSeeder(config);
+        List<SeededUser> users = config.isSeed() ? seeder.seed() : seeder.loadExisting();
+        if (!config.isReplay()) {
+            return;
+        }
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No seeded users found, run with --seed=true first");
+        }
+        
+        DatabaseCounters counters = new DatabaseCounters(config);
+        LoadGenerator generator = new LoadGenerator(config, users);
+        AtomicReference<Map<String, Long>> before = new AtomicReference<>(counters.snapshot());
+        AtomicLong measuredFrom = new AtomicLong(System.nanoTime());
+        
+        System.out.printf("Replaying %.1f req/s for %ds (+%ds warm-up) against %s%n",
+                config.getRate(), config.getDuration().toSeconds(), config.getWarmup().toSeconds(), config.getBaseUrl());
+        generator.run(config.getWarmup(), config.getDuration(), () -> {
+            try {
+                before.set(counters.snapshot());
+                measuredFrom.set(System.nanoTime());
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not read MySQL status counters", e);
+            }
+        });
+        double seconds = (System.nanoTime() - measuredFrom.get()) / 1e9;
+        Map<String, Long> queries = DatabaseCounters.delta(before.get(), counters.snapshot());
+        
+        Map<String, Object> report = report(generator, queries, seconds);
+        print(report);
+        if (config.getReport() != null) {
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(config.getReport()), report);
+        }
+    }
+    
+    private static Map<String, Object> report(LoadGenerator generator, Map<String, Long> queries, double seconds) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long totalRequests = 0;
+        for (Map.Entry<Endpoint, LatencyRecorder> entry : generator.getRecorders().entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            if (recorder.count() == 0) {
+                continue;
+            }
+            totalRequests += recorder.count();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", recorder.count());
+            stats.put("errors", recorder.errors());
+            stats.put("throughput", recorder.count() / seconds);
+            for (double percentile : PERCENTILES) {
+                stats.put("p" + percentile + "_ms", recorder.percentileMicros(percentile) / 1000.0);
+            }
+            stats.put("max_ms", recorder.maxMicros() / 1000.0);
+            endpoints.put(entry.getKey().getLabel(), stats);
+        }
+        Map<String, Object> database = new LinkedHashMap<>(queries);
+        if (totalRequests > 0) {
+            database.put("queries_per_request", queries.get("Questions") / (double) totalRequests);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("duration_s", seconds);
+        report.put("dropped", generator.getDropped());
+        report.put("endpoints", endpoints);
+        report.put("database", database);
+        return report;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        System.out.printf("%n%-26s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        ((Map<String, Map<String, Object>>) report.get("endpoints")).forEach((label, stats) ->
+                System.out.printf("%-26s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", label,
+                        stats.get("count"), stats.get("errors"), stats.get("p50.0_ms"), stats.get("p90.0_ms"),
+                        stats.get("p99.0_ms"), stats.get("p99.9_ms"), stats.get("max_ms")));
+        System.out.printf("%nDropped (client saturated): %d%n", report.get("dropped"));
+        System.out.printf("Database statements: %s%n", report.get("database"));
+    }
+}
@@ -0,0 +1,155 @@
+package com.lifepattern.ai.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds synthetic users and multi-year daily log histories straight into MySQL with
+ * batched inserts. Every user shares the same password so the replay phase can log in.
+ * <p>
+ * The inserts bypass the application, so no log-change events or outbox rows are
+ * written. Per-user snapshots (stats, correlations, anomaly state, forecasts, goals)
+ * are rebuilt from the logs on first use, but the search index and the population
+ * percentiles only see the seeded logs after their own rebuilds.
+ */
+@RequiredArgsConstructor
+public class PopulationSeeder {
+    
+    public static final String EMAIL_DOMAIN = "@loadtest.lifepattern.ai";
+    public static final String PASSWORD = "loadtest123";
+    
+    private static final int BATCH_SIZE = 5000;
+    
+    /**
+     * Tables keyed by user_id, deleted before the users themselves.
+     */
+    private static final List<String> USER_TABLES = List.of(
+            "ai_analysis", "log_anomalies", "daily_logs", "user_stats", "user_correlation_state",
+            "user_anomaly_state", "burnout_forecast_models", "goals", "user_goal_state", "outbox_events",
+            "password_reset_tokens", "revoked_tokens", "token_revocation_stamps");
+    
+    private final LoadTestConfig config;
+    
+    public List<SeededUser> seed() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                config.getJdbcUrl(), config.getJdbcUser(), config.getJdbcPassword())) {
+            connection.setAutoCommit(false);
+            purge(connection);
+            List<SeededUser> users = insertUsers(connection);
+            long logs = insertLogs(connection, users);
+            connection.commit();
+            System.out.printf("Seeded %d users with %d daily logs%n", users.size(), logs);
+            System.out.println("Restart the backend with --search.rebuild-on-startup=true to index the seeded "
+                    + "notes; population percentiles include them after the next population rebuild");
+            return users;
+        }
+    }
+    
+    public List<SeededUser> loadExisting() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                config.getJdbcUrl(), config.getJdbcUser(), config.getJdbcPassword());
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT id, email FROM users WHERE email LIKE ? ORDER BY id")) {
+            statement.setString(1, "%" + EMAIL_DOMAIN);
+            List<SeededUser> users = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    users.add(new SeededUser(rs.getLong(1), rs.getString(2)));
+                }
+            }
+            return users;
+        }
+    }
+    
+    private void purge(Connection connection) throws SQLException {
+        String scope = "(SELECT id FROM (SELECT id FROM users WHERE email LIKE '%" + EMAIL_DOMAIN + "') seeded)";
+        // Teams whose every member was seeded go with their users; other teams lose the
+        // seeded members from their count
+        String seededTeams = "(SELECT team_id FROM (SELECT team_id FROM team_memberships GROUP BY team_id "
+                + "HAVING MIN(CASE WHEN user_id IN " + scope + " THEN 1 ELSE 0 END) = 1) seeded_teams)";
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM team_daily_rollups WHERE team_id IN " + seededTeams);
+            statement.executeUpdate("DELETE FROM teams WHERE id IN " + seededTeams);
+            statement.executeUpdate("UPDATE teams SET member_count = (SELECT COUNT(*) FROM team_memberships m "
+                    + "WHERE m.team_id = teams.id AND m.status = 'ACTIVE' AND m.user_id NOT IN " + scope + ") "
+                    + "WHERE id IN (SELECT team_id FROM team_memberships WHERE user_id IN " + scope + ")");
+            statement.executeUpdate("DELETE FROM team_memberships WHERE user_id IN " + scope);
+            for (String table : USER_TABLES) {
+                statement.executeUpdate("DELETE FROM " + table + " WHERE user_id IN " + scope);
+            }
+            statement.executeUpdate("DELETE FROM email_outbox WHERE recipient LIKE '%" + EMAIL_DOMAIN + "'");
+            statement.executeUpdate("DELETE FROM users WHERE email LIKE '%" + EMAIL_DOMAIN + "'");
+        }
+        connection.commit();
+    }
+    
+    private List<SeededUser> insertUsers(Connection connection) throws SQLException {
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (email, password, name, created_at) VALUES (?, ?, ?, NOW())")) {
+            for (int i = 0; i < config.getUsers(); i++) {
+                insert.setString(1, "user" + i + EMAIL_DOMAIN);
+                insert.setString(2, passwordHash);
+                insert.setString(3, "Load Test User " + i);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return loadExisting();
+    }
+    
+    private long insertLogs(Connection connection, List<SeededUser> users) throws SQLException {
+        SplittableRandom random = new SplittableRandom(config.getRandomSeed());
+        LocalDate end = LocalDate.now().minusDays(1);
+        LocalDate start = end.minusYears(config.getYears());
+        long total = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO daily_logs (user_id, date, sleep_hours, work_hours, study_hours, "
+                        + "entertainment_hours, energy_level, stress_level, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int pending = 0;
+            for (SeededUser user : users) {
+                SyntheticPersona persona = SyntheticPersona.random(random);
+                for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                    if (random.nextDouble() < config.getGapRate()) {
+                        continue;
+                    }
+                    SyntheticPersona.Day day = persona.next(date, random);
+                    insert.setLong(1, user.getId());
+                    insert.setDate(2, Date.valueOf(date));
+                    insert.setDouble(3, day.sleepHours());
+                    insert.setDouble(4, day.workHours());
+                    insert.setDouble(5, day.studyHours());
+                    insert.setDouble(6, day.entertainmentHours());
+                    insert.setInt(7, day.energyLevel());
+                    insert.setInt(8, day.stressLevel());
+                    insert.setString(9, day.notes());
+                    insert.addBatch();
+                    total++;
+                    if (++pending == BATCH_SIZE) {
+                        insert.executeBatch();
+                        connection.commit();
+                        pending = 0;
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+        return total;
+    }
+}
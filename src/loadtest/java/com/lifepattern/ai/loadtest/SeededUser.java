@@ -0,0 +1,31 @@
+package com.lifepattern.ai.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Getter
+@RequiredArgsConstructor
+public class SeededUser {
+    
+    private final long id;
+    private final String email;
+    private final ConcurrentLinkedDeque<Long> createdLogIds = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger futureDayOffset = new AtomicInteger();
+    private volatile String token;
+    
+    public void setToken(String token) {
+        this.token = token;
+    }
+    
+    /**
+     * Logs created during replay are dated after the seeded history so they never
+     * collide with the (user_id, date) unique key.
+     */
+    public LocalDate nextCreateDate() {
+        return LocalDate.now().plusDays(futureDayOffset.getAndIncrement());
+    }
+}
@@ -0,0 +1,80 @@
+package com.lifepattern.ai.loadtest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Generates plausible daily habits: a per-user baseline, weekday/weekend rhythm,
+ * slow drifting "crunch" periods and stress that follows work and lost sleep.
+ */
+class SyntheticPersona {
+    
+    private static final String[] NOTES = {
+            "Deadline for the quarterly report",
+            "Gym in the morning, felt great",
+            "Slept badly, lots of meetings",
+            "Weekend trip with friends",
+            "Studying for the certification exam",
+            "Sick day, stayed in bed"
+    };
+    
+    private final double baseSleep;
+    private final double baseWork;
+    private final double baseStudy;
+    private final double stressSensitivity;
+    private double crunch;
+    
+    private SyntheticPersona(double baseSleep, double baseWork, double baseStudy, double stressSensitivity) {
+        this.baseSleep = baseSleep;
+        this.baseWork = baseWork;
+        this.baseStudy = baseStudy;
+        this.stressSensitivity = stressSensitivity;
+    }
+    
+    static SyntheticPersona random(SplittableRandom random) {
+        return new SyntheticPersona(
+                6.0 + random.nextDouble() * 2.5,
+                5.0 + random.nextDouble() * 5.0,
+                random.nextDouble() * 2.0,
+                0.5 + random.nextDouble());
+    }
+    
+    Day next(LocalDate date, SplittableRandom random) {
+        boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+        crunch = Math.max(0, Math.min(1, crunch + (random.nextDouble() - 0.5) * 0.15));
+        
+        double sleep = halfHour(clamp(baseSleep - crunch * 1.5 + (weekend ? 1 : 0) + gaussian(random) * 0.7, 3, 11));
+        double work = weekend ? baseWork * 0.2 : baseWork + crunch * 3;
+        work = halfHour(clamp(work + gaussian(random) * 1.0, 0, Math.min(14, 24 - sleep)));
+        double study = halfHour(clamp(baseStudy + gaussian(random) * 0.5, 0, 24 - sleep - work));
+        double entertainment = halfHour(clamp((weekend ? 4 : 2) + gaussian(random), 0, 24 - sleep - work - study));
+        
+        double stressRaw = 3 + stressSensitivity * (work / 3 + Math.max(0, 7 - sleep)) + gaussian(random);
+        int stress = (int) Math.round(clamp(stressRaw, 1, 10));
+        int energy = (int) Math.round(clamp(4 + (sleep - 6) * 1.2 - crunch * 2 + gaussian(random), 1, 10));
+        String notes = random.nextInt(5) == 0 ? NOTES[random.nextInt(NOTES.length)] : null;
+        return new Day(sleep, work, study, entertainment, energy, stress, notes);
+    }
+    
+    private static double gaussian(SplittableRandom random) {
+        // Irwin-Hall approximation, good enough for synthetic data and allocation free
+        double sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += random.nextDouble();
+        }
+        return sum - 6;
+    }
+    
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+    
+    private static double halfHour(double value) {
+        return Math.floor(value * 2) / 2.0;
+    }
+    
+    record Day(double sleepHours, double workHours, double studyHours, double entertainmentHours,
+               int energyLevel, int stressLevel, String notes) {
+    }
+}
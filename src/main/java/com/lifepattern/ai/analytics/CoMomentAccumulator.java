@@ -0,0 +1,137 @@
+package com.lifepattern.ai.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Streaming means and co-moments for a fixed number of variables (multivariate
+ * Welford). Observations can be added and removed in O(d^2), which is what lets
+ * correlations follow log updates and deletes without revisiting history.
+ * The co-moment matrix is stored as its upper triangle including the diagonal.
+ */
+public class CoMomentAccumulator {
+    
+    private final int dimensions;
+    private long count;
+    private final double[] means;
+    private final double[] comoments;
+    
+    public CoMomentAccumulator(int dimensions) {
+        this.dimensions = dimensions;
+        this.means = new double[dimensions];
+        this.comoments = new double[dimensions * (dimensions + 1) / 2];
+    }
+    
+    public void add(double[] x) {
+        count++;
+        double[] delta = new double[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            delta[i] = x[i] - means[i];
+            means[i] += delta[i] / count;
+        }
+        int k = 0;
+        for (int i = 0; i < dimensions; i++) {
+            for (int j = i; j < dimensions; j++) {
+                comoments[k++] += delta[i] * (x[j] - means[j]);
+            }
+        }
+    }
+    
+    /**
+     * Exact inverse of {@link #add} for an observation that was previously added.
+     */
+    public void remove(double[] x) {
+        if (count <= 1) {
+            clear();
+            return;
+        }
+        double[] previousMeans = new double[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            previousMeans[i] = (count * means[i] - x[i]) / (count - 1);
+        }
+        int k = 0;
+        for (int i = 0; i < dimensions; i++) {
+            for (int j = i; j < dimensions; j++) {
+                comoments[k++] -= (x[i] - previousMeans[i]) * (x[j] - means[j]);
+            }
+        }
+        System.arraycopy(previousMeans, 0, means, 0, dimensions);
+        count--;
+    }
+    
+    public void clear() {
+        count = 0;
+        Arrays.fill(means, 0);
+        Arrays.fill(comoments, 0);
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double mean(int i) {
+        return means[i];
+    }
+    
+    public double covariance(int i, int j) {
+        return count > 1 ? comoment(i, j) / (count - 1) : 0.0;
+    }
+    
+    /**
+     * Pearson correlation, or NaN when either variable is constant.
+     */
+    public double correlation(int i, int j) {
+        double varianceI = comoment(i, i);
+        double varianceJ = comoment(j, j);
+        if (count < 2 || varianceI <= 0 || varianceJ <= 0) {
+            return Double.NaN;
+        }
+        return Math.max(-1, Math.min(1, comoment(i, j) / Math.sqrt(varianceI * varianceJ)));
+    }
+    
+    /**
+     * Least-squares slope of variable {@code y} on variable {@code x}: the expected
+     * change in y per unit increase of x.
+     */
+    public double slope(int x, int y) {
+        double varianceX = comoment(x, x);
+        return count < 2 || varianceX <= 0 ? Double.NaN : comoment(x, y) / varianceX;
+    }
+    
+    private double comoment(int i, int j) {
+        if (i > j) {
+            int swap = i;
+            i = j;
+            j = swap;
+        }
+        return comoments[i * dimensions - i * (i - 1) / 2 + (j - i)];
+    }
+    
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Double.BYTES * (means.length + comoments.length));
+        buffer.putLong(count);
+        for (double mean : means) {
+            buffer.putDouble(mean);
+        }
+        for (double comoment : comoments) {
+            buffer.putDouble(comoment);
+        }
+        return buffer.array();
+    }
+    
+    public static CoMomentAccumulator decode(int dimensions, byte[] data) {
+        CoMomentAccumulator accumulator = new CoMomentAccumulator(dimensions);
+        if (data == null || data.length == 0) {
+            return accumulator;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        accumulator.count = buffer.getLong();
+        for (int i = 0; i < accumulator.means.length; i++) {
+            accumulator.means[i] = buffer.getDouble();
+        }
+        for (int i = 0; i < accumulator.comoments.length; i++) {
+            accumulator.comoments[i] = buffer.getDouble();
+        }
+        return accumulator;
+    }
+}
@@ -0,0 +1,176 @@
+package com.lifepattern.ai.analytics;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * A set of dates kept as sorted, disjoint runs of consecutive days, so a streak of any
+ * length costs eight bytes. Adding or removing a date only touches the runs next to it:
+ * a backdated date can extend a run or join two, and removing one from the middle of a
+ * run splits it in two.
+ */
+public class DayRuns {
+    
+    private static final int INITIAL_CAPACITY = 4;
+    
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private int size;
+    
+    /**
+     * @return false if the date was already in the set
+     */
+    public boolean add(LocalDate date) {
+        int day = toDay(date);
+        int i = runAtOrBefore(day);
+        if (i >= 0 && day <= ends[i]) {
+            return false;
+        }
+        boolean extendsPrevious = i >= 0 && ends[i] == day - 1;
+        boolean extendsNext = i + 1 < size && starts[i + 1] == day + 1;
+        if (extendsPrevious && extendsNext) {
+            ends[i] = ends[i + 1];
+            removeRun(i + 1);
+        } else if (extendsPrevious) {
+            ends[i] = day;
+        } else if (extendsNext) {
+            starts[i + 1] = day;
+        } else {
+            insertRun(i + 1, day, day);
+        }
+        return true;
+    }
+    
+    /**
+     * @return false if the date was not in the set
+     */
+    public boolean remove(LocalDate date) {
+        int day = toDay(date);
+        int i = runAtOrBefore(day);
+        if (i < 0 || day > ends[i]) {
+            return false;
+        }
+        if (starts[i] == ends[i]) {
+            removeRun(i);
+        } else if (day == starts[i]) {
+            starts[i]++;
+        } else if (day == ends[i]) {
+            ends[i]--;
+        } else {
+            insertRun(i + 1, day + 1, ends[i]);
+            ends[i] = day - 1;
+        }
+        return true;
+    }
+    
+    public boolean contains(LocalDate date) {
+        int day = toDay(date);
+        int i = runAtOrBefore(day);
+        return i >= 0 && day <= ends[i];
+    }
+    
+    /**
+     * Length of the run holding the date, or 0 if the date is not in the set.
+     */
+    public int runLength(LocalDate date) {
+        int day = toDay(date);
+        int i = runAtOrBefore(day);
+        return i >= 0 && day <= ends[i] ? ends[i] - starts[i] + 1 : 0;
+    }
+    
+    public int longestRun() {
+        int longest = 0;
+        for (int i = 0; i < size; i++) {
+            longest = Math.max(longest, ends[i] - starts[i] + 1);
+        }
+        return longest;
+    }
+    
+    /**
+     * Number of dates in the set between {@code from} and {@code to}, both included.
+     */
+    public int countBetween(LocalDate from, LocalDate to) {
+        int first = toDay(from);
+        int last = toDay(to);
+        int count = 0;
+        for (int i = Math.max(runAtOrBefore(first), 0); i < size && starts[i] <= last; i++) {
+            int overlap = Math.min(ends[i], last) - Math.max(starts[i], first) + 1;
+            if (overlap > 0) {
+                count += overlap;
+            }
+        }
+        return count;
+    }
+    
+    public LocalDate last() {
+        return size == 0 ? null : LocalDate.ofEpochDay(ends[size - 1]);
+    }
+    
+    public int encodedSize() {
+        return Integer.BYTES + size * 2 * Integer.BYTES;
+    }
+    
+    /**
+     * Writes the number of runs, then each run's first and last epoch day.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putInt(starts[i]);
+            buffer.putInt(ends[i]);
+        }
+    }
+    
+    public static DayRuns readFrom(ByteBuffer buffer) {
+        DayRuns runs = new DayRuns();
+        int size = buffer.getInt();
+        runs.starts = new int[Math.max(size, INITIAL_CAPACITY)];
+        runs.ends = new int[runs.starts.length];
+        for (int i = 0; i < size; i++) {
+            runs.starts[i] = buffer.getInt();
+            runs.ends[i] = buffer.getInt();
+        }
+        runs.size = size;
+        return runs;
+    }
+    
+    /**
+     * Index of the last run starting on or before the day, or -1 if there is none.
+     */
+    private int runAtOrBefore(int day) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= day) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+    
+    private void insertRun(int index, int start, int end) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        System.arraycopy(starts, index, starts, index + 1, size - index);
+        System.arraycopy(ends, index, ends, index + 1, size - index);
+        starts[index] = start;
+        ends[index] = end;
+        size++;
+    }
+    
+    private void removeRun(int index) {
+        System.arraycopy(starts, index + 1, starts, index, size - index - 1);
+        System.arraycopy(ends, index + 1, ends, index, size - index - 1);
+        size--;
+    }
+    
+    private static int toDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+}
@@ -0,0 +1,117 @@
+package com.lifepattern.ai.analytics;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Exponentially weighted mean and variance for a fixed number of metrics, in one flat
+ * primitive array. Scoring reads the state; only {@link #update} folds a new
+ * observation in, so out-of-order observations can be scored without disturbing it.
+ * The moments from before the most recent update are kept as well, so that single
+ * update can be undone when its observation is edited or deleted.
+ */
+public class EwmaState {
+    
+    private final int dimensions;
+    private final double[] moments;
+    private int observations;
+    private long lastEpochDay = Long.MIN_VALUE;
+    private long previousEpochDay = Long.MIN_VALUE;
+    
+    public EwmaState(int dimensions) {
+        this.dimensions = dimensions;
+        this.moments = new double[4 * dimensions];
+    }
+    
+    public int getObservations() {
+        return observations;
+    }
+    
+    public long getLastEpochDay() {
+        return lastEpochDay;
+    }
+    
+    public double mean(int i) {
+        return moments[i];
+    }
+    
+    public double variance(int i) {
+        return moments[dimensions + i];
+    }
+    
+    /**
+     * Deviation of {@code value} from the running mean in running standard deviations,
+     * with the deviation floored at {@code minStdDev} so a metric that never varied
+     * does not flag every small change.
+     */
+    public double zScore(int i, double value, double minStdDev) {
+        double stdDev = Math.max(minStdDev, Math.sqrt(variance(i)));
+        return (value - mean(i)) / stdDev;
+    }
+    
+    public void update(double[] x, long epochDay, double alpha) {
+        System.arraycopy(moments, 0, moments, 2 * dimensions, 2 * dimensions);
+        previousEpochDay = lastEpochDay;
+        if (observations == 0) {
+            System.arraycopy(x, 0, moments, 0, dimensions);
+        } else {
+            for (int i = 0; i < dimensions; i++) {
+                double delta = x[i] - moments[i];
+                moments[i] += alpha * delta;
+                moments[dimensions + i] = (1 - alpha) * (moments[dimensions + i] + alpha * delta * delta);
+            }
+        }
+        observations++;
+        lastEpochDay = epochDay;
+    }
+    
+    /**
+     * Whether the most recent update was for {@code epochDay} and can still be undone.
+     */
+    public boolean canRevert(long epochDay) {
+        return observations > 0 && lastEpochDay == epochDay && previousEpochDay != lastEpochDay;
+    }
+    
+    /**
+     * Undoes the most recent update. Only one level of undo is kept.
+     */
+    public void revert() {
+        System.arraycopy(moments, 2 * dimensions, moments, 0, 2 * dimensions);
+        observations--;
+        lastEpochDay = previousEpochDay;
+    }
+    
+    public EwmaState copy() {
+        EwmaState copy = new EwmaState(dimensions);
+        System.arraycopy(moments, 0, copy.moments, 0, moments.length);
+        copy.observations = observations;
+        copy.lastEpochDay = lastEpochDay;
+        copy.previousEpochDay = previousEpochDay;
+        return copy;
+    }
+    
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + 2 * Long.BYTES + Double.BYTES * moments.length);
+        buffer.putInt(observations);
+        buffer.putLong(lastEpochDay);
+        buffer.putLong(previousEpochDay);
+        for (double moment : moments) {
+            buffer.putDouble(moment);
+        }
+        return buffer.array();
+    }
+    
+    public static EwmaState decode(int dimensions, byte[] data) {
+        EwmaState state = new EwmaState(dimensions);
+        if (data == null || data.length == 0) {
+            return state;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        state.observations = buffer.getInt();
+        state.lastEpochDay = buffer.getLong();
+        state.previousEpochDay = buffer.getLong();
+        for (int i = 0; i < state.moments.length; i++) {
+            state.moments[i] = buffer.getDouble();
+        }
+        return state;
+    }
+}
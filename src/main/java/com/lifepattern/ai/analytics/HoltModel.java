@@ -0,0 +1,112 @@
+package com.lifepattern.ai.analytics;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Holt's linear exponential smoothing (level + trend). Fitting grid-searches the two
+ * smoothing factors for the lowest one-step-ahead squared error; the fitted model is
+ * just the final level and trend, so a forecast is a single multiply-add.
+ */
+public class HoltModel {
+    
+    public static final int ENCODED_BYTES = 5 * Double.BYTES + Integer.BYTES + Long.BYTES;
+    
+    private static final double[] ALPHAS = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9};
+    private static final double[] BETAS = {0.01, 0.05, 0.1, 0.2, 0.3, 0.5};
+    
+    private final double level;
+    private final double trend;
+    private final double alpha;
+    private final double beta;
+    private final double rmse;
+    private final int observations;
+    private final long lastEpochDay;
+    
+    private HoltModel(double level, double trend, double alpha, double beta, double rmse,
+                      int observations, long lastEpochDay) {
+        this.level = level;
+        this.trend = trend;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.rmse = rmse;
+        this.observations = observations;
+        this.lastEpochDay = lastEpochDay;
+    }
+    
+    /**
+     * Fits the first {@code length} values of {@code series}, oldest first, whose last
+     * value was observed on {@code lastEpochDay}. Needs at least two values.
+     */
+    public static HoltModel fit(double[] series, int length, long lastEpochDay) {
+        if (length < 2) {
+            throw new IllegalArgumentException("Holt smoothing needs at least two observations");
+        }
+        double bestError = Double.POSITIVE_INFINITY;
+        HoltModel best = null;
+        for (double alpha : ALPHAS) {
+            for (double beta : BETAS) {
+                double level = series[0];
+                double trend = series[1] - series[0];
+                double squaredError = 0;
+                for (int t = 1; t < length; t++) {
+                    double error = series[t] - (level + trend);
+                    squaredError += error * error;
+                    double nextLevel = alpha * series[t] + (1 - alpha) * (level + trend);
+                    trend = beta * (nextLevel - level) + (1 - beta) * trend;
+                    level = nextLevel;
+                }
+                if (squaredError < bestError) {
+                    bestError = squaredError;
+                    best = new HoltModel(level, trend, alpha, beta, Math.sqrt(squaredError / (length - 1)),
+                            length, lastEpochDay);
+                }
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * The value {@code steps} observations after the last fitted one.
+     */
+    public double forecast(int steps) {
+        return level + trend * steps;
+    }
+    
+    public double getAlpha() {
+        return alpha;
+    }
+    
+    public double getBeta() {
+        return beta;
+    }
+    
+    public double getRmse() {
+        return rmse;
+    }
+    
+    public int getObservations() {
+        return observations;
+    }
+    
+    public long getLastEpochDay() {
+        return lastEpochDay;
+    }
+    
+    public byte[] encode() {
+        return ByteBuffer.allocate(ENCODED_BYTES)
+                .putDouble(level)
+                .putDouble(trend)
+                .putDouble(alpha)
+                .putDouble(beta)
+                .putDouble(rmse)
+                .putInt(observations)
+                .putLong(lastEpochDay)
+                .array();
+    }
+    
+    public static HoltModel decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        return new HoltModel(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble(),
+                buffer.getDouble(), buffer.getInt(), buffer.getLong());
+    }
+}
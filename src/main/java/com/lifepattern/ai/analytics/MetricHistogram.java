@@ -0,0 +1,130 @@
+package com.lifepattern.ai.analytics;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Exact, mergeable distribution sketch for a bounded metric: counts in fixed 0.1-wide
+ * bins over [0, 24], which covers every daily log metric. Unlike t-digest or KLL it
+ * supports subtraction, so a changed observation can be moved between bins and
+ * per-instance partials can carry negative counts until they are merged.
+ */
+public class MetricHistogram {
+    
+    public static final double BIN_WIDTH = 0.1;
+    public static final double MAX_VALUE = 24.0;
+    
+    private static final int BINS = (int) Math.round(MAX_VALUE / BIN_WIDTH) + 1;
+    
+    private final long[] counts = new long[BINS];
+    private long total;
+    
+    public void add(double value, long delta) {
+        counts[binOf(value)] += delta;
+        total += delta;
+    }
+    
+    public void merge(MetricHistogram other) {
+        for (int i = 0; i < BINS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+    
+    public long getTotal() {
+        return total;
+    }
+    
+    public boolean isEmpty() {
+        for (long count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Percentage of observations below {@code value}, counting ties at the value's bin
+     * as half below (mid-rank). NaN when the histogram is empty.
+     */
+    public double percentileRank(double value) {
+        if (total <= 0) {
+            return Double.NaN;
+        }
+        int bin = binOf(value);
+        long below = 0;
+        for (int i = 0; i < bin; i++) {
+            below += counts[i];
+        }
+        return 100.0 * (below + counts[bin] / 2.0) / total;
+    }
+    
+    /**
+     * Smallest bin value with at least {@code q} of the observations at or below it.
+     */
+    public double quantile(double q) {
+        if (total <= 0) {
+            return Double.NaN;
+        }
+        double target = Math.max(1, Math.ceil(q * total));
+        long cumulative = 0;
+        for (int i = 0; i < BINS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return valueOf(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+    
+    /**
+     * Sparse encoding: number of non-empty bins, then (bin, count) pairs.
+     */
+    public byte[] encode() {
+        int nonEmpty = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                nonEmpty++;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Short.BYTES + nonEmpty * (Short.BYTES + Long.BYTES));
+        buffer.putShort((short) nonEmpty);
+        for (int i = 0; i < BINS; i++) {
+            if (counts[i] != 0) {
+                buffer.putShort((short) i);
+                buffer.putLong(counts[i]);
+            }
+        }
+        return buffer.array();
+    }
+    
+    public static MetricHistogram decode(byte[] data) {
+        MetricHistogram histogram = new MetricHistogram();
+        if (data == null || data.length == 0) {
+            return histogram;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int nonEmpty = buffer.getShort();
+        for (int i = 0; i < nonEmpty; i++) {
+            int bin = buffer.getShort();
+            long count = buffer.getLong();
+            histogram.counts[bin] = count;
+            histogram.total += count;
+        }
+        return histogram;
+    }
+    
+    /**
+     * Rounds to the nearest bin after snapping away floating-point noise, so a mean
+     * recomputed from running sums lands in the same bin as one computed by the database.
+     */
+    static int binOf(double value) {
+        long scaled = Math.round(value / BIN_WIDTH * 1_000_000);
+        long bin = Math.floorDiv(scaled + 500_000, 1_000_000);
+        return (int) Math.max(0, Math.min(BINS - 1, bin));
+    }
+    
+    private static double valueOf(int bin) {
+        return Math.round(bin * BIN_WIDTH * 10) / 10.0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.lifepattern.ai.analytics;
+
+import java.util.Arrays;
+
+public final class RankCorrelation {
+    
+    private RankCorrelation() {
+    }
+    
+    /**
+     * Spearman's rho: Pearson correlation of the ranks, with ties given their average rank.
+     */
+    public static double spearman(double[] x, double[] y, int length) {
+        if (length < 2) {
+            return Double.NaN;
+        }
+        double[] rankX = ranks(x, length);
+        double[] rankY = ranks(y, length);
+        CoMomentAccumulator accumulator = new CoMomentAccumulator(2);
+        double[] pair = new double[2];
+        for (int i = 0; i < length; i++) {
+            pair[0] = rankX[i];
+            pair[1] = rankY[i];
+            accumulator.add(pair);
+        }
+        return accumulator.correlation(0, 1);
+    }
+    
+    static double[] ranks(double[] values, int length) {
+        Integer[] order = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        double[] ranks = new double[length];
+        int i = 0;
+        while (i < length) {
+            int j = i;
+            while (j + 1 < length && values[order[j + 1]] == values[order[i]]) {
+                j++;
+            }
+            double averageRank = (i + j) / 2.0 + 1;
+            for (int k = i; k <= j; k++) {
+                ranks[order[k]] = averageRank;
+            }
+            i = j + 1;
+        }
+        return ranks;
+    }
+}
@@ -0,0 +1,94 @@
+package com.lifepattern.ai.analytics;
+
+import java.util.Arrays;
+
+public final class TrendDownsampler {
+    
+    private TrendDownsampler() {
+    }
+    
+    /**
+     * Largest-Triangle-Three-Buckets over several series sharing one x axis. Returns the indices
+     * of the kept points in ascending order; the first and last points are always kept.
+     * <p>
+     * A triangle's area is summed across the series after scaling each one by its weight, so a
+     * spike in any series is preserved and all series stay aligned on the same dates. Missing
+     * values are NaN: they contribute nothing to a bucket's average or to a candidate's area, and
+     * a bucket with no usable candidate keeps its first point so gaps remain visible.
+     */
+    public static int[] lttb(double[] x, double[][] series, double[] weights, int length, int threshold) {
+        if (threshold >= length || threshold < 3) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        int dim = series.length;
+        int[] selected = new int[threshold];
+        double[] anchor = new double[dim];
+        double[] average = new double[dim];
+        int[] counts = new int[dim];
+        Arrays.fill(anchor, Double.NaN);
+        
+        int a = 0;
+        selected[0] = 0;
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextStart = end;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, length);
+            
+            double averageX = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x[i];
+            }
+            averageX /= nextEnd - nextStart;
+            for (int s = 0; s < dim; s++) {
+                average[s] = 0;
+                counts[s] = 0;
+            }
+            for (int i = nextStart; i < nextEnd; i++) {
+                for (int s = 0; s < dim; s++) {
+                    double value = series[s][i];
+                    if (!Double.isNaN(value)) {
+                        average[s] += value;
+                        counts[s]++;
+                    }
+                }
+            }
+            for (int s = 0; s < dim; s++) {
+                // A missing anchor keeps the last value seen on this series
+                if (!Double.isNaN(series[s][a])) {
+                    anchor[s] = series[s][a];
+                }
+                average[s] = counts[s] > 0 ? average[s] / counts[s] : anchor[s];
+            }
+            
+            int best = start;
+            double bestArea = -1;
+            for (int i = start; i < end; i++) {
+                double area = 0;
+                boolean usable = false;
+                for (int s = 0; s < dim; s++) {
+                    double value = series[s][i];
+                    if (Double.isNaN(value) || Double.isNaN(anchor[s]) || Double.isNaN(average[s])) {
+                        continue;
+                    }
+                    usable = true;
+                    area += weights[s] * Math.abs((x[a] - averageX) * (value - anchor[s])
+                            - (x[a] - x[i]) * (average[s] - anchor[s]));
+                }
+                if (usable && area > bestArea) {
+                    bestArea = area;
+                    best = i;
+                }
+            }
+            selected[bucket + 1] = best;
+            a = best;
+        }
+        selected[threshold - 1] = length - 1;
+        return selected;
+    }
+}
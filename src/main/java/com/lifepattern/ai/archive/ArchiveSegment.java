@@ -0,0 +1,289 @@
+package com.lifepattern.ai.archive;
+
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * One user's archived logs for one calendar year, stored column by column and read through a
+ * memory-mapped buffer. Layout after the header:
+ * <pre>
+ *   ids         long  x count
+ *   dayOfYear   short x count
+ *   per metric  short x count (value x 100, when every value fits exactly) or double x count
+ *   notes       int rawLength, int deflatedLength, deflated [int length (-1 for null), UTF-8 bytes] x count
+ * </pre>
+ * Rows are sorted by date. Notes are only inflated when first asked for.
+ */
+public final class ArchiveSegment {
+    
+    private static final int MAGIC = 0x4C504131; // "LPA1"
+    private static final int HEADER_BYTES = 4 + 8 + 4 + 4 + 1;
+    private static final double SCALE = 100.0;
+    private static final int METRICS = DailyLogMetric.count();
+    
+    private final ByteBuffer buffer;
+    private final long userId;
+    private final int year;
+    private final int count;
+    private final int idsOffset;
+    private final int daysOffset;
+    private final int[] metricOffsets = new int[METRICS];
+    private final boolean[] scaled = new boolean[METRICS];
+    private final int notesOffset;
+    private volatile String[] notes;
+    private volatile int[] rowsById;
+    
+    private ArchiveSegment(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a daily log archive segment");
+        }
+        userId = buffer.getLong(4);
+        year = buffer.getInt(12);
+        count = buffer.getInt(16);
+        int flags = buffer.get(20);
+        idsOffset = HEADER_BYTES;
+        daysOffset = idsOffset + 8 * count;
+        int offset = daysOffset + 2 * count;
+        for (int m = 0; m < METRICS; m++) {
+            scaled[m] = (flags & (1 << m)) != 0;
+            metricOffsets[m] = offset;
+            offset += (scaled[m] ? 2 : 8) * count;
+        }
+        notesOffset = offset;
+    }
+    
+    public static ArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ArchiveSegment(mapped);
+        }
+    }
+    
+    /**
+     * Writes {@code logs}, which must all fall in {@code year} and be sorted by date.
+     */
+    public static void write(OutputStream target, long userId, int year, List<DailyLog> logs) throws IOException {
+        int flags = 0;
+        for (int m = 0; m < METRICS; m++) {
+            if (fitsScaled(logs, DailyLogMetric.values()[m])) {
+                flags |= 1 << m;
+            }
+        }
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(MAGIC);
+        out.writeLong(userId);
+        out.writeInt(year);
+        out.writeInt(logs.size());
+        out.writeByte(flags);
+        for (DailyLog log : logs) {
+            out.writeLong(log.getId());
+        }
+        for (DailyLog log : logs) {
+            out.writeShort(log.getDate().getDayOfYear());
+        }
+        for (int m = 0; m < METRICS; m++) {
+            DailyLogMetric metric = DailyLogMetric.values()[m];
+            for (DailyLog log : logs) {
+                double value = DailyLogMetric.valuesOf(log)[metric.ordinal()];
+                if ((flags & (1 << m)) != 0) {
+                    out.writeShort((int) Math.round(value * SCALE));
+                } else {
+                    out.writeDouble(value);
+                }
+            }
+        }
+        
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        DataOutputStream notesOut = new DataOutputStream(raw);
+        for (DailyLog log : logs) {
+            if (log.getNotes() == null) {
+                notesOut.writeInt(-1);
+            } else {
+                byte[] bytes = log.getNotes().getBytes(StandardCharsets.UTF_8);
+                notesOut.writeInt(bytes.length);
+                notesOut.write(bytes);
+            }
+        }
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream deflating = new DeflaterOutputStream(deflated, deflater)) {
+            raw.writeTo(deflating);
+        } finally {
+            deflater.end();
+        }
+        out.writeInt(raw.size());
+        out.writeInt(deflated.size());
+        deflated.writeTo(out);
+        out.flush();
+    }
+    
+    public static void write(Path file, long userId, int year, List<DailyLog> logs) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(out, userId, year, logs);
+        }
+    }
+    
+    public long getUserId() {
+        return userId;
+    }
+    
+    public int getYear() {
+        return year;
+    }
+    
+    public int size() {
+        return count;
+    }
+    
+    public long id(int row) {
+        return buffer.getLong(idsOffset + 8 * row);
+    }
+    
+    public LocalDate date(int row) {
+        return LocalDate.ofYearDay(year, buffer.getShort(daysOffset + 2 * row));
+    }
+    
+    public double value(DailyLogMetric metric, int row) {
+        int m = metric.ordinal();
+        return scaled[m]
+                ? buffer.getShort(metricOffsets[m] + 2 * row) / SCALE
+                : buffer.getDouble(metricOffsets[m] + 8 * row);
+    }
+    
+    public String notes(int row) {
+        String[] all = notes;
+        if (all == null) {
+            all = inflateNotes();
+            notes = all;
+        }
+        return all[row];
+    }
+    
+    /**
+     * First row on or after {@code date}, or {@link #size()} if there is none.
+     */
+    public int lowerBound(LocalDate date) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (date(mid).isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Row of the log with {@code id}, or -1 if it is not in this segment. The rows sorted by id
+     * are worked out on the first lookup.
+     */
+    public int rowOf(long id) {
+        int[] rows = rowsById;
+        if (rows == null) {
+            rows = IntStream.range(0, count).boxed()
+                    .sorted(Comparator.comparingLong(this::id))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            rowsById = rows;
+        }
+        int low = 0;
+        int high = rows.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = id(rows[mid]);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return rows[mid];
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Materialises a row as a detached entity; changes to it are never written anywhere.
+     */
+    public DailyLog toLog(int row, User user) {
+        return DailyLog.builder()
+                .id(id(row))
+                .user(user)
+                .date(date(row))
+                .sleepHours(value(DailyLogMetric.SLEEP_HOURS, row))
+                .workHours(value(DailyLogMetric.WORK_HOURS, row))
+                .studyHours(value(DailyLogMetric.STUDY_HOURS, row))
+                .entertainmentHours(value(DailyLogMetric.ENTERTAINMENT_HOURS, row))
+                .energyLevel((int) value(DailyLogMetric.ENERGY_LEVEL, row))
+                .stressLevel((int) value(DailyLogMetric.STRESS_LEVEL, row))
+                .notes(notes(row))
+                .build();
+    }
+    
+    private String[] inflateNotes() {
+        int rawLength = buffer.getInt(notesOffset);
+        int deflatedLength = buffer.getInt(notesOffset + 4);
+        byte[] deflated = new byte[deflatedLength];
+        buffer.get(notesOffset + 8, deflated);
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt notes in archive segment for user " + userId + ", " + year, e);
+        } finally {
+            inflater.end();
+        }
+        ByteBuffer rawBuffer = ByteBuffer.wrap(raw);
+        String[] all = new String[count];
+        for (int row = 0; row < count; row++) {
+            int length = rawBuffer.getInt();
+            if (length >= 0) {
+                all[row] = new String(raw, rawBuffer.position(), length, StandardCharsets.UTF_8);
+                rawBuffer.position(rawBuffer.position() + length);
+            }
+        }
+        return all;
+    }
+    
+    private static boolean fitsScaled(List<DailyLog> logs, DailyLogMetric metric) {
+        for (DailyLog log : logs) {
+            double value = DailyLogMetric.valuesOf(log)[metric.ordinal()];
+            double scaledValue = Math.round(value * SCALE);
+            if (scaledValue / SCALE != value || scaledValue > Short.MAX_VALUE || scaledValue < Short.MIN_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
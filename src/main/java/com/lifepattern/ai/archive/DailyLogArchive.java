@@ -0,0 +1,331 @@
+package com.lifepattern.ai.archive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.User;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Cold tier for old daily logs: one {@link ArchiveSegment} file per user and year under
+ * {@code directory/<userId % 256>/<userId>/<year>.seg}. Opened segments are kept mapped in a
+ * bounded cache, and files found missing are remembered for a short while; a user without
+ * archived logs costs one directory lookup per read.
+ */
+@Slf4j
+public class DailyLogArchive {
+    
+    private static final String SUFFIX = ".seg";
+    // Bounds how long a segment written by another instance stays unseen if its eviction is lost
+    private static final Duration MISS_TTL = Duration.ofMinutes(1);
+    
+    private final Path directory;
+    private final Cache<Path, ArchiveSegment> segments;
+    private final Cache<Path, Boolean> missing;
+    
+    public DailyLogArchive(Path directory, long maximumOpenSegments, long maximumCachedMisses) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segments = Caffeine.newBuilder().maximumSize(maximumOpenSegments).build();
+        this.missing = Caffeine.newBuilder().maximumSize(maximumCachedMisses).expireAfterWrite(MISS_TTL).build();
+    }
+    
+    /**
+     * Archived logs of a user between two dates (inclusive, either may be null), oldest first.
+     */
+    public List<DailyLog> read(User user, LocalDate from, LocalDate to) {
+        List<DailyLog> logs = new ArrayList<>();
+        iterate(user, from, to).forEachRemaining(logs::add);
+        return logs;
+    }
+    
+    /**
+     * Like {@link #read}, but maps one year's segment at a time as the iterator reaches it.
+     */
+    public Iterator<DailyLog> iterate(User user, LocalDate from, LocalDate to) {
+        return new SegmentIterator(user, from, to);
+    }
+    
+    /**
+     * Every user with at least one archived year.
+     */
+    public List<Long> userIds() {
+        List<Long> userIds = new ArrayList<>();
+        try (DirectoryStream<Path> buckets = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path bucket : buckets) {
+                try (DirectoryStream<Path> users = Files.newDirectoryStream(bucket, Files::isDirectory)) {
+                    for (Path user : users) {
+                        userIds.add(Long.parseLong(user.getFileName().toString()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return userIds;
+    }
+    
+    /**
+     * Date, sleep hours and stress level of archived logs between two dates (inclusive), oldest
+     * first, in the row shape of the hot trend query. Notes are never inflated.
+     */
+    public List<Object[]> trendPoints(Long userId, LocalDate from, LocalDate to) {
+        List<Object[]> points = new ArrayList<>();
+        for (int year : years(userId)) {
+            if (year < from.getYear() || year > to.getYear()) {
+                continue;
+            }
+            ArchiveSegment segment = segment(userId, year);
+            if (segment == null) {
+                continue;
+            }
+            for (int row = segment.lowerBound(from); row < segment.size(); row++) {
+                LocalDate date = segment.date(row);
+                if (date.isAfter(to)) {
+                    break;
+                }
+                points.add(new Object[] {
+                        date,
+                        segment.value(DailyLogMetric.SLEEP_HOURS, row),
+                        (int) segment.value(DailyLogMetric.STRESS_LEVEL, row)
+                });
+            }
+        }
+        return points;
+    }
+    
+    /**
+     * Minimum and maximum of every metric over all archived logs of a user, as
+     * {@code [min0, max0, min1, max1, ...]} in {@link DailyLogMetric} order, or null when the
+     * user has nothing archived.
+     */
+    public double[] extremes(Long userId) {
+        double[] extremes = null;
+        for (int year : years(userId)) {
+            ArchiveSegment segment = segment(userId, year);
+            if (segment == null) {
+                continue;
+            }
+            for (int row = 0; row < segment.size(); row++) {
+                if (extremes == null) {
+                    extremes = new double[DailyLogMetric.count() * 2];
+                    for (int m = 0; m < DailyLogMetric.count(); m++) {
+                        extremes[2 * m] = Double.POSITIVE_INFINITY;
+                        extremes[2 * m + 1] = Double.NEGATIVE_INFINITY;
+                    }
+                }
+                for (DailyLogMetric metric : DailyLogMetric.values()) {
+                    double value = segment.value(metric, row);
+                    int m = metric.ordinal();
+                    extremes[2 * m] = Math.min(extremes[2 * m], value);
+                    extremes[2 * m + 1] = Math.max(extremes[2 * m + 1], value);
+                }
+            }
+        }
+        return extremes;
+    }
+    
+    public boolean contains(Long userId, LocalDate date) {
+        ArchiveSegment segment = segment(userId, date.getYear());
+        if (segment == null) {
+            return false;
+        }
+        int row = segment.lowerBound(date);
+        return row < segment.size() && segment.date(row).equals(date);
+    }
+    
+    public Optional<DailyLog> findById(User user, Long id) {
+        for (int year : years(user.getId())) {
+            ArchiveSegment segment = segment(user.getId(), year);
+            if (segment == null) {
+                continue;
+            }
+            int row = segment.rowOf(id);
+            if (row >= 0) {
+                return Optional.of(segment.toLog(row, user));
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * The user's newest archived log dated after {@code after} (null for any). Years before
+     * that date are not opened.
+     */
+    public Optional<DailyLog> latest(User user, LocalDate after) {
+        for (int year : years(user.getId()).descendingSet()) {
+            if (after != null && year < after.getYear()) {
+                break;
+            }
+            ArchiveSegment segment = segment(user.getId(), year);
+            if (segment == null || segment.size() == 0) {
+                continue;
+            }
+            int last = segment.size() - 1;
+            if (after != null && !segment.date(last).isAfter(after)) {
+                break;
+            }
+            return Optional.of(segment.toLog(last, user));
+        }
+        return Optional.empty();
+    }
+    
+    public boolean hasArchive(Long userId) {
+        return !years(userId).isEmpty();
+    }
+    
+    /**
+     * Adds logs of one year to the user's segment. Existing rows are kept unless a new log has
+     * the same date; the segment is rewritten under a temporary name and moved into place.
+     */
+    public void append(User user, int year, List<DailyLog> logs) throws IOException {
+        Map<LocalDate, DailyLog> byDate = new LinkedHashMap<>();
+        ArchiveSegment existing = segment(user.getId(), year);
+        if (existing != null) {
+            for (int row = 0; row < existing.size(); row++) {
+                DailyLog log = existing.toLog(row, user);
+                byDate.put(log.getDate(), log);
+            }
+        }
+        for (DailyLog log : logs) {
+            if (log.getDate().getYear() != year) {
+                throw new IllegalArgumentException("Log " + log.getId() + " is not from " + year);
+            }
+            byDate.put(log.getDate(), log);
+        }
+        List<DailyLog> merged = new ArrayList<>(byDate.values());
+        merged.sort(Comparator.comparing(DailyLog::getDate));
+        
+        Path file = file(user.getId(), year);
+        Files.createDirectories(file.getParent());
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        ArchiveSegment.write(partial, user.getId(), year, merged);
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        evict(user.getId(), year);
+    }
+    
+    /**
+     * Drops a mapped segment so the next read picks up a file rewritten by another instance.
+     */
+    public void evict(Long userId, int year) {
+        Path file = file(userId, year);
+        segments.invalidate(file);
+        missing.invalidate(file);
+    }
+    
+    private ArchiveSegment segment(Long userId, int year) {
+        Path file = file(userId, year);
+        if (missing.getIfPresent(file) != null) {
+            return null;
+        }
+        ArchiveSegment segment;
+        try {
+            segment = segments.get(file, path -> {
+                try {
+                    return ArchiveSegment.open(path);
+                } catch (NoSuchFileException e) {
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.error("Failed to open archive segment {}", file, e);
+            throw e;
+        }
+        if (segment == null) {
+            missing.put(file, Boolean.TRUE);
+        }
+        return segment;
+    }
+    
+    private TreeSet<Integer> years(Long userId) {
+        TreeSet<Integer> years = new TreeSet<>();
+        Path userDirectory = userDirectory(userId);
+        if (!Files.isDirectory(userDirectory)) {
+            return years;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(userDirectory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                years.add(Integer.parseInt(name.substring(0, name.length() - SUFFIX.length())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return years;
+    }
+    
+    private Path userDirectory(Long userId) {
+        return directory.resolve(Long.toString(userId % 256)).resolve(Long.toString(userId));
+    }
+    
+    private Path file(Long userId, int year) {
+        return userDirectory(userId).resolve(year + SUFFIX);
+    }
+    
+    private final class SegmentIterator implements Iterator<DailyLog> {
+        
+        private final User user;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final Iterator<Integer> years;
+        private ArchiveSegment segment;
+        private int row;
+        
+        SegmentIterator(User user, LocalDate from, LocalDate to) {
+            this.user = user;
+            this.from = from;
+            this.to = to;
+            this.years = years(user.getId()).iterator();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (segment == null || row >= segment.size() || (to != null && segment.date(row).isAfter(to))) {
+                if (segment != null && to != null && row < segment.size()) {
+                    // Past the end date; later years only hold later dates
+                    return false;
+                }
+                if (!years.hasNext()) {
+                    return false;
+                }
+                int year = years.next();
+                if ((from != null && year < from.getYear()) || (to != null && year > to.getYear())) {
+                    segment = null;
+                    continue;
+                }
+                segment = segment(user.getId(), year);
+                row = segment != null && from != null ? segment.lowerBound(from) : 0;
+            }
+            return true;
+        }
+        
+        @Override
+        public DailyLog next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return segment.toLog(row++, user);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.lifepattern.ai.archive;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Merges hot and archived rows, each sorted by date, into one date-ordered sequence. Where both
+ * tiers hold the same date the hot row wins and the archived one is skipped.
+ */
+public final class TierMergingIterator<T> implements Iterator<T> {
+    
+    private final Iterator<T> hot;
+    private final Iterator<T> archived;
+    private final Function<T, LocalDate> date;
+    private T nextHot;
+    private T nextArchived;
+    
+    public TierMergingIterator(Iterator<T> hot, Iterator<T> archived, Function<T, LocalDate> date) {
+        this.hot = hot;
+        this.archived = archived;
+        this.date = date;
+        nextHot = hot.hasNext() ? hot.next() : null;
+        nextArchived = archived.hasNext() ? archived.next() : null;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        return nextHot != null || nextArchived != null;
+    }
+    
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (nextHot != null && nextArchived != null) {
+            int order = date.apply(nextHot).compareTo(date.apply(nextArchived));
+            if (order == 0) {
+                nextArchived = archived.hasNext() ? archived.next() : null;
+            }
+            if (order > 0) {
+                return takeArchived();
+            }
+            return takeHot();
+        }
+        return nextHot != null ? takeHot() : takeArchived();
+    }
+    
+    private T takeHot() {
+        T value = nextHot;
+        nextHot = hot.hasNext() ? hot.next() : null;
+        return value;
+    }
+    
+    private T takeArchived() {
+        T value = nextArchived;
+        nextArchived = archived.hasNext() ? archived.next() : null;
+        return value;
+    }
+}
@@ -0,0 +1,198 @@
+package com.lifepattern.ai.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Keeps in-process caches coherent across instances. Every invalidation carries a
+ * hybrid-logical-clock version per key; the highest version seen for each key is
+ * remembered for longer than any cache TTL so delayed or reordered messages cannot
+ * evict newer data, and a cache fill that raced an invalidation can be rejected.
+ */
+@Slf4j
+public class CacheCoherenceService implements AutoCloseable {
+    
+    private static final int LOGICAL_BITS = 20;
+    
+    /**
+     * Key of an invalidation that drops every entry of the cache.
+     */
+    static final String ALL_KEYS = "\u0000*";
+    
+    private final UUID instanceId = UUID.randomUUID();
+    private final InvalidationTransport transport;
+    private final Cache<String, Long> keyVersions;
+    private final Map<String, Long> clearVersions = new ConcurrentHashMap<>();
+    private final Map<String, Consumer<String>> evictors = new ConcurrentHashMap<>();
+    private final Map<String, Runnable> clearers = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    
+    public CacheCoherenceService(InvalidationTransport transport, Duration versionRetention, long maximumTrackedKeys) {
+        this.transport = transport;
+        this.keyVersions = Caffeine.newBuilder()
+                .expireAfterWrite(versionRetention)
+                .maximumSize(maximumTrackedKeys)
+                .build();
+        transport.start(this::onMessage);
+    }
+    
+    /**
+     * Registers the local eviction callback for a named cache or Hibernate region.
+     */
+    public void registerEvictor(String cacheName, Consumer<String> evictor) {
+        evictors.put(cacheName, evictor);
+    }
+    
+    /**
+     * Registers the local callback that drops every entry of a named cache.
+     */
+    public void registerClearer(String cacheName, Runnable clearer) {
+        clearers.put(cacheName, clearer);
+    }
+    
+    /**
+     * Bumps the key version locally and tells the other instances to drop their copy.
+     * The caller is responsible for its own local eviction.
+     */
+    public void invalidate(String cacheName, String key) {
+        long version = nextVersion();
+        keyVersions.asMap().merge(versionKey(cacheName, key), version, Math::max);
+        transport.publish(new InvalidationMessage(instanceId, cacheName, key, version));
+        published.increment();
+    }
+    
+    /**
+     * Invalidates every key of the cache, locally and on the other instances. A fill that
+     * started before the clear is rejected like one that raced a single-key invalidation.
+     * The caller is responsible for its own local clear.
+     */
+    public void invalidateAll(String cacheName) {
+        long version = nextVersion();
+        clearVersions.merge(cacheName, version, Math::max);
+        transport.publish(new InvalidationMessage(instanceId, cacheName, ALL_KEYS, version));
+        published.increment();
+    }
+    
+    /**
+     * Same as {@link #invalidate} plus local eviction, deferred until the current
+     * transaction commits (or run immediately outside a transaction).
+     */
+    public void invalidateAfterCommit(String cacheName, String key) {
+        Runnable action = () -> {
+            invalidate(cacheName, key);
+            evictLocally(cacheName, key);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    public long currentVersion(String cacheName, String key) {
+        Long version = keyVersions.getIfPresent(versionKey(cacheName, key));
+        return Math.max(version == null ? 0L : version, clearVersions.getOrDefault(cacheName, 0L));
+    }
+    
+    void onMessage(InvalidationMessage message) {
+        if (instanceId.equals(message.getOrigin())) {
+            return;
+        }
+        clock.accumulateAndGet(message.getVersion(), Math::max);
+        if (ALL_KEYS.equals(message.getKey())) {
+            onClear(message);
+            return;
+        }
+        String versionKey = versionKey(message.getCacheName(), message.getKey());
+        boolean[] newer = {false};
+        keyVersions.asMap().compute(versionKey, (k, known) -> {
+            if (known != null && known >= message.getVersion()) {
+                return known;
+            }
+            newer[0] = true;
+            return message.getVersion();
+        });
+        if (!newer[0]) {
+            discarded.increment();
+            return;
+        }
+        evictLocally(message.getCacheName(), message.getKey());
+        applied.increment();
+    }
+    
+    private void onClear(InvalidationMessage message) {
+        boolean[] newer = {false};
+        clearVersions.compute(message.getCacheName(), (k, known) -> {
+            if (known != null && known >= message.getVersion()) {
+                return known;
+            }
+            newer[0] = true;
+            return message.getVersion();
+        });
+        if (!newer[0]) {
+            discarded.increment();
+            return;
+        }
+        Runnable clearer = clearers.get(message.getCacheName());
+        if (clearer == null) {
+            log.debug("No clearer registered for cache {}", message.getCacheName());
+            return;
+        }
+        clearer.run();
+        applied.increment();
+    }
+    
+    private void evictLocally(String cacheName, String key) {
+        Consumer<String> evictor = evictors.get(cacheName);
+        if (evictor == null) {
+            log.debug("No evictor registered for cache {}", cacheName);
+            return;
+        }
+        evictor.accept(key);
+    }
+    
+    private long nextVersion() {
+        long physical = System.currentTimeMillis() << LOGICAL_BITS;
+        return clock.updateAndGet(last -> Math.max(physical, last + 1));
+    }
+    
+    private static String versionKey(String cacheName, String key) {
+        return cacheName + '\u0000' + key;
+    }
+    
+    public long getPublishedCount() {
+        return published.sum();
+    }
+    
+    public long getAppliedCount() {
+        return applied.sum();
+    }
+    
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+    
+    @Override
+    public void close() {
+        transport.close();
+    }
+}
@@ -0,0 +1,100 @@
+package com.lifepattern.ai.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Spring {@link Cache} decorator that broadcasts local writes as invalidations and
+ * refuses to populate an entry if the key was invalidated between the cache miss
+ * and the put (the value was computed from data that is already stale).
+ * <p>
+ * Fills must go through {@link #get(Object, Callable)}, i.e. {@code @Cacheable(sync = true)},
+ * so the version seen at the miss lives only as long as the load. Every plain {@link #put}
+ * is treated as a write-through and broadcast.
+ */
+public class CoherentCache implements Cache {
+    
+    private final Cache delegate;
+    private final CacheCoherenceService coherenceService;
+    
+    public CoherentCache(Cache delegate, CacheCoherenceService coherenceService) {
+        this.delegate = delegate;
+        this.coherenceService = coherenceService;
+        coherenceService.registerEvictor(delegate.getName(), delegate::evict);
+        coherenceService.registerClearer(delegate.getName(), delegate::clear);
+    }
+    
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+    
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+    
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+    
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+    
+    /**
+     * Loads on a miss and keeps the value only if nobody invalidated the key while it
+     * was loading. A loader that throws leaves nothing behind.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        String stringKey = String.valueOf(key);
+        long versionAtMiss = coherenceService.currentVersion(getName(), stringKey);
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null && coherenceService.currentVersion(getName(), stringKey) == versionAtMiss) {
+            delegate.put(key, value);
+        }
+        return value;
+    }
+    
+    /**
+     * A write-through (e.g. @CachePut) means the value changed: tell the peers.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        coherenceService.invalidate(getName(), String.valueOf(key));
+    }
+    
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        coherenceService.invalidate(getName(), String.valueOf(key));
+    }
+    
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = delegate.evictIfPresent(key);
+        coherenceService.invalidate(getName(), String.valueOf(key));
+        return present;
+    }
+    
+    @Override
+    public void clear() {
+        delegate.clear();
+        coherenceService.invalidateAll(getName());
+    }
+}
@@ -0,0 +1,34 @@
+package com.lifepattern.ai.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CoherentCacheManager implements CacheManager {
+    
+    private final CacheManager delegate;
+    private final CacheCoherenceService coherenceService;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+    
+    public CoherentCacheManager(CacheManager delegate, CacheCoherenceService coherenceService) {
+        this.delegate = delegate;
+        this.coherenceService = coherenceService;
+        delegate.getCacheNames().forEach(this::getCache);
+    }
+    
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            return cache == null ? null : new CoherentCache(cache, coherenceService);
+        });
+    }
+    
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
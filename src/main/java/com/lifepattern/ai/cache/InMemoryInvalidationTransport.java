@@ -0,0 +1,37 @@
+package com.lifepattern.ai.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in transport that connects every instance created in the same JVM. With a
+ * single application instance it simply delivers nothing, which is the correct
+ * behaviour for a one-node deployment.
+ */
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+    
+    private static final List<InMemoryInvalidationTransport> BUS = new CopyOnWriteArrayList<>();
+    
+    private volatile Consumer<InvalidationMessage> listener;
+    
+    @Override
+    public void start(Consumer<InvalidationMessage> listener) {
+        this.listener = listener;
+        BUS.add(this);
+    }
+    
+    @Override
+    public void publish(InvalidationMessage message) {
+        for (InMemoryInvalidationTransport peer : BUS) {
+            if (peer != this && peer.listener != null) {
+                peer.listener.accept(message);
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+        BUS.remove(this);
+    }
+}
@@ -0,0 +1,54 @@
+package com.lifepattern.ai.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+/**
+ * A single "key changed" notification. {@code version} is a hybrid logical clock
+ * stamp so receivers can discard messages that arrive after a newer one for the same key.
+ */
+@Data
+@AllArgsConstructor
+public class InvalidationMessage {
+    
+    private static final byte FORMAT_VERSION = 1;
+    
+    private UUID origin;
+    private String cacheName;
+    private String key;
+    private long version;
+    
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(origin.getMostSignificantBits());
+            out.writeLong(origin.getLeastSignificantBits());
+            out.writeUTF(cacheName);
+            out.writeUTF(key);
+            out.writeLong(version);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    public static InvalidationMessage decode(byte[] data, int offset, int length) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length))) {
+            byte format = in.readByte();
+            if (format != FORMAT_VERSION) {
+                throw new IOException("Unsupported invalidation message format: " + format);
+            }
+            UUID origin = new UUID(in.readLong(), in.readLong());
+            return new InvalidationMessage(origin, in.readUTF(), in.readUTF(), in.readLong());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.lifepattern.ai.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidation messages to the other backend instances. Delivery is best
+ * effort and may reorder messages; receivers rely on version stamps for ordering.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+    
+    void start(Consumer<InvalidationMessage> listener);
+    
+    void publish(InvalidationMessage message);
+    
+    @Override
+    void close();
+}
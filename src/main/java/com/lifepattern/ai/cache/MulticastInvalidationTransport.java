@@ -0,0 +1,97 @@
+package com.lifepattern.ai.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.function.Consumer;
+
+/**
+ * UDP multicast transport for a LAN or a docker network. Each message is one
+ * datagram; lost datagrams only cost a cache TTL of staleness.
+ */
+@Slf4j
+public class MulticastInvalidationTransport implements InvalidationTransport {
+    
+    private static final int MAX_DATAGRAM = 1400;
+    
+    private final InetSocketAddress group;
+    private final String interfaceName;
+    private final int timeToLive;
+    private MulticastSocket socket;
+    private Thread receiver;
+    private volatile boolean running;
+    
+    public MulticastInvalidationTransport(String groupAddress, int port, String interfaceName, int timeToLive) {
+        try {
+            this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.interfaceName = interfaceName;
+        this.timeToLive = timeToLive;
+    }
+    
+    @Override
+    public void start(Consumer<InvalidationMessage> listener) {
+        try {
+            socket = new MulticastSocket(group.getPort());
+            socket.setTimeToLive(timeToLive);
+            NetworkInterface networkInterface = interfaceName == null || interfaceName.isBlank()
+                    ? socket.getNetworkInterface()
+                    : NetworkInterface.getByName(interfaceName);
+            socket.joinGroup(group, networkInterface);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not join multicast group " + group, e);
+        }
+        running = true;
+        receiver = new Thread(() -> receive(listener), "cache-invalidation-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+    
+    private void receive(Consumer<InvalidationMessage> listener) {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                listener.accept(InvalidationMessage.decode(packet.getData(), packet.getOffset(), packet.getLength()));
+            } catch (SocketException e) {
+                if (running) {
+                    log.warn("Multicast receiver socket error", e);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Dropping malformed cache invalidation datagram", e);
+            }
+        }
+    }
+    
+    @Override
+    public void publish(InvalidationMessage message) {
+        byte[] payload = message.encode();
+        if (payload.length > MAX_DATAGRAM) {
+            log.warn("Invalidation for {}:{} is too large to send", message.getCacheName(), message.getKey());
+            return;
+        }
+        try {
+            socket.send(new DatagramPacket(payload, payload.length, group));
+        } catch (IOException e) {
+            log.warn("Failed to publish cache invalidation for {}:{}", message.getCacheName(), message.getKey(), e);
+        }
+    }
+    
+    @Override
+    public void close() {
+        running = false;
+        if (socket != null) {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.lifepattern.ai.config;
+
+import com.lifepattern.ai.archive.DailyLogArchive;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class ArchiveConfig {
+    
+    @Value("${archive.dir}")
+    private String archiveDir;
+    
+    @Value("${archive.maximum-open-segments}")
+    private long maximumOpenSegments;
+    
+    @Value("${archive.maximum-cached-misses}")
+    private long maximumCachedMisses;
+    
+    @Bean
+    public DailyLogArchive dailyLogArchive() throws IOException {
+        return new DailyLogArchive(Path.of(archiveDir), maximumOpenSegments, maximumCachedMisses);
+    }
+}
@@ -0,0 +1,83 @@
+package com.lifepattern.ai.config;
+
+import com.lifepattern.ai.cache.CacheCoherenceService;
+import com.lifepattern.ai.cache.InMemoryInvalidationTransport;
+import com.lifepattern.ai.cache.InvalidationTransport;
+import com.lifepattern.ai.cache.MulticastInvalidationTransport;
+import com.lifepattern.ai.entity.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheCoherenceConfig {
+    
+    @Value("${cache.coherence.transport}")
+    private String transport;
+    
+    @Value("${cache.coherence.multicast.group}")
+    private String multicastGroup;
+    
+    @Value("${cache.coherence.multicast.port}")
+    private int multicastPort;
+    
+    @Value("${cache.coherence.multicast.interface:}")
+    private String multicastInterface;
+    
+    @Value("${cache.coherence.multicast.ttl}")
+    private int multicastTtl;
+    
+    @Value("${cache.coherence.version-retention}")
+    private Duration versionRetention;
+    
+    @Value("${cache.coherence.maximum-tracked-keys}")
+    private long maximumTrackedKeys;
+    
+    @Bean(destroyMethod = "close")
+    public CacheCoherenceService cacheCoherenceService(EntityManagerFactory entityManagerFactory) {
+        CacheCoherenceService service = new CacheCoherenceService(
+                invalidationTransport(), versionRetention, maximumTrackedKeys);
+        
+        // Hibernate keeps User in its own second-level region; the findByEmail query
+        // cache may still map an old email to the id, so drop query results as well
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        service.registerEvictor(CacheConfig.USER_REGION, key -> {
+            sessionFactory.getCache().evictEntityData(User.class, Long.valueOf(key));
+            sessionFactory.getCache().evictDefaultQueryRegion();
+        });
+        return service;
+    }
+    
+    private InvalidationTransport invalidationTransport() {
+        return switch (transport) {
+            case "in-memory" -> new InMemoryInvalidationTransport();
+            case "multicast" -> new MulticastInvalidationTransport(
+                    multicastGroup, multicastPort, multicastInterface, multicastTtl);
+            default -> throw new IllegalStateException("Unknown cache.coherence.transport: " + transport);
+        };
+    }
+    
+    @Bean
+    public MeterBinder cacheCoherenceMetrics(CacheCoherenceService cacheCoherenceService) {
+        return registry -> {
+            FunctionCounter.builder("cache.coherence.invalidations", cacheCoherenceService,
+                            CacheCoherenceService::getPublishedCount)
+                    .tag("direction", "published")
+                    .register(registry);
+            FunctionCounter.builder("cache.coherence.invalidations", cacheCoherenceService,
+                            CacheCoherenceService::getAppliedCount)
+                    .tag("direction", "applied")
+                    .register(registry);
+            FunctionCounter.builder("cache.coherence.invalidations", cacheCoherenceService,
+                            CacheCoherenceService::getDiscardedCount)
+                    .tag("direction", "discarded")
+                    .register(registry);
+        };
+    }
+}
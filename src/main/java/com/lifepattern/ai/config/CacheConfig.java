@@ -0,0 +1,122 @@
+package com.lifepattern.ai.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lifepattern.ai.cache.CacheCoherenceService;
+import com.lifepattern.ai.cache.CoherentCacheManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String LATEST_ANALYSIS_CACHE = "latestAnalysis";
+    public static final String WEEKLY_SUMS_CACHE = "weeklySums";
+    public static final String USER_REGION = "users";
+    
+    @Value("${cache.latest-analysis.maximum-size}")
+    private long latestAnalysisMaximumSize;
+    
+    @Value("${cache.latest-analysis.ttl}")
+    private Duration latestAnalysisTtl;
+    
+    @Value("${cache.weekly-sums.maximum-size}")
+    private long weeklySumsMaximumSize;
+    
+    @Value("${cache.weekly-sums.ttl}")
+    private Duration weeklySumsTtl;
+    
+    /**
+     * Puts and evictions are deferred until the surrounding transaction commits, so a
+     * rolled back regenerate never leaves a phantom analysis in the cache. Committed
+     * changes are then broadcast to the other instances by the coherence layer.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheCoherenceService cacheCoherenceService) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(latestAnalysisMaximumSize)
+                .expireAfterWrite(latestAnalysisTtl)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(LATEST_ANALYSIS_CACHE));
+        cacheManager.setAllowNullValues(false);
+        // A user's weekly log sums, read by percentile requests
+        cacheManager.registerCustomCache(WEEKLY_SUMS_CACHE, Caffeine.newBuilder()
+                .maximumSize(weeklySumsMaximumSize)
+                .expireAfterWrite(weeklySumsTtl)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(new CoherentCacheManager(cacheManager, cacheCoherenceService));
+    }
+    
+    @Bean
+    public MeterBinder applicationCacheMetrics(CacheManager cacheManager) {
+        return registry -> {
+            for (String name : cacheManager.getCacheNames()) {
+                Object nativeCache = cacheManager.getCache(name).getNativeCache();
+                if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+                    CaffeineCacheMetrics.monitor(registry, caffeineCache, name);
+                }
+            }
+        };
+    }
+    
+    /**
+     * Exposes Hibernate second-level cache region counters (e.g. the User region and
+     * the query cache backing findByEmail) under /actuator/metrics.
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : statistics.getSecondLevelCacheRegionNames()) {
+                CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+                if (regionStatistics == null) {
+                    continue;
+                }
+                FunctionCounter.builder("hibernate.second.level.cache.requests", regionStatistics,
+                                CacheRegionStatistics::getHitCount)
+                        .tag("region", region).tag("result", "hit")
+                        .register(registry);
+                FunctionCounter.builder("hibernate.second.level.cache.requests", regionStatistics,
+                                CacheRegionStatistics::getMissCount)
+                        .tag("region", region).tag("result", "miss")
+                        .register(registry);
+                Gauge.builder("hibernate.second.level.cache.hit.ratio", regionStatistics, CacheConfig::hitRatio)
+                        .tag("region", region)
+                        .register(registry);
+                Gauge.builder("hibernate.second.level.cache.size", regionStatistics,
+                                CacheRegionStatistics::getElementCountInMemory)
+                        .tag("region", region)
+                        .register(registry);
+            }
+            FunctionCounter.builder("hibernate.query.cache.requests", statistics, Statistics::getQueryCacheHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.query.cache.requests", statistics, Statistics::getQueryCacheMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+    
+    private static double hitRatio(CacheRegionStatistics statistics) {
+        long requests = statistics.getHitCount() + statistics.getMissCount();
+        return requests == 0 ? 0.0 : (double) statistics.getHitCount() / requests;
+    }
+}
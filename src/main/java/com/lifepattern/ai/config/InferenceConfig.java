@@ -0,0 +1,72 @@
+package com.lifepattern.ai.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifepattern.ai.inference.BurnoutModel;
+import com.lifepattern.ai.inference.BurnoutScorer;
+import com.lifepattern.ai.inference.FormulaBurnoutModel;
+import com.lifepattern.ai.inference.TreeEnsembleModel;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class InferenceConfig {
+    
+    @Value("${inference.model-path:}")
+    private String modelPath;
+    
+    @Value("${inference.max-batch-size}")
+    private int maxBatchSize;
+    
+    @Value("${inference.max-batch-delay}")
+    private Duration maxBatchDelay;
+    
+    @Value("${inference.timeout}")
+    private Duration timeout;
+    
+    @Value("${inference.queue-capacity}")
+    private int queueCapacity;
+    
+    @Bean
+    public BurnoutModel burnoutModel(ObjectMapper objectMapper) {
+        if (modelPath.isBlank()) {
+            return FormulaBurnoutModel.INSTANCE;
+        }
+        try {
+            TreeEnsembleModel model = TreeEnsembleModel.load(Path.of(modelPath), objectMapper);
+            log.info("Loaded burnout model {} from {}", model.getVersion(), modelPath);
+            return model;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not load burnout model from {}, scoring with the formula", modelPath, e);
+            return FormulaBurnoutModel.INSTANCE;
+        }
+    }
+    
+    @Bean(destroyMethod = "close")
+    public BurnoutScorer burnoutScorer(BurnoutModel burnoutModel) {
+        return new BurnoutScorer(burnoutModel, maxBatchSize, maxBatchDelay, timeout, queueCapacity);
+    }
+    
+    @Bean
+    public MeterBinder inferenceMetrics(BurnoutScorer burnoutScorer) {
+        return registry -> {
+            FunctionCounter.builder("inference.batches", burnoutScorer, BurnoutScorer::getBatchCount)
+                    .tag("model", burnoutScorer.getModelVersion())
+                    .register(registry);
+            FunctionCounter.builder("inference.rows", burnoutScorer, BurnoutScorer::getBatchedRowCount)
+                    .tag("model", burnoutScorer.getModelVersion())
+                    .register(registry);
+            FunctionCounter.builder("inference.fallbacks", burnoutScorer, BurnoutScorer::getFallbackCount)
+                    .tag("model", burnoutScorer.getModelVersion())
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.lifepattern.ai.config;
+
+import com.lifepattern.ai.service.EmailOutboxService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MailConfig {
+    
+    @Bean
+    public MeterBinder emailOutboxMetrics(EmailOutboxService emailOutboxService) {
+        return registry -> {
+            FunctionCounter.builder("mail.outbox.sent", emailOutboxService, EmailOutboxService::getSentCount)
+                    .register(registry);
+            FunctionCounter.builder("mail.outbox.failed", emailOutboxService, EmailOutboxService::getFailedCount)
+                    .register(registry);
+            Gauge.builder("mail.outbox.pending", emailOutboxService, EmailOutboxService::getPendingCount)
+                    .register(registry);
+        };
+    }
+}
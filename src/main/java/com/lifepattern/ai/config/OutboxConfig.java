@@ -0,0 +1,48 @@
+package com.lifepattern.ai.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifepattern.ai.outbox.FileOutboxSink;
+import com.lifepattern.ai.outbox.InMemoryOutboxSink;
+import com.lifepattern.ai.outbox.OutboxSink;
+import com.lifepattern.ai.service.OutboxService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class OutboxConfig {
+    
+    @Value("${outbox.sink}")
+    private String sink;
+    
+    @Value("${outbox.sink.file}")
+    private String sinkFile;
+    
+    @Value("${outbox.sink.in-memory.capacity}")
+    private int inMemoryCapacity;
+    
+    @Bean(destroyMethod = "close")
+    public OutboxSink outboxSink(ObjectMapper objectMapper) throws IOException {
+        return switch (sink) {
+            case "in-memory" -> new InMemoryOutboxSink(inMemoryCapacity);
+            case "file" -> new FileOutboxSink(Path.of(sinkFile), objectMapper);
+            default -> throw new IllegalStateException("Unknown outbox.sink: " + sink);
+        };
+    }
+    
+    @Bean
+    public MeterBinder outboxMetrics(OutboxService outboxService) {
+        return registry -> {
+            FunctionCounter.builder("outbox.published", outboxService, OutboxService::getPublishedCount)
+                    .register(registry);
+            Gauge.builder("outbox.feed.waiters", outboxService, OutboxService::getWaiterCount)
+                    .register(registry);
+        };
+    }
+}
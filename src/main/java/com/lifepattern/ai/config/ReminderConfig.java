@@ -0,0 +1,24 @@
+package com.lifepattern.ai.config;
+
+import com.lifepattern.ai.service.ReminderService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReminderConfig {
+    
+    @Bean
+    public MeterBinder reminderMetrics(ReminderService reminderService) {
+        return registry -> {
+            Gauge.builder("reminder.scheduled", reminderService, ReminderService::getScheduledCount)
+                    .register(registry);
+            FunctionCounter.builder("reminder.sent", reminderService, ReminderService::getSentCount)
+                    .register(registry);
+            FunctionCounter.builder("reminder.suppressed", reminderService, ReminderService::getSuppressedCount)
+                    .register(registry);
+        };
+    }
+}
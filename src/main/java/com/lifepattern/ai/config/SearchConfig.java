@@ -0,0 +1,27 @@
+package com.lifepattern.ai.config;
+
+import com.lifepattern.ai.search.LogIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class SearchConfig {
+    
+    @Value("${search.index-dir}")
+    private String indexDir;
+    
+    @Value("${search.shards}")
+    private int shards;
+    
+    @Value("${search.max-stale-seconds}")
+    private double maxStaleSeconds;
+    
+    @Bean(destroyMethod = "close")
+    public LogIndex logIndex() throws IOException {
+        return new LogIndex(Path.of(indexDir), shards, maxStaleSeconds);
+    }
+}
@@ -1,13 +1,18 @@
 package com.lifepattern.ai.config;
 
 import com.lifepattern.ai.security.JwtAuthenticationFilter;
+import com.lifepattern.ai.web.ConcurrencyLimitFilter;
+import com.lifepattern.ai.web.IdempotencyFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.authentication.configuration.EnableGlobalAuthentication;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -20,32 +25,13 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
-@EnableWebSecurity
+@EnableGlobalAuthentication
 @EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
     
-    private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
     
-    @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        http
-                .csrf(AbstractHttpConfigurer::disable)
-                .cors(cors -> cors.configure(http))
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/register", "/auth/login", "/auth/forgot-password").permitAll()
-                        .anyRequest().authenticated()
-                )
-                .sessionManagement(session -> session
-                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
-                )
-                .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
-        
-        return http.build();
-    }
-    
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -63,4 +49,43 @@ public class SecurityConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+    
+    /**
+     * The HTTP chain of the servlet runtime. Kept apart from the shared authentication beans
+     * above, which the reactive profile and the headless bulk export need as well.
+     */
+    @Configuration
+    @EnableWebSecurity
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletSecurityConfig {
+        
+        @Bean
+        public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider,
+                                                       JwtAuthenticationFilter jwtAuthFilter,
+                                                       IdempotencyFilter idempotencyFilter,
+                                                       ConcurrencyLimitFilter concurrencyLimitFilter) throws Exception {
+            http
+                    .csrf(AbstractHttpConfigurer::disable)
+                    .cors(cors -> cors.configure(http))
+                    .authorizeHttpRequests(auth -> auth
+                            // Streamed exports finish on an async dispatch of a request
+                            // that was already authorised
+                            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                            .requestMatchers("/auth/register", "/auth/login", "/auth/forgot-password",
+                                    "/auth/reset-password").permitAll()
+                            // Authorised by the feed token in ChangeFeedController
+                            .requestMatchers("/changes").permitAll()
+                            .anyRequest().authenticated()
+                    )
+                    .sessionManagement(session -> session
+                            .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                    )
+                    .authenticationProvider(authenticationProvider)
+                    .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                    .addFilterBefore(concurrencyLimitFilter, JwtAuthenticationFilter.class)
+                    .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
+            
+            return http.build();
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.lifepattern.ai.config;
+
+import com.lifepattern.ai.service.AnalysisService;
+import com.lifepattern.ai.web.ConcurrencyLimitFilter;
+import com.lifepattern.ai.web.GradientLimiter;
+import com.lifepattern.ai.web.IdempotencyFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebFilterConfig {
+    
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(ConcurrencyLimitFilter concurrencyLimitFilter) {
+        return registry -> concurrencyLimitFilter.getLimiters().forEach((partition, limiter) -> {
+            Gauge.builder("concurrency.limit", limiter, GradientLimiter::getLimit)
+                    .tag("partition", partition.key())
+                    .register(registry);
+            Gauge.builder("concurrency.in.flight", limiter, GradientLimiter::getInFlight)
+                    .tag("partition", partition.key())
+                    .register(registry);
+            FunctionCounter.builder("concurrency.rejected", limiter, GradientLimiter::getRejectedCount)
+                    .tag("partition", partition.key())
+                    .register(registry);
+        });
+    }
+    
+    @Bean
+    public MeterBinder duplicateRequestMetrics(IdempotencyFilter idempotencyFilter, AnalysisService analysisService) {
+        return registry -> {
+            Gauge.builder("idempotency.keys", idempotencyFilter, IdempotencyFilter::getStoredCount)
+                    .register(registry);
+            FunctionCounter.builder("idempotency.replays", idempotencyFilter, IdempotencyFilter::getReplayedCount)
+                    .register(registry);
+            FunctionCounter.builder("analysis.regenerate.coalesced", analysisService,
+                            AnalysisService::getCoalescedRegenerations)
+                    .register(registry);
+        };
+    }
+}
@@ -1,9 +1,20 @@
 package com.lifepattern.ai.controller;
 
 import com.lifepattern.ai.dto.AIAnalysisResponse;
+import com.lifepattern.ai.dto.AnomalyResponse;
+import com.lifepattern.ai.dto.CorrelationResponse;
+import com.lifepattern.ai.dto.ForecastResponse;
+import com.lifepattern.ai.dto.PercentileResponse;
 import com.lifepattern.ai.dto.TrendDataResponse;
+import com.lifepattern.ai.dto.UserSummaryResponse;
 import com.lifepattern.ai.service.AnalysisService;
+import com.lifepattern.ai.service.AnomalyDetectionService;
+import com.lifepattern.ai.service.CorrelationService;
+import com.lifepattern.ai.service.ForecastService;
+import com.lifepattern.ai.service.PopulationStatsService;
+import com.lifepattern.ai.service.UserStatsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -15,9 +26,15 @@ import java.util.List;
 @RestController
 @RequestMapping("/analysis")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AnalysisController {
     
     private final AnalysisService analysisService;
+    private final UserStatsService userStatsService;
+    private final CorrelationService correlationService;
+    private final PopulationStatsService populationStatsService;
+    private final AnomalyDetectionService anomalyDetectionService;
+    private final ForecastService forecastService;
     
     @GetMapping("/latest")
     public ResponseEntity<AIAnalysisResponse> getLatestAnalysis(Authentication authentication) {
@@ -31,12 +48,62 @@ public class AnalysisController {
             Authentication authentication,
             @RequestParam(required = false) Integer days,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(required = false) String fill) {
         String email = authentication.getName();
-        List<TrendDataResponse> trends = analysisService.getTrends(email, days, start, end);
+        List<TrendDataResponse> trends = analysisService.getTrends(email, days, start, end, maxPoints, fill);
         return ResponseEntity.ok(trends);
     }
     
+    @GetMapping("/summary")
+    public ResponseEntity<UserSummaryResponse> getSummary(Authentication authentication) {
+        String email = authentication.getName();
+        UserSummaryResponse response = userStatsService.getSummary(email);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/correlations")
+    public ResponseEntity<CorrelationResponse> getCorrelations(Authentication authentication) {
+        String email = authentication.getName();
+        CorrelationResponse response = correlationService.getCorrelations(email);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/percentiles")
+    public ResponseEntity<PercentileResponse> getPercentiles(
+            Authentication authentication,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        String email = authentication.getName();
+        PercentileResponse response = populationStatsService.getPercentiles(email, date != null ? date : LocalDate.now());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/percentiles/population")
+    public ResponseEntity<PercentileResponse> getPopulationPercentiles(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        PercentileResponse response = populationStatsService.getPopulation(date != null ? date : LocalDate.now());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/anomalies")
+    public ResponseEntity<List<AnomalyResponse>> getAnomalies(
+            Authentication authentication,
+            @RequestParam(required = false) Integer days) {
+        String email = authentication.getName();
+        List<AnomalyResponse> anomalies = anomalyDetectionService.getAnomalies(email, days);
+        return ResponseEntity.ok(anomalies);
+    }
+    
+    @GetMapping("/forecast")
+    public ResponseEntity<ForecastResponse> getForecast(
+            Authentication authentication,
+            @RequestParam(required = false) Integer days) {
+        String email = authentication.getName();
+        ForecastResponse response = forecastService.getForecast(email, days);
+        return ResponseEntity.ok(response);
+    }
+    
     @PostMapping("/regenerate")
     public ResponseEntity<AIAnalysisResponse> regenerateAnalysis(Authentication authentication) {
         String email = authentication.getName();
@@ -4,6 +4,8 @@ import com.lifepattern.ai.dto.*;
 import com.lifepattern.ai.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -14,6 +16,7 @@ import java.util.Map;
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthController {
     
     private final AuthService authService;
@@ -37,6 +40,18 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        authService.logout(authorization.substring(7));
+        return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
+    }
+    
+    @PostMapping("/logout-all")
+    public ResponseEntity<Map<String, String>> logoutAll(Authentication authentication) {
+        authService.logoutAll(authentication.getName());
+        return ResponseEntity.ok(Map.of("message", "All sessions have been logged out"));
+    }
+    
     @PostMapping("/forgot-password")
     public ResponseEntity<Map<String, String>> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
         authService.forgotPassword(request);
@@ -44,6 +59,14 @@ public class AuthController {
             "message", "If the email exists, a password reset link has been sent"
         ));
     }
+    
+    @PostMapping("/reset-password")
+    public ResponseEntity<Map<String, String>> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
+        authService.resetPassword(request);
+        return ResponseEntity.ok(Map.of(
+            "message", "Password has been reset"
+        ));
+    }
 
     @PutMapping("/profile")
     public ResponseEntity<UserResponse> updateProfile(
@@ -0,0 +1,80 @@
+package com.lifepattern.ai.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifepattern.ai.dto.ChangeEventResponse;
+import com.lifepattern.ai.exception.BadRequestException;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Change feed for downstream consumers such as the warehouse loader. Not tied to a user: it
+ * carries every user's changes and is authorised by a shared token instead of a JWT.
+ */
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ChangeFeedController {
+    
+    static final String TOKEN_HEADER = "X-Change-Feed-Token";
+    static final String NEXT_OFFSET_HEADER = "X-Next-Offset";
+    private static final int MAX_LIMIT = 1000;
+    private static final MediaType NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+    
+    private final OutboxService outboxService;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${outbox.feed.token}")
+    private String feedToken;
+    
+    @GetMapping
+    public CompletableFuture<ResponseEntity<String>> getChanges(
+            @RequestHeader(value = TOKEN_HEADER, required = false) String token,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(defaultValue = "0") int wait) {
+        if (feedToken.isBlank() || token == null || !MessageDigest.isEqual(
+                feedToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            throw new ResourceNotFoundException("Change feed is not available");
+        }
+        if (after < 0 || limit < 1 || limit > MAX_LIMIT || wait < 0) {
+            throw new BadRequestException("'after' and 'wait' must not be negative and 'limit' must be between 1 and "
+                    + MAX_LIMIT);
+        }
+        return outboxService.poll(after, limit, Duration.ofSeconds(wait))
+                .thenApply(events -> ResponseEntity.ok()
+                        .contentType(NDJSON)
+                        .header(NEXT_OFFSET_HEADER, String.valueOf(
+                                events.isEmpty() ? after : events.get(events.size() - 1).getOffset()))
+                        .body(toNdjson(events)));
+    }
+    
+    private String toNdjson(List<ChangeEventResponse> events) {
+        StringBuilder body = new StringBuilder();
+        try {
+            for (ChangeEventResponse event : events) {
+                body.append(objectMapper.writeValueAsString(event)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise change event", e);
+        }
+        return body.toString();
+    }
+}
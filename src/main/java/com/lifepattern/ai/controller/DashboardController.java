@@ -0,0 +1,27 @@
+package com.lifepattern.ai.controller;
+
+import com.lifepattern.ai.dto.DashboardResponse;
+import com.lifepattern.ai.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DashboardController {
+    
+    private final DashboardService dashboardService;
+    
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard(Authentication authentication) {
+        String email = authentication.getName();
+        DashboardResponse response = dashboardService.getDashboard(email);
+        return ResponseEntity.ok(response);
+    }
+}
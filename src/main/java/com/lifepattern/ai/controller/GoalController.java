@@ -0,0 +1,53 @@
+package com.lifepattern.ai.controller;
+
+import com.lifepattern.ai.dto.GoalRequest;
+import com.lifepattern.ai.dto.GoalResponse;
+import com.lifepattern.ai.service.GoalService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/goals")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class GoalController {
+    
+    private final GoalService goalService;
+    
+    @GetMapping
+    public ResponseEntity<List<GoalResponse>> getGoals(Authentication authentication) {
+        return ResponseEntity.ok(goalService.getGoals(authentication.getName()));
+    }
+    
+    @PostMapping
+    public ResponseEntity<GoalResponse> createGoal(
+            Authentication authentication,
+            @Valid @RequestBody GoalRequest request) {
+        GoalResponse response = goalService.createGoal(authentication.getName(), request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<GoalResponse> updateGoal(
+            Authentication authentication,
+            @PathVariable Long id,
+            @Valid @RequestBody GoalRequest request) {
+        return ResponseEntity.ok(goalService.updateGoal(authentication.getName(), id, request));
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, String>> deleteGoal(
+            Authentication authentication,
+            @PathVariable Long id) {
+        goalService.deleteGoal(authentication.getName(), id);
+        return ResponseEntity.ok(Map.of("message", "Goal deleted successfully"));
+    }
+}
@@ -2,23 +2,30 @@ package com.lifepattern.ai.controller;
 
 import com.lifepattern.ai.dto.DailyLogRequest;
 import com.lifepattern.ai.dto.DailyLogResponse;
+import com.lifepattern.ai.dto.LogSearchResponse;
 import com.lifepattern.ai.service.DailyLogService;
+import com.lifepattern.ai.service.LogSearchService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/logs")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class LogsController {
     
     private final DailyLogService dailyLogService;
+    private final LogSearchService logSearchService;
     
     @GetMapping
     public ResponseEntity<List<DailyLogResponse>> getAllLogs(Authentication authentication) {
@@ -36,6 +43,18 @@ public class LogsController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
     
+    @GetMapping("/search")
+    public ResponseEntity<LogSearchResponse> searchLogs(
+            Authentication authentication,
+            @RequestParam String q,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit) {
+        String email = authentication.getName();
+        LogSearchResponse response = logSearchService.search(email, q, from, to, limit);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<DailyLogResponse> getLogById(
             Authentication authentication,
@@ -0,0 +1,32 @@
+package com.lifepattern.ai.controller;
+
+import com.lifepattern.ai.dto.ReminderSettingsRequest;
+import com.lifepattern.ai.dto.ReminderSettingsResponse;
+import com.lifepattern.ai.service.ReminderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/reminders")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ReminderController {
+    
+    private final ReminderService reminderService;
+    
+    @GetMapping("/settings")
+    public ResponseEntity<ReminderSettingsResponse> getSettings(Authentication authentication) {
+        return ResponseEntity.ok(reminderService.getSettings(authentication.getName()));
+    }
+    
+    @PutMapping("/settings")
+    public ResponseEntity<ReminderSettingsResponse> updateSettings(
+            Authentication authentication,
+            @Valid @RequestBody ReminderSettingsRequest request) {
+        return ResponseEntity.ok(reminderService.updateSettings(authentication.getName(), request));
+    }
+}
@@ -0,0 +1,84 @@
+package com.lifepattern.ai.controller;
+
+import com.lifepattern.ai.dto.AddTeamMemberRequest;
+import com.lifepattern.ai.dto.CreateTeamRequest;
+import com.lifepattern.ai.dto.TeamMemberResponse;
+import com.lifepattern.ai.dto.TeamResponse;
+import com.lifepattern.ai.dto.TeamTrendResponse;
+import com.lifepattern.ai.service.TeamService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/teams")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TeamController {
+    
+    private final TeamService teamService;
+    
+    @PostMapping
+    public ResponseEntity<TeamResponse> createTeam(
+            Authentication authentication,
+            @Valid @RequestBody CreateTeamRequest request) {
+        TeamResponse response = teamService.createTeam(authentication.getName(), request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<TeamResponse>> getTeams(Authentication authentication) {
+        return ResponseEntity.ok(teamService.getTeams(authentication.getName()));
+    }
+    
+    @GetMapping("/{id}/members")
+    public ResponseEntity<List<TeamMemberResponse>> getMembers(
+            Authentication authentication,
+            @PathVariable Long id) {
+        return ResponseEntity.ok(teamService.getMembers(authentication.getName(), id));
+    }
+    
+    @PostMapping("/{id}/members")
+    public ResponseEntity<TeamMemberResponse> addMember(
+            Authentication authentication,
+            @PathVariable Long id,
+            @Valid @RequestBody AddTeamMemberRequest request) {
+        TeamMemberResponse response = teamService.addMember(authentication.getName(), id, request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+    
+    @PostMapping("/{id}/accept")
+    public ResponseEntity<TeamResponse> acceptInvitation(
+            Authentication authentication,
+            @PathVariable Long id) {
+        return ResponseEntity.ok(teamService.acceptInvitation(authentication.getName(), id));
+    }
+    
+    @DeleteMapping("/{id}/members/{userId}")
+    public ResponseEntity<Map<String, String>> removeMember(
+            Authentication authentication,
+            @PathVariable Long id,
+            @PathVariable Long userId) {
+        teamService.removeMember(authentication.getName(), id, userId);
+        return ResponseEntity.ok(Map.of("message", "Member removed successfully"));
+    }
+    
+    @GetMapping("/{id}/trends")
+    public ResponseEntity<TeamTrendResponse> getTrends(
+            Authentication authentication,
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        return ResponseEntity.ok(teamService.getTrends(authentication.getName(), id, days, start, end));
+    }
+}
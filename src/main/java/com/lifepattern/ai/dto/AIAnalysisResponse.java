@@ -17,5 +17,6 @@ public class AIAnalysisResponse {
     private Integer burnoutScore;
     private String riskLevel;
     private String suggestionText;
+    private String modelVersion;
     private LocalDateTime analyzedAt;
 }
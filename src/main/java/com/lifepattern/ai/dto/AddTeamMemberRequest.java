@@ -0,0 +1,20 @@
+package com.lifepattern.ai.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+public class AddTeamMemberRequest {
+    
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    private String email;
+    
+    /**
+     * MEMBER when not given.
+     */
+    @Pattern(regexp = "MANAGER|MEMBER", message = "Role must be MANAGER or MEMBER")
+    private String role;
+}
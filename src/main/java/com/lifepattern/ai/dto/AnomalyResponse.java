@@ -0,0 +1,25 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnomalyResponse {
+    
+    private String logId;
+    private LocalDate date;
+    private String metric;
+    private String direction;
+    private Double value;
+    private Double expected;
+    private Double deviation;
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,25 @@
+package com.lifepattern.ai.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventResponse {
+    
+    private long offset;
+    private String type;
+    private String id;
+    private String userId;
+    private String change;
+    private LocalDateTime occurredAt;
+    @JsonRawValue
+    private String data;
+}
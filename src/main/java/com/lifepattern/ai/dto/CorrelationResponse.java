@@ -0,0 +1,21 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorrelationResponse {
+    
+    private String userId;
+    private Long sameDaySamples;
+    private Long nextDaySamples;
+    private Integer spearmanWindowDays;
+    private List<MetricCorrelationResponse> correlations;
+}
@@ -0,0 +1,22 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponse {
+    
+    private UserResponse user;
+    private List<DailyLogResponse> logs;
+    private AIAnalysisResponse latestAnalysis;
+    private List<TrendDataResponse> trends;
+    private Map<String, String> errors;
+}
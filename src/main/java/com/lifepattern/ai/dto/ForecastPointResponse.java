@@ -0,0 +1,19 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ForecastPointResponse {
+    
+    private LocalDate date;
+    private Integer burnoutScore;
+    private String riskLevel;
+}
@@ -0,0 +1,22 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ForecastResponse {
+    
+    private String userId;
+    private LocalDate lastLogDate;
+    private Integer basedOnLogs;
+    private Double typicalError;
+    private List<ForecastPointResponse> forecast;
+}
@@ -0,0 +1,41 @@
+package com.lifepattern.ai.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class GoalRequest {
+    
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must be at most 100 characters")
+    private String name;
+    
+    /**
+     * A daily log field, e.g. sleepHours or stressLevel.
+     */
+    @NotBlank(message = "Metric is required")
+    private String metric;
+    
+    @NotNull(message = "Comparison is required")
+    @Pattern(regexp = "AT_LEAST|AT_MOST", message = "Comparison must be AT_LEAST or AT_MOST")
+    private String comparison;
+    
+    @NotNull(message = "Threshold is required")
+    @DecimalMin(value = "0.0", message = "Threshold cannot be negative")
+    @DecimalMax(value = "24.0", message = "Threshold cannot exceed 24")
+    private Double threshold;
+    
+    /**
+     * Days per week the goal should be met; every day when not given.
+     */
+    @Min(value = 1, message = "Weekly target must be between 1 and 7")
+    @Max(value = 7, message = "Weekly target must be between 1 and 7")
+    private Integer weeklyTarget;
+}
@@ -0,0 +1,30 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalResponse {
+    
+    private String id;
+    private String name;
+    private String metric;
+    private String comparison;
+    private Double threshold;
+    private Integer weeklyTarget;
+    private int currentStreak;
+    private int longestStreak;
+    private LocalDate lastMetDate;
+    private LocalDate weekStart;
+    private int daysMetThisWeek;
+    private boolean weeklyTargetMet;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,20 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogSearchHitResponse {
+    
+    private String logId;
+    private LocalDate date;
+    private Float score;
+    private String notes;
+}
@@ -0,0 +1,19 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogSearchResponse {
+    
+    private String query;
+    private Long totalHits;
+    private List<LogSearchHitResponse> results;
+}
@@ -0,0 +1,21 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricCorrelationResponse {
+    
+    private String x;
+    private String y;
+    private String lag;
+    private Long samples;
+    private Double pearson;
+    private Double spearman;
+    private Double slope;
+}
@@ -0,0 +1,21 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricPercentileResponse {
+    
+    private Double value;
+    private Double percentile;
+    private Double p10;
+    private Double p25;
+    private Double p50;
+    private Double p75;
+    private Double p90;
+}
@@ -0,0 +1,20 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricSummaryResponse {
+    
+    private Long count;
+    private Double mean;
+    private Double variance;
+    private Double stdDev;
+    private Double min;
+    private Double max;
+}
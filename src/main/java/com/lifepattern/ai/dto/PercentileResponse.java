@@ -0,0 +1,21 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PercentileResponse {
+    
+    private String userId;
+    private LocalDate weekStart;
+    private Long populationSize;
+    private Map<String, MetricPercentileResponse> metrics;
+}
@@ -0,0 +1,20 @@
+package com.lifepattern.ai.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalTime;
+
+@Data
+public class ReminderSettingsRequest {
+    
+    @NotBlank(message = "Timezone is required")
+    @Size(max = 64, message = "Timezone must be at most 64 characters")
+    private String timezone;
+    
+    /**
+     * Null turns the reminder off.
+     */
+    private LocalTime reminderTime;
+}
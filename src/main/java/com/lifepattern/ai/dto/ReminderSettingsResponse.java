@@ -0,0 +1,19 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderSettingsResponse {
+    
+    private String timezone;
+    private LocalTime reminderTime;
+    private boolean enabled;
+}
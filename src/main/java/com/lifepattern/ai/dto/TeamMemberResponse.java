@@ -0,0 +1,23 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamMemberResponse {
+    
+    private String userId;
+    private String email;
+    private String name;
+    private String role;
+    private String status;
+    private LocalDateTime invitedAt;
+    private LocalDateTime joinedAt;
+}
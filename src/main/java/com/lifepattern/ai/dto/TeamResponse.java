@@ -0,0 +1,22 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamResponse {
+    
+    private String id;
+    private String name;
+    private String role;
+    private String status;
+    private int memberCount;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,31 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Team means for one date. Log metrics are null when fewer members than the privacy threshold
+ * logged that day, and the analysis fields are null when fewer were analysed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamTrendPointResponse {
+    
+    private LocalDate date;
+    private Long loggedMembers;
+    private Double sleepHours;
+    private Double workHours;
+    private Double studyHours;
+    private Double entertainmentHours;
+    private Double energyLevel;
+    private Double stressLevel;
+    private Long analyzedMembers;
+    private Double burnoutScore;
+    private Double highRiskShare;
+}
@@ -0,0 +1,21 @@
+package com.lifepattern.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamTrendResponse {
+    
+    private String teamId;
+    private String name;
+    private int memberCount;
+    private int minGroupSize;
+    private List<TeamTrendPointResponse> points;
+}
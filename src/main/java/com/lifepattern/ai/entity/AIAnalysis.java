@@ -35,6 +35,9 @@ public class AIAnalysis {
     @Column(name = "suggestion_text", columnDefinition = "TEXT", nullable = false)
     private String suggestionText;
     
+    @Column(name = "model_version", length = 64)
+    private String modelVersion;
+    
     @CreationTimestamp
     @Column(name = "analyzed_at", nullable = false, updatable = false)
     private LocalDateTime analyzedAt;
@@ -0,0 +1,33 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's fitted burnout forecast model. See HoltModel for the encoding.
+ */
+@Entity
+@Table(name = "burnout_forecast_models")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BurnoutForecastModel {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(nullable = false, length = 64)
+    private byte[] model;
+    
+    @UpdateTimestamp
+    @Column(name = "fitted_at", nullable = false)
+    private LocalDateTime fittedAt;
+}
@@ -0,0 +1,49 @@
+package com.lifepattern.ai.entity;
+
+public enum DailyLogMetric {
+    SLEEP_HOURS("sleepHours"),
+    WORK_HOURS("workHours"),
+    STUDY_HOURS("studyHours"),
+    ENTERTAINMENT_HOURS("entertainmentHours"),
+    ENERGY_LEVEL("energyLevel"),
+    STRESS_LEVEL("stressLevel");
+    
+    private static final DailyLogMetric[] VALUES = values();
+    
+    private final String fieldName;
+    
+    DailyLogMetric(String fieldName) {
+        this.fieldName = fieldName;
+    }
+    
+    public String getFieldName() {
+        return fieldName;
+    }
+    
+    public static int count() {
+        return VALUES.length;
+    }
+    
+    public static DailyLogMetric fromFieldName(String fieldName) {
+        for (DailyLogMetric metric : VALUES) {
+            if (metric.fieldName.equals(fieldName)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Unknown daily log metric: " + fieldName);
+    }
+    
+    /**
+     * Metric values of a log as a primitive array indexed by {@link #ordinal()}.
+     */
+    public static double[] valuesOf(DailyLog log) {
+        return new double[] {
+                log.getSleepHours(),
+                log.getWorkHours(),
+                log.getStudyHours(),
+                log.getEntertainmentHours(),
+                log.getEnergyLevel(),
+                log.getStressLevel()
+        };
+    }
+}
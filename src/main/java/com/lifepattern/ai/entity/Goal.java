@@ -0,0 +1,65 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user-defined daily rule over one log metric, e.g. sleep hours at least 7, and how many
+ * days a week the user wants to meet it.
+ */
+@Entity
+@Table(name = "goals", indexes = {
+    @Index(name = "idx_goals_user_id", columnList = "user_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Goal {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false, length = 100)
+    private String name;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private DailyLogMetric metric;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Comparison comparison;
+    
+    @Column(nullable = false)
+    private Double threshold;
+    
+    @Column(name = "weekly_target", nullable = false)
+    private Integer weeklyTarget;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * Whether a log with these metric values, indexed by {@link DailyLogMetric#ordinal()}, meets the goal.
+     */
+    public boolean isMetBy(double[] metrics) {
+        double value = metrics[metric.ordinal()];
+        return comparison == Comparison.AT_LEAST ? value >= threshold : value <= threshold;
+    }
+    
+    public enum Comparison {
+        AT_LEAST, AT_MOST
+    }
+}
@@ -0,0 +1,53 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "log_anomalies", indexes = {
+    @Index(name = "idx_log_anomalies_user_date", columnList = "user_id, date"),
+    @Index(name = "idx_log_anomalies_log_id", columnList = "log_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogAnomaly {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "log_id", nullable = false)
+    private Long logId;
+    
+    @Column(nullable = false)
+    private LocalDate date;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private DailyLogMetric metric;
+    
+    @Column(name = "metric_value", nullable = false)
+    private Double value;
+    
+    @Column(nullable = false)
+    private Double expected;
+    
+    @Column(name = "z_score", nullable = false)
+    private Double zScore;
+    
+    @CreationTimestamp
+    @Column(name = "detected_at", nullable = false, updatable = false)
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,63 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running count, mean and sum of squared deviations (Welford) plus extremes for one
+ * metric. Adding and removing a value are both O(1); removing the current minimum or
+ * maximum marks the extremes stale because they cannot be recovered incrementally.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+public class MetricMoments {
+    
+    @Column(nullable = false)
+    private long count;
+    
+    @Column(nullable = false)
+    private double mean;
+    
+    @Column(nullable = false)
+    private double m2;
+    
+    private Double min;
+    
+    private Double max;
+    
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = min == null ? value : Math.min(min, value);
+        max = max == null ? value : Math.max(max, value);
+    }
+    
+    /**
+     * Reverses a previous {@link #add}. Returns false when the removed value was an
+     * extreme, in which case min/max must be recomputed by the caller.
+     */
+    public boolean remove(double value) {
+        if (count <= 1) {
+            count = 0;
+            mean = 0;
+            m2 = 0;
+            min = null;
+            max = null;
+            return true;
+        }
+        double delta = value - mean;
+        count--;
+        mean -= delta / count;
+        m2 = Math.max(0, m2 - delta * (value - mean));
+        return value > min && value < max;
+    }
+    
+    public double variance() {
+        return count > 1 ? m2 / (count - 1) : 0.0;
+    }
+}
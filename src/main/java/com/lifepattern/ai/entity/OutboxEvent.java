@@ -0,0 +1,60 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to a daily log or analysis, written in the same transaction as the change itself.
+ * {@code feedOffset} stays null until the relay sequences the event; offsets are assigned in
+ * commit order, so a consumer reading by offset never skips an event that committed late.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_feed_offset", columnList = "feed_offset", unique = true)
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "feed_offset")
+    private Long feedOffset;
+    
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    private String aggregateType;
+    
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+    
+    /**
+     * JSON state after the change; null for a delete.
+     */
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,31 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row the outbox relay locks while it assigns offsets or publishes, so that only one
+ * instance does either at a time and offsets stay gapless.
+ */
+@Entity
+@Table(name = "outbox_relay_state")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxRelayState {
+    
+    public static final long SINGLETON_ID = 1L;
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "last_offset", nullable = false)
+    private long lastOffset;
+    
+    @Column(name = "last_published_offset", nullable = false)
+    private long lastPublishedOffset;
+}
@@ -0,0 +1,50 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One serialized MetricHistogram of per-user weekly means. A week's population
+ * distribution is the sum of its rows: the rebuilt base plus a delta partial per
+ * application instance.
+ */
+@Entity
+@Table(name = "population_sketches", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"week_start", "metric", "source"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PopulationSketch {
+    
+    public static final String BASE_SOURCE = "base";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private DailyLogMetric metric;
+    
+    @Column(nullable = false, length = 64)
+    private String source;
+    
+    @Column(nullable = false, length = 4096)
+    private byte[] histogram;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,42 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Rebuild generation of one period of an incrementally maintained rollup, e.g. one week of
+ * population histograms. Buffered deltas are tagged with the generation their write saw,
+ * and a rebuild of the period bumps it.
+ */
+@Entity
+@Table(name = "rollup_generations", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"rollup", "period_start"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupGeneration {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 30)
+    private String rollup;
+    
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+    
+    @Column(nullable = false)
+    private long generation;
+    
+    @Column(name = "rebuilt_at")
+    private LocalDateTime rebuiltAt;
+}
@@ -0,0 +1,37 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "teams")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Team {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 100)
+    private String name;
+    
+    /**
+     * Kept in step with team_memberships so the privacy threshold needs no count query.
+     */
+    @Column(name = "member_count", nullable = false)
+    @Builder.Default
+    private Integer memberCount = 0;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,100 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Sums of a team's daily logs and analyses on one date. A team's day is the sum of its
+ * rows: the rebuilt base plus a delta partial per application instance. Analyses count
+ * each member's latest analysis of the day.
+ */
+@Entity
+@Table(name = "team_daily_rollups", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"team_id", "date", "source"})
+}, indexes = {
+    @Index(name = "idx_team_daily_rollups_date", columnList = "date")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamDailyRollup {
+    
+    public static final String BASE_SOURCE = "base";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+    
+    @Column(nullable = false)
+    private LocalDate date;
+    
+    @Column(nullable = false, length = 64)
+    private String source;
+    
+    @Column(name = "log_count", nullable = false)
+    private long logCount;
+    
+    @Column(name = "sleep_sum", nullable = false)
+    private double sleepSum;
+    
+    @Column(name = "work_sum", nullable = false)
+    private double workSum;
+    
+    @Column(name = "study_sum", nullable = false)
+    private double studySum;
+    
+    @Column(name = "entertainment_sum", nullable = false)
+    private double entertainmentSum;
+    
+    @Column(name = "energy_sum", nullable = false)
+    private double energySum;
+    
+    @Column(name = "stress_sum", nullable = false)
+    private double stressSum;
+    
+    @Column(name = "analysis_count", nullable = false)
+    private long analysisCount;
+    
+    @Column(name = "burnout_sum", nullable = false)
+    private double burnoutSum;
+    
+    @Column(name = "high_risk_count", nullable = false)
+    private long highRiskCount;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public double getMetricSum(DailyLogMetric metric) {
+        return switch (metric) {
+            case SLEEP_HOURS -> sleepSum;
+            case WORK_HOURS -> workSum;
+            case STUDY_HOURS -> studySum;
+            case ENTERTAINMENT_HOURS -> entertainmentSum;
+            case ENERGY_LEVEL -> energySum;
+            case STRESS_LEVEL -> stressSum;
+        };
+    }
+    
+    public void setMetricSum(DailyLogMetric metric, double value) {
+        switch (metric) {
+            case SLEEP_HOURS -> sleepSum = value;
+            case WORK_HOURS -> workSum = value;
+            case STUDY_HOURS -> studySum = value;
+            case ENTERTAINMENT_HOURS -> entertainmentSum = value;
+            case ENERGY_LEVEL -> energySum = value;
+            case STRESS_LEVEL -> stressSum = value;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A user's membership of a team. Managers see the team's aggregate trends; members only
+ * contribute to them. Membership starts as an invitation the user has to accept, and a
+ * member contributes only the data dated from the day they joined through the day they
+ * left. The row is kept after they leave so rebuilds still see that span.
+ */
+@Entity
+@Table(name = "team_memberships", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"team_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_team_memberships_user_id", columnList = "user_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamMembership {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Role role;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+    
+    @Column(name = "invited_at", nullable = false)
+    private LocalDateTime invitedAt;
+    
+    /**
+     * When the user last accepted an invitation; null until they first do.
+     */
+    @Column(name = "joined_at")
+    private LocalDateTime joinedAt;
+    
+    @Column(name = "left_at")
+    private LocalDateTime leftAt;
+    
+    /**
+     * Whether the user's data dated {@code date} counts towards the team's rollups.
+     */
+    public boolean covers(LocalDate date) {
+        return joinedAt != null && !date.isBefore(joinedAt.toLocalDate())
+                && (leftAt == null || !date.isAfter(leftAt.toLocalDate()));
+    }
+    
+    public enum Role {
+        MANAGER, MEMBER
+    }
+    
+    public enum Status {
+        INVITED, ACTIVE, LEFT
+    }
+}
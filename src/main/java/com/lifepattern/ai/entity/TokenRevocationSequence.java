@@ -0,0 +1,29 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row a revocation locks to take its sequence number. The lock is held until the
+ * revocation commits, so sequence numbers become visible in order and without gaps, and
+ * instances can poll for new revocations with a plain high-water mark.
+ */
+@Entity
+@Table(name = "token_revocation_sequence")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationSequence {
+    
+    public static final long SINGLETON_ID = 1L;
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
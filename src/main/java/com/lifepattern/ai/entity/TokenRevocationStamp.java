@@ -0,0 +1,38 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * "Every token issued to this user up to {@code validAfter} is invalid". One row per
+ * user at most; rows older than the token lifetime carry no information and are purged.
+ */
+@Entity
+@Table(name = "token_revocation_stamps")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationStamp {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "valid_after", nullable = false)
+    private LocalDateTime validAfter;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Position in commit order, shared with {@link RevokedToken}.
+     */
+    @Column(name = "revocation_seq", nullable = false)
+    private long sequence;
+}
@@ -5,18 +5,28 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_reminder_updated_at", columnList = "reminder_updated_at")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
     
+    public static final ZoneId DEFAULT_ZONE = ZoneId.of("UTC");
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -30,7 +40,33 @@ public class User {
     @Column(nullable = false, length = 100)
     private String name;
     
+    /**
+     * IANA zone id; UTC when null.
+     */
+    @Column(length = 64)
+    private String timezone;
+    
+    /**
+     * Local time of the daily "you haven't logged today" reminder; no reminder when null.
+     */
+    @Column(name = "reminder_time")
+    private LocalTime reminderTime;
+    
+    /**
+     * When the timezone or reminder time last changed, so the scheduler can pick up changes it
+     * was not told about.
+     */
+    @Column(name = "reminder_updated_at")
+    private LocalDateTime reminderUpdatedAt;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+    
+    /**
+     * The zone of a stored timezone id, {@link #DEFAULT_ZONE} when none is set.
+     */
+    public static ZoneId zoneOf(String timezone) {
+        return timezone == null ? DEFAULT_ZONE : ZoneId.of(timezone);
+    }
 }
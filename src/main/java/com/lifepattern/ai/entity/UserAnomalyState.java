@@ -0,0 +1,34 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's anomaly detector state. See EwmaState for the encoding; empty until the first
+ * log is folded in.
+ */
+@Entity
+@Table(name = "user_anomaly_state")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAnomalyState {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(nullable = false, length = 256)
+    private byte[] state;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
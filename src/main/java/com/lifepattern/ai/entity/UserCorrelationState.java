@@ -0,0 +1,37 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serialized co-moment accumulators for one user: same-day metric pairs and
+ * (day, next day) pairs. See CoMomentAccumulator for the encoding.
+ */
+@Entity
+@Table(name = "user_correlation_state")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCorrelationState {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "same_day", nullable = false, length = 1024)
+    private byte[] sameDay;
+    
+    @Column(name = "next_day", nullable = false, length = 1024)
+    private byte[] nextDay;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * The dates a user logged and, for each of their goals, the dates that met it, as serialized
+ * DayRuns. Streaks and weekly progress are read from here instead of from daily_logs.
+ */
+@Entity
+@Table(name = "user_goal_state")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserGoalState {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(nullable = false, length = 1048576)
+    private byte[] runs;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,104 @@
+package com.lifepattern.ai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStats {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "sleep_count", nullable = false)),
+        @AttributeOverride(name = "mean", column = @Column(name = "sleep_mean", nullable = false)),
+        @AttributeOverride(name = "m2", column = @Column(name = "sleep_m2", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "sleep_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "sleep_max"))
+    })
+    @Builder.Default
+    private MetricMoments sleepHours = new MetricMoments();
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "work_count", nullable = false)),
+        @AttributeOverride(name = "mean", column = @Column(name = "work_mean", nullable = false)),
+        @AttributeOverride(name = "m2", column = @Column(name = "work_m2", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "work_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "work_max"))
+    })
+    @Builder.Default
+    private MetricMoments workHours = new MetricMoments();
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "study_count", nullable = false)),
+        @AttributeOverride(name = "mean", column = @Column(name = "study_mean", nullable = false)),
+        @AttributeOverride(name = "m2", column = @Column(name = "study_m2", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "study_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "study_max"))
+    })
+    @Builder.Default
+    private MetricMoments studyHours = new MetricMoments();
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "entertainment_count", nullable = false)),
+        @AttributeOverride(name = "mean", column = @Column(name = "entertainment_mean", nullable = false)),
+        @AttributeOverride(name = "m2", column = @Column(name = "entertainment_m2", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "entertainment_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "entertainment_max"))
+    })
+    @Builder.Default
+    private MetricMoments entertainmentHours = new MetricMoments();
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "energy_count", nullable = false)),
+        @AttributeOverride(name = "mean", column = @Column(name = "energy_mean", nullable = false)),
+        @AttributeOverride(name = "m2", column = @Column(name = "energy_m2", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "energy_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "energy_max"))
+    })
+    @Builder.Default
+    private MetricMoments energyLevel = new MetricMoments();
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "stress_count", nullable = false)),
+        @AttributeOverride(name = "mean", column = @Column(name = "stress_mean", nullable = false)),
+        @AttributeOverride(name = "m2", column = @Column(name = "stress_m2", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "stress_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "stress_max"))
+    })
+    @Builder.Default
+    private MetricMoments stressLevel = new MetricMoments();
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public MetricMoments moments(DailyLogMetric metric) {
+        return switch (metric) {
+            case SLEEP_HOURS -> sleepHours;
+            case WORK_HOURS -> workHours;
+            case STUDY_HOURS -> studyHours;
+            case ENTERTAINMENT_HOURS -> entertainmentHours;
+            case ENERGY_LEVEL -> energyLevel;
+            case STRESS_LEVEL -> stressLevel;
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.lifepattern.ai.event;
+
+import com.lifepattern.ai.entity.AIAnalysis;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Published by AnalysisService inside the transaction that saves a new analysis.
+ * {@code previousScore} and {@code previousRiskLevel} belong to the analysis it replaces as
+ * the user's latest of the same date, and are null when it is the first of the day.
+ */
+@Getter
+@AllArgsConstructor
+public class AnalysisCreatedEvent {
+    
+    private final Long userId;
+    private final LocalDate date;
+    private final Integer previousScore;
+    private final AIAnalysis.RiskLevel previousRiskLevel;
+    private final int score;
+    private final AIAnalysis.RiskLevel riskLevel;
+}
@@ -0,0 +1,25 @@
+package com.lifepattern.ai.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by DailyLogService inside the write transaction. {@code previous} is null
+ * for a create and {@code current} is null for a delete.
+ */
+@Getter
+@AllArgsConstructor
+public class DailyLogChangedEvent {
+    
+    private final Long userId;
+    private final DailyLogSnapshot previous;
+    private final DailyLogSnapshot current;
+    
+    public boolean isCreate() {
+        return previous == null;
+    }
+    
+    public boolean isDelete() {
+        return current == null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.lifepattern.ai.event;
+
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of a daily log taken at the moment of a change, so listeners see
+ * the before/after values even though the entity itself is mutated in place.
+ */
+@Getter
+@AllArgsConstructor
+public class DailyLogSnapshot {
+    
+    private final Long logId;
+    private final LocalDate date;
+    private final double[] metrics;
+    private final String notes;
+    
+    public static DailyLogSnapshot of(DailyLog log) {
+        return new DailyLogSnapshot(log.getId(), log.getDate(), DailyLogMetric.valuesOf(log), log.getNotes());
+    }
+    
+    public double get(DailyLogMetric metric) {
+        return metrics[metric.ordinal()];
+    }
+}
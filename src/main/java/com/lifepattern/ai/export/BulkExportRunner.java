@@ -0,0 +1,38 @@
+package com.lifepattern.ai.export;
+
+import com.lifepattern.ai.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * One-off export of every user's history to local disk, started with
+ * {@code --spring.profiles.active=bulk-export}. The application shuts down when it is done.
+ */
+@Component
+@Profile("bulk-export")
+@RequiredArgsConstructor
+public class BulkExportRunner implements ApplicationRunner {
+    
+    private final ExportService exportService;
+    private final ConfigurableApplicationContext context;
+    
+    @Value("${export.bulk.output-dir}")
+    private String outputDir;
+    
+    @Value("${export.bulk.format}")
+    private String format;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        exportService.exportAll(Path.of(outputDir), ExportFormat.parse(format));
+        SpringApplication.exit(context);
+    }
+}
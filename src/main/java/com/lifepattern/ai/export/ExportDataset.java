@@ -0,0 +1,46 @@
+package com.lifepattern.ai.export;
+
+import com.lifepattern.ai.exception.BadRequestException;
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * What can be exported, as plain SQL so rows go straight from the driver to the writer
+ * without being materialised as entities.
+ */
+@Getter
+public enum ExportDataset {
+    
+    LOGS("logs",
+            "SELECT id, date, sleep_hours, work_hours, study_hours, entertainment_hours, "
+                    + "energy_level, stress_level, notes FROM daily_logs WHERE user_id = ? ORDER BY date",
+            "id", "date", "sleep_hours", "work_hours", "study_hours", "entertainment_hours",
+            "energy_level", "stress_level", "notes"),
+    ANALYSES("analyses",
+            "SELECT id, analyzed_at, burnout_score, risk_level, model_version, suggestion_text "
+                    + "FROM ai_analysis WHERE user_id = ? ORDER BY analyzed_at, id",
+            "id", "analyzed_at", "burnout_score", "risk_level", "model_version", "suggestion_text");
+    
+    private final String key;
+    private final String sql;
+    private final String[] columns;
+    
+    ExportDataset(String key, String sql, String... columns) {
+        this.key = key;
+        this.sql = sql;
+        this.columns = columns;
+    }
+    
+    public static ExportDataset parse(String value) {
+        if (value == null || value.isBlank()) {
+            return LOGS;
+        }
+        for (ExportDataset dataset : values()) {
+            if (dataset.key.equals(value.trim().toLowerCase(Locale.ROOT))) {
+                return dataset;
+            }
+        }
+        throw new BadRequestException("'type' must be one of logs or analyses");
+    }
+}
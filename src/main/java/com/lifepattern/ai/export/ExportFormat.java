@@ -0,0 +1,38 @@
+package com.lifepattern.ai.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifepattern.ai.exception.BadRequestException;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+@Getter
+public enum ExportFormat {
+    
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+    
+    private final String extension;
+    private final String contentType;
+    
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+    
+    public RowWriter open(OutputStream out, String[] columns, ObjectMapper objectMapper) throws IOException {
+        return this == CSV ? new CsvRowWriter(out, columns) : new NdjsonRowWriter(out, columns, objectMapper);
+    }
+    
+    public static ExportFormat parse(String value) {
+        String format = value == null || value.isBlank() ? "csv" : value.trim().toLowerCase(Locale.ROOT);
+        return switch (format) {
+            case "csv" -> CSV;
+            case "ndjson" -> NDJSON;
+            case "parquet" -> throw new BadRequestException("Parquet export is not available, use csv or ndjson");
+            default -> throw new BadRequestException("'format' must be one of csv or ndjson");
+        };
+    }
+}
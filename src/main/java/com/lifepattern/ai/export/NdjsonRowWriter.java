@@ -0,0 +1,51 @@
+package com.lifepattern.ai.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON object per line, keyed by column name.
+ */
+class NdjsonRowWriter implements RowWriter {
+    
+    private final JsonGenerator generator;
+    private final String[] columns;
+    private boolean empty = true;
+    
+    NdjsonRowWriter(OutputStream out, String[] columns, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+        this.columns = columns;
+    }
+    
+    @Override
+    public void write(Object[] row) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            generator.writeFieldName(columns[i]);
+            Object value = row[i];
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Number number) {
+                generator.writeNumber(number.toString());
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        empty = false;
+    }
+    
+    @Override
+    public void finish() throws IOException {
+        if (!empty) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+}
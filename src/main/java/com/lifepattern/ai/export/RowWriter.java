@@ -0,0 +1,16 @@
+package com.lifepattern.ai.export;
+
+import java.io.IOException;
+
+/**
+ * Writes one export row at a time; nothing is buffered beyond the underlying stream.
+ */
+public interface RowWriter {
+    
+    void write(Object[] row) throws IOException;
+    
+    /**
+     * Flushes buffered output without closing the stream, which belongs to the caller.
+     */
+    void finish() throws IOException;
+}
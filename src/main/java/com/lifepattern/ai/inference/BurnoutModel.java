@@ -0,0 +1,29 @@
+package com.lifepattern.ai.inference;
+
+/**
+ * Scores one day's metrics, indexed by DailyLogMetric ordinal, as a raw burnout score.
+ * Callers clamp the result with {@link #toScore}.
+ */
+public interface BurnoutModel {
+    
+    String getVersion();
+    
+    double score(double[] features);
+    
+    /**
+     * Scores {@code count} rows packed row-major in {@code features}, {@code featureCount}
+     * values per row, into {@code scores}. Implementations override this when evaluating
+     * rows together is cheaper than one at a time.
+     */
+    default void scoreBatch(double[] features, int featureCount, int count, double[] scores) {
+        double[] row = new double[featureCount];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(features, i * featureCount, row, 0, featureCount);
+            scores[i] = score(row);
+        }
+    }
+    
+    static int toScore(double rawScore) {
+        return (int) Math.max(0, Math.min(100, rawScore));
+    }
+}
@@ -0,0 +1,12 @@
+package com.lifepattern.ai.inference;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BurnoutScore {
+    
+    private final int score;
+    private final String modelVersion;
+}
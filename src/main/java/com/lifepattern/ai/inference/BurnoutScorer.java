@@ -0,0 +1,148 @@
+package com.lifepattern.ai.inference;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Micro-batches concurrent scoring requests for a loaded model. A dispatcher thread
+ * takes the first waiting request, keeps collecting for at most {@code maxBatchDelay}
+ * or until {@code maxBatchSize} rows, and scores them in one {@link BurnoutModel#scoreBatch}
+ * call. A caller that is not answered within {@code timeout}, or whose batch fails, is
+ * scored with the formula instead. With the formula as the model, there is nothing
+ * worth batching and scoring happens inline.
+ */
+@Slf4j
+public class BurnoutScorer implements AutoCloseable {
+    
+    private final BurnoutModel model;
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+    private final long timeoutNanos;
+    private final BlockingQueue<Request> queue;
+    private final Thread dispatcher;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedRows = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private volatile boolean running = true;
+    
+    public BurnoutScorer(BurnoutModel model, int maxBatchSize, Duration maxBatchDelay, Duration timeout,
+                         int queueCapacity) {
+        this.model = model;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelayNanos = maxBatchDelay.toNanos();
+        this.timeoutNanos = timeout.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        if (model instanceof FormulaBurnoutModel) {
+            this.dispatcher = null;
+        } else {
+            this.dispatcher = new Thread(this::dispatch, "burnout-scorer");
+            this.dispatcher.setDaemon(true);
+            this.dispatcher.start();
+        }
+    }
+    
+    public String getModelVersion() {
+        return model.getVersion();
+    }
+    
+    public BurnoutScore score(double[] features) {
+        if (dispatcher == null) {
+            return new BurnoutScore(BurnoutModel.toScore(model.score(features)), model.getVersion());
+        }
+        Request request = new Request(features);
+        if (queue.offer(request)) {
+            try {
+                double rawScore = request.result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+                return new BurnoutScore(BurnoutModel.toScore(rawScore), model.getVersion());
+            } catch (TimeoutException | ExecutionException e) {
+                log.debug("Scoring with {} failed, falling back to the formula", model.getVersion(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        fallbacks.increment();
+        return new BurnoutScore(BurnoutModel.toScore(FormulaBurnoutModel.INSTANCE.score(features)),
+                FormulaBurnoutModel.INSTANCE.getVersion());
+    }
+    
+    private void dispatch() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        double[] features = new double[0];
+        double[] scores = new double[maxBatchSize];
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxBatchDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    Request next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            
+            int featureCount = batch.get(0).features.length;
+            if (features.length < batch.size() * featureCount) {
+                features = new double[maxBatchSize * featureCount];
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                System.arraycopy(batch.get(i).features, 0, features, i * featureCount, featureCount);
+            }
+            try {
+                model.scoreBatch(features, featureCount, batch.size(), scores);
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).result.complete(scores[i]);
+                }
+            } catch (RuntimeException e) {
+                batch.forEach(request -> request.result.completeExceptionally(e));
+            }
+            batches.increment();
+            batchedRows.add(batch.size());
+            batch.clear();
+        }
+    }
+    
+    @Override
+    public void close() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+    
+    public long getBatchCount() {
+        return batches.sum();
+    }
+    
+    public long getBatchedRowCount() {
+        return batchedRows.sum();
+    }
+    
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+    
+    private static class Request {
+        
+        private final double[] features;
+        private final CompletableFuture<Double> result = new CompletableFuture<>();
+        
+        Request(double[] features) {
+            this.features = features;
+        }
+    }
+}
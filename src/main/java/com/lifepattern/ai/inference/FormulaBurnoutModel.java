@@ -0,0 +1,29 @@
+package com.lifepattern.ai.inference;
+
+import com.lifepattern.ai.entity.DailyLogMetric;
+
+/**
+ * The original hand-written score, and the fallback whenever a loaded model is
+ * unavailable or too slow: (workHours * 5) + (stressLevel * 5) - (sleepHours * 3).
+ */
+public final class FormulaBurnoutModel implements BurnoutModel {
+    
+    public static final FormulaBurnoutModel INSTANCE = new FormulaBurnoutModel();
+    
+    private static final int SLEEP = DailyLogMetric.SLEEP_HOURS.ordinal();
+    private static final int WORK = DailyLogMetric.WORK_HOURS.ordinal();
+    private static final int STRESS = DailyLogMetric.STRESS_LEVEL.ordinal();
+    
+    private FormulaBurnoutModel() {
+    }
+    
+    @Override
+    public String getVersion() {
+        return "formula-v1";
+    }
+    
+    @Override
+    public double score(double[] features) {
+        return (features[WORK] * 5) + (features[STRESS] * 5) - (features[SLEEP] * 3);
+    }
+}
@@ -0,0 +1,153 @@
+package com.lifepattern.ai.inference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifepattern.ai.entity.DailyLogMetric;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Additive ensemble of binary regression trees (gradient boosted trees or a random
+ * forest with averaged leaves folded in), loaded from JSON:
+ * <pre>
+ * {
+ *   "version": "gbt-2024-03",
+ *   "baseScore": 35.0,
+ *   "features": ["sleepHours", "workHours", "studyHours", "entertainmentHours", "energyLevel", "stressLevel"],
+ *   "trees": [
+ *     { "feature": [1, -1, -1], "threshold": [8.5, 0, 0],
+ *       "left": [1, -1, -1], "right": [2, -1, -1], "value": [0, -4.2, 6.1] }
+ *   ]
+ * }
+ * </pre>
+ * Each tree lists its nodes in parallel arrays with the root at index 0; a node with
+ * feature -1 is a leaf, and children must come after their parent so every walk
+ * ends. A row goes left when its feature value is less than the threshold. The score
+ * is baseScore plus one leaf value per tree.
+ * <p>
+ * All trees are packed into shared flat arrays. Batch scoring walks tree by tree over
+ * every row, so one tree's nodes stay in cache while the whole batch passes through.
+ */
+public final class TreeEnsembleModel implements BurnoutModel {
+    
+    private final String version;
+    private final double baseScore;
+    private final int[] roots;
+    private final int[] feature;
+    private final double[] threshold;
+    private final int[] left;
+    private final int[] right;
+    private final double[] value;
+    
+    TreeEnsembleModel(String version, double baseScore, int[] roots, int[] feature, double[] threshold,
+                      int[] left, int[] right, double[] value) {
+        this.version = version;
+        this.baseScore = baseScore;
+        this.roots = roots;
+        this.feature = feature;
+        this.threshold = threshold;
+        this.left = left;
+        this.right = right;
+        this.value = value;
+    }
+    
+    public static TreeEnsembleModel load(Path path, ObjectMapper objectMapper) throws IOException {
+        JsonNode root = objectMapper.readTree(path.toFile());
+        String version = root.path("version").asText(null);
+        if (version == null || version.isBlank()) {
+            throw new IllegalArgumentException("Model has no version");
+        }
+        
+        // Model feature position -> DailyLogMetric ordinal
+        List<Integer> featureMap = new ArrayList<>();
+        for (JsonNode name : root.path("features")) {
+            featureMap.add(DailyLogMetric.fromFieldName(name.asText()).ordinal());
+        }
+        
+        JsonNode trees = root.path("trees");
+        if (!trees.isArray() || trees.isEmpty()) {
+            throw new IllegalArgumentException("Model has no trees");
+        }
+        int nodes = 0;
+        for (JsonNode tree : trees) {
+            nodes += tree.path("feature").size();
+        }
+        
+        int[] roots = new int[trees.size()];
+        int[] feature = new int[nodes];
+        double[] threshold = new double[nodes];
+        int[] left = new int[nodes];
+        int[] right = new int[nodes];
+        double[] value = new double[nodes];
+        int offset = 0;
+        for (int t = 0; t < trees.size(); t++) {
+            JsonNode tree = trees.get(t);
+            int size = tree.path("feature").size();
+            if (size == 0) {
+                throw new IllegalArgumentException("Tree " + t + " is empty");
+            }
+            roots[t] = offset;
+            for (int n = 0; n < size; n++) {
+                int modelFeature = tree.path("feature").path(n).asInt(-1);
+                if (modelFeature < 0) {
+                    feature[offset + n] = -1;
+                    value[offset + n] = tree.path("value").path(n).asDouble();
+                    continue;
+                }
+                if (modelFeature >= featureMap.size()) {
+                    throw new IllegalArgumentException("Tree " + t + " node " + n
+                            + " uses unknown feature " + modelFeature);
+                }
+                int leftChild = tree.path("left").path(n).asInt(-1);
+                int rightChild = tree.path("right").path(n).asInt(-1);
+                if (leftChild <= n || leftChild >= size || rightChild <= n || rightChild >= size) {
+                    throw new IllegalArgumentException("Tree " + t + " node " + n + " has invalid children");
+                }
+                feature[offset + n] = featureMap.get(modelFeature);
+                threshold[offset + n] = tree.path("threshold").path(n).asDouble();
+                left[offset + n] = offset + leftChild;
+                right[offset + n] = offset + rightChild;
+            }
+            offset += size;
+        }
+        
+        return new TreeEnsembleModel(version, root.path("baseScore").asDouble(0),
+                roots, feature, threshold, left, right, value);
+    }
+    
+    @Override
+    public String getVersion() {
+        return version;
+    }
+    
+    @Override
+    public double score(double[] features) {
+        double score = baseScore;
+        for (int root : roots) {
+            score += leaf(root, features, 0);
+        }
+        return score;
+    }
+    
+    @Override
+    public void scoreBatch(double[] features, int featureCount, int count, double[] scores) {
+        for (int i = 0; i < count; i++) {
+            scores[i] = baseScore;
+        }
+        for (int root : roots) {
+            for (int i = 0; i < count; i++) {
+                scores[i] += leaf(root, features, i * featureCount);
+            }
+        }
+    }
+    
+    private double leaf(int node, double[] features, int rowOffset) {
+        while (feature[node] >= 0) {
+            node = features[rowOffset + feature[node]] < threshold[node] ? left[node] : right[node];
+        }
+        return value[node];
+    }
+}
@@ -0,0 +1,54 @@
+package com.lifepattern.ai.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifepattern.ai.dto.ChangeEventResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events as NDJSON to a local file, forcing each batch to disk before the relay
+ * records it as published. Stands in for a message broker; a shipper can tail the file.
+ */
+public class FileOutboxSink implements OutboxSink {
+    
+    private final FileChannel channel;
+    private final ObjectMapper objectMapper;
+    
+    public FileOutboxSink(Path file, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public synchronized void publish(List<ChangeEventResponse> events) throws IOException {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        for (ChangeEventResponse event : events) {
+            objectMapper.writeValue(batch, event);
+            batch.write('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+    
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
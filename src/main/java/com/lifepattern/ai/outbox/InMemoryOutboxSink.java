@@ -0,0 +1,40 @@
+package com.lifepattern.ai.outbox;
+
+import com.lifepattern.ai.dto.ChangeEventResponse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Stand-in sink that keeps the most recent events in memory, for tests and for deployments
+ * whose consumers only read the HTTP change feed.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+    
+    private final int capacity;
+    private final Deque<ChangeEventResponse> events = new ArrayDeque<>();
+    
+    public InMemoryOutboxSink(int capacity) {
+        this.capacity = capacity;
+    }
+    
+    @Override
+    public synchronized void publish(List<ChangeEventResponse> batch) {
+        for (ChangeEventResponse event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+    
+    public synchronized List<ChangeEventResponse> getEvents() {
+        return new ArrayList<>(events);
+    }
+    
+    @Override
+    public void close() {
+    }
+}
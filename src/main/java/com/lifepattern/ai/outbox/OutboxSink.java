@@ -0,0 +1,19 @@
+package com.lifepattern.ai.outbox;
+
+import com.lifepattern.ai.dto.ChangeEventResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where the relay publishes sequenced outbox events, in offset order. Delivery is at least
+ * once: a batch is published again if the relay fails before recording it as done, so
+ * consumers should skip offsets they have already seen.
+ */
+public interface OutboxSink extends AutoCloseable {
+    
+    void publish(List<ChangeEventResponse> events) throws IOException;
+    
+    @Override
+    void close();
+}
@@ -0,0 +1,62 @@
+package com.lifepattern.ai.reminder;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * Which users are flagged on which local date, one bit per user id per date. Users in different
+ * timezones are on different dates at the same instant, so a few consecutive dates are kept in a
+ * ring; a slot is cleared and reused when a newer date comes along that maps to it. Not
+ * thread-safe; callers synchronise.
+ */
+public class DailyUserSet {
+    
+    private final BitSet[] days;
+    private final long[] epochDays;
+    
+    /**
+     * @param retainedDays how many consecutive dates are tracked at once
+     */
+    public DailyUserSet(int retainedDays) {
+        this.days = new BitSet[retainedDays];
+        this.epochDays = new long[retainedDays];
+        for (int i = 0; i < retainedDays; i++) {
+            days[i] = new BitSet();
+            epochDays[i] = Long.MIN_VALUE;
+        }
+    }
+    
+    /**
+     * Flags the user on the date. Ignored when the date has already been recycled.
+     */
+    public void add(long userId, LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int slot = slot(epochDay);
+        if (epochDays[slot] != epochDay) {
+            if (epochDays[slot] > epochDay) {
+                return;
+            }
+            days[slot].clear();
+            epochDays[slot] = epochDay;
+        }
+        days[slot].set(Math.toIntExact(userId));
+    }
+    
+    public void remove(long userId, LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int slot = slot(epochDay);
+        if (epochDays[slot] == epochDay) {
+            days[slot].clear(Math.toIntExact(userId));
+        }
+    }
+    
+    public boolean contains(long userId, LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int slot = slot(epochDay);
+        return epochDays[slot] == epochDay && days[slot].get(Math.toIntExact(userId));
+    }
+    
+    private int slot(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) days.length);
+    }
+}
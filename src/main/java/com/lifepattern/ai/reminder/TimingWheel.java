@@ -0,0 +1,131 @@
+package com.lifepattern.ai.reminder;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel of {@code (id, deadline, tag)} entries, all primitives, so millions of
+ * pending timers cost a few dozen bytes each and scheduling is O(1). Level 0 has one slot per tick;
+ * each level above covers a whole turn of the level below in each slot, and its entries cascade
+ * down a level when the wheel reaches their slot. Not thread-safe; callers synchronise.
+ */
+public class TimingWheel {
+    
+    private static final int ENTRY_WIDTH = 3;
+    private static final int INITIAL_BUCKET_CAPACITY = 4 * ENTRY_WIDTH;
+    
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelSpans;
+    private final long[][][] buckets;
+    private final int[][] bucketLengths;
+    private long currentTick;
+    private long size;
+    
+    public TimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel shape");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelSpans = new long[levels + 1];
+        levelSpans[0] = 1;
+        for (int level = 1; level <= levels; level++) {
+            levelSpans[level] = Math.multiplyExact(levelSpans[level - 1], wheelSize);
+        }
+        this.buckets = new long[levels][wheelSize][];
+        this.bucketLengths = new int[levels][wheelSize];
+        this.currentTick = startMillis / tickMillis;
+    }
+    
+    @FunctionalInterface
+    public interface ExpiryHandler {
+        void expired(long id, long deadlineMillis, long tag);
+    }
+    
+    /**
+     * How far ahead a timer can be scheduled.
+     */
+    public long getHorizonMillis() {
+        return (levelSpans[levelSpans.length - 1] - 1) * tickMillis;
+    }
+    
+    public long size() {
+        return size;
+    }
+    
+    /**
+     * Adds a timer. One that is already due fires on the next {@link #advanceTo}.
+     */
+    public void schedule(long id, long deadlineMillis, long tag) {
+        long deadlineTick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        if (deadlineTick - currentTick >= levelSpans[levelSpans.length - 1]) {
+            throw new IllegalArgumentException("Deadline is beyond the wheel horizon");
+        }
+        place(id, deadlineMillis, tag, deadlineTick);
+        size++;
+    }
+    
+    /**
+     * Moves the wheel to {@code nowMillis}, handing every timer that came due to the handler,
+     * tick by tick. Timers within one tick come in no particular order.
+     */
+    public void advanceTo(long nowMillis, ExpiryHandler handler) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Higher levels first, so entries cascading into level 0 land in this tick's slot
+            for (int level = levelSpans.length - 2; level >= 1; level--) {
+                if (currentTick % levelSpans[level] == 0) {
+                    cascade(level, (int) ((currentTick / levelSpans[level]) % wheelSize));
+                }
+            }
+            int slot = (int) (currentTick % wheelSize);
+            long[] bucket = buckets[0][slot];
+            int length = bucketLengths[0][slot];
+            if (length == 0) {
+                continue;
+            }
+            buckets[0][slot] = null;
+            bucketLengths[0][slot] = 0;
+            size -= length / ENTRY_WIDTH;
+            for (int i = 0; i < length; i += ENTRY_WIDTH) {
+                handler.expired(bucket[i], bucket[i + 1], bucket[i + 2]);
+            }
+        }
+    }
+    
+    private void cascade(int level, int slot) {
+        long[] bucket = buckets[level][slot];
+        int length = bucketLengths[level][slot];
+        if (length == 0) {
+            return;
+        }
+        buckets[level][slot] = null;
+        bucketLengths[level][slot] = 0;
+        for (int i = 0; i < length; i += ENTRY_WIDTH) {
+            long deadlineTick = Math.max(bucket[i + 1] / tickMillis, currentTick);
+            place(bucket[i], bucket[i + 1], bucket[i + 2], deadlineTick);
+        }
+    }
+    
+    private void place(long id, long deadlineMillis, long tag, long deadlineTick) {
+        long remaining = deadlineTick - currentTick;
+        int level = 0;
+        while (remaining >= levelSpans[level + 1]) {
+            level++;
+        }
+        int slot = (int) ((deadlineTick / levelSpans[level]) % wheelSize);
+        long[] bucket = buckets[level][slot];
+        int length = bucketLengths[level][slot];
+        if (bucket == null) {
+            bucket = new long[INITIAL_BUCKET_CAPACITY];
+        } else if (length == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucket.length * 2);
+        }
+        bucket[length] = id;
+        bucket[length + 1] = deadlineMillis;
+        bucket[length + 2] = tag;
+        buckets[level][slot] = bucket;
+        bucketLengths[level][slot] = length + ENTRY_WIDTH;
+    }
+}
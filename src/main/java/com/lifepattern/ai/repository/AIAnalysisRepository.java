@@ -3,12 +3,39 @@ package com.lifepattern.ai.repository;
 import com.lifepattern.ai.entity.AIAnalysis;
 import com.lifepattern.ai.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AIAnalysisRepository extends JpaRepository<AIAnalysis, Long> {
     
     Optional<AIAnalysis> findFirstByUserOrderByAnalyzedAtDesc(User user);
+    
+    @Query("SELECT a.analyzedAt, a.burnoutScore, a.riskLevel FROM AIAnalysis a WHERE a.user.id = :userId "
+            + "AND a.analyzedAt >= :since ORDER BY a.analyzedAt")
+    List<Object[]> findScoreHistorySince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+    
+    /**
+     * Per team: how many members were analysed in the window, and the sum of their latest scores
+     * and high-risk results in it. The window is one day, and only users who were members that
+     * day count.
+     */
+    @Query("SELECT m.teamId, COUNT(a), SUM(a.burnoutScore), "
+            + "SUM(CASE WHEN a.riskLevel = :highRisk THEN 1 ELSE 0 END) "
+            + "FROM TeamMembership m, AIAnalysis a WHERE a.user.id = m.userId "
+            + "AND a.analyzedAt >= :start AND a.analyzedAt < :end "
+            + "AND m.joinedAt < :end AND (m.leftAt IS NULL OR m.leftAt >= :start) "
+            + "AND a.analyzedAt = (SELECT MAX(b.analyzedAt) FROM AIAnalysis b WHERE b.user = a.user "
+            + "AND b.analyzedAt >= :start AND b.analyzedAt < :end) "
+            + "GROUP BY m.teamId")
+    List<Object[]> findTeamLatestScoreSums(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end,
+        @Param("highRisk") AIAnalysis.RiskLevel highRisk
+    );
 }
@@ -0,0 +1,31 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.BurnoutForecastModel;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BurnoutForecastModelRepository extends JpaRepository<BurnoutForecastModel, Long> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM BurnoutForecastModel m WHERE m.userId IN :userIds ORDER BY m.userId")
+    List<BurnoutForecastModel> findAllForUpdate(@Param("userIds") Collection<Long> userIds);
+    
+    /**
+     * Creates an empty placeholder unless a row exists, so concurrent refits of a user
+     * wait on the same row lock instead of colliding on the primary key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO burnout_forecast_models (user_id, model, fitted_at) "
+            + "VALUES (:userId, X'', CURRENT_TIMESTAMP) "
+            + "ON DUPLICATE KEY UPDATE user_id = user_id", nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId);
+}
@@ -2,28 +2,79 @@ package com.lifepattern.ai.repository;
 
 import com.lifepattern.ai.entity.DailyLog;
 import com.lifepattern.ai.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface DailyLogRepository extends JpaRepository<DailyLog, Long> {
-    
-    List<DailyLog> findByUserOrderByDateDesc(User user);
+public interface DailyLogRepository extends JpaRepository<DailyLog, Long>, DailyLogRepositoryCustom {
     
     Optional<DailyLog> findByIdAndUser(Long id, User user);
     
-    @Query("SELECT d FROM DailyLog d WHERE d.user = :user AND d.date BETWEEN :startDate AND :endDate ORDER BY d.date ASC")
-    List<DailyLog> findByUserAndDateBetween(
-        @Param("user") User user,
+    @Query("SELECT COUNT(d), SUM(d.sleepHours), SUM(d.workHours), SUM(d.studyHours), "
+            + "SUM(d.entertainmentHours), SUM(d.energyLevel), SUM(d.stressLevel) "
+            + "FROM DailyLog d WHERE d.user.id = :userId AND d.date BETWEEN :startDate AND :endDate")
+    List<Object[]> findMetricSums(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    @Query("SELECT AVG(d.sleepHours), AVG(d.workHours), AVG(d.studyHours), "
+            + "AVG(d.entertainmentHours), AVG(d.energyLevel), AVG(d.stressLevel) "
+            + "FROM DailyLog d WHERE d.date BETWEEN :startDate AND :endDate GROUP BY d.user.id")
+    List<Object[]> findMetricMeansPerUser(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    @Query("SELECT d FROM DailyLog d WHERE d.user.id IN :userIds AND d.date >= :since ORDER BY d.user.id, d.date")
+    List<DailyLog> findHistorySince(
+        @Param("userIds") Collection<Long> userIds,
+        @Param("since") LocalDate since
+    );
+    
+    @Query("SELECT d.user.id, d.date FROM DailyLog d WHERE d.user.id IN :userIds AND d.date BETWEEN :startDate AND :endDate")
+    List<Object[]> findLoggedDates(
+        @Param("userIds") Collection<Long> userIds,
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
     
-    boolean existsByUserAndDate(User user, LocalDate date);
+    /**
+     * Per team: the sums of the logs on {@code date} by users who were members that day, which
+     * {@code start} and {@code end} bound.
+     */
+    @Query("SELECT m.teamId, COUNT(d), SUM(d.sleepHours), SUM(d.workHours), SUM(d.studyHours), "
+            + "SUM(d.entertainmentHours), SUM(d.energyLevel), SUM(d.stressLevel) "
+            + "FROM TeamMembership m, DailyLog d WHERE d.user.id = m.userId AND d.date = :date "
+            + "AND m.joinedAt < :end AND (m.leftAt IS NULL OR m.leftAt >= :start) GROUP BY m.teamId")
+    List<Object[]> findTeamMetricSums(
+        @Param("date") LocalDate date,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    List<DailyLog> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    @Query("SELECT DISTINCT d.user.id, YEAR(d.date) FROM DailyLog d WHERE d.date < :cutoff")
+    List<Object[]> findUserYearsBefore(@Param("cutoff") LocalDate cutoff);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM DailyLog d WHERE d.user.id = :userId AND d.date BETWEEN :startDate AND :endDate ORDER BY d.date ASC")
+    List<DailyLog> lockForArchival(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
 }
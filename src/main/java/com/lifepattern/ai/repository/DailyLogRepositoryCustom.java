@@ -0,0 +1,45 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.User;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Reads that may reach past the archival horizon. Each one combines the hot table with the
+ * archived segments, so callers see a user's whole history without knowing where it lives.
+ * Where a date exists in both tiers (an archival run that failed after writing its segment)
+ * the hot row wins.
+ */
+public interface DailyLogRepositoryCustom {
+    
+    List<DailyLog> findByUserOrderByDateDesc(User user);
+    
+    /**
+     * The user's newest log, without reading the rest of their history.
+     */
+    Optional<DailyLog> findLatestByUser(User user);
+    
+    /**
+     * Logs between two dates (inclusive), oldest first.
+     */
+    List<DailyLog> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Date, sleep hours and stress level between two dates (inclusive), oldest first. The stream
+     * holds a cursor open and must be closed.
+     */
+    Stream<Object[]> streamTrendPoints(Long userId, LocalDate startDate, LocalDate endDate);
+    
+    boolean existsByUserAndDate(User user, LocalDate date);
+    
+    Optional<DailyLog> findNeighbour(Long userId, LocalDate date, Long excludedId);
+    
+    /**
+     * A single row with the minimum and maximum of every metric, in {@code DailyLogMetric} order.
+     */
+    List<Object[]> findMetricExtremes(Long userId);
+}
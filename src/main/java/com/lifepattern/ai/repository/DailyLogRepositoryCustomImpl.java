@@ -0,0 +1,154 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.archive.DailyLogArchive;
+import com.lifepattern.ai.archive.TierMergingIterator;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.User;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@RequiredArgsConstructor
+public class DailyLogRepositoryCustomImpl implements DailyLogRepositoryCustom {
+    
+    private static final int TREND_FETCH_SIZE = 500;
+    
+    private final EntityManager entityManager;
+    private final DailyLogArchive dailyLogArchive;
+    
+    @Override
+    public List<DailyLog> findByUserOrderByDateDesc(User user) {
+        List<DailyLog> hot = entityManager.createQuery(
+                        "SELECT d FROM DailyLog d WHERE d.user = :user ORDER BY d.date ASC", DailyLog.class)
+                .setParameter("user", user)
+                .getResultList();
+        List<DailyLog> logs = merge(hot, dailyLogArchive.read(user, null, null), DailyLog::getDate);
+        Collections.reverse(logs);
+        return logs;
+    }
+    
+    @Override
+    public Optional<DailyLog> findLatestByUser(User user) {
+        Optional<DailyLog> hot = entityManager.createQuery(
+                        "SELECT d FROM DailyLog d WHERE d.user = :user ORDER BY d.date DESC", DailyLog.class)
+                .setParameter("user", user)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+        // Archived logs are older than the hot ones unless a backdated write has not been
+        // archived yet, so only archived years from the hot log's date on are checked
+        Optional<DailyLog> archived = dailyLogArchive.latest(user, hot.map(DailyLog::getDate).orElse(null));
+        return archived.isPresent() ? archived : hot;
+    }
+    
+    @Override
+    public List<DailyLog> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate) {
+        List<DailyLog> hot = entityManager.createQuery(
+                        "SELECT d FROM DailyLog d WHERE d.user = :user AND d.date BETWEEN :startDate AND :endDate "
+                                + "ORDER BY d.date ASC", DailyLog.class)
+                .setParameter("user", user)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+        return merge(hot, dailyLogArchive.read(user, startDate, endDate), DailyLog::getDate);
+    }
+    
+    @Override
+    public Stream<Object[]> streamTrendPoints(Long userId, LocalDate startDate, LocalDate endDate) {
+        Stream<Object[]> hot = entityManager.createQuery(
+                        "SELECT d.date, d.sleepHours, d.stressLevel FROM DailyLog d "
+                                + "WHERE d.user.id = :userId AND d.date BETWEEN :startDate AND :endDate "
+                                + "ORDER BY d.date ASC", Object[].class)
+                .setParameter("userId", userId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TREND_FETCH_SIZE)
+                .getResultStream();
+        List<Object[]> archived = dailyLogArchive.trendPoints(userId, startDate, endDate);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Iterator<Object[]> merged = new TierMergingIterator<>(hot.iterator(), archived.iterator(),
+                row -> (LocalDate) row[0]);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(hot::close);
+    }
+    
+    @Override
+    public boolean existsByUserAndDate(User user, LocalDate date) {
+        boolean hot = !entityManager.createQuery(
+                        "SELECT d.id FROM DailyLog d WHERE d.user = :user AND d.date = :date", Long.class)
+                .setParameter("user", user)
+                .setParameter("date", date)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+        return hot || dailyLogArchive.contains(user.getId(), date);
+    }
+    
+    @Override
+    public Optional<DailyLog> findNeighbour(Long userId, LocalDate date, Long excludedId) {
+        List<DailyLog> hot = entityManager.createQuery(
+                        "SELECT d FROM DailyLog d WHERE d.user.id = :userId AND d.date = :date AND d.id <> :excludedId",
+                        DailyLog.class)
+                .setParameter("userId", userId)
+                .setParameter("date", date)
+                .setParameter("excludedId", excludedId)
+                .getResultList();
+        if (!hot.isEmpty()) {
+            return Optional.of(hot.get(0));
+        }
+        User user = entityManager.getReference(User.class, userId);
+        return dailyLogArchive.read(user, date, date).stream()
+                .filter(log -> !log.getId().equals(excludedId))
+                .findFirst();
+    }
+    
+    @Override
+    public List<Object[]> findMetricExtremes(Long userId) {
+        Object[] row = entityManager.createQuery(
+                        "SELECT MIN(d.sleepHours), MAX(d.sleepHours), MIN(d.workHours), MAX(d.workHours), "
+                                + "MIN(d.studyHours), MAX(d.studyHours), "
+                                + "MIN(d.entertainmentHours), MAX(d.entertainmentHours), "
+                                + "MIN(d.energyLevel), MAX(d.energyLevel), MIN(d.stressLevel), MAX(d.stressLevel) "
+                                + "FROM DailyLog d WHERE d.user.id = :userId", Object[].class)
+                .setParameter("userId", userId)
+                .getSingleResult();
+        double[] archived = dailyLogArchive.extremes(userId);
+        if (archived != null) {
+            for (int i = 0; i < DailyLogMetric.count() * 2; i++) {
+                Number hot = (Number) row[i];
+                boolean isMin = i % 2 == 0;
+                if (hot == null || (isMin ? archived[i] < hot.doubleValue() : archived[i] > hot.doubleValue())) {
+                    row[i] = archived[i];
+                }
+            }
+        }
+        return List.<Object[]>of(row);
+    }
+    
+    /**
+     * Merges two lists sorted by date into one, dropping archived entries whose date is also hot.
+     */
+    private static <T> List<T> merge(List<T> hot, List<T> archived, Function<T, LocalDate> date) {
+        if (archived.isEmpty()) {
+            return new ArrayList<>(hot);
+        }
+        List<T> merged = new ArrayList<>(hot.size() + archived.size());
+        new TierMergingIterator<>(hot.iterator(), archived.iterator(), date).forEachRemaining(merged::add);
+        return merged;
+    }
+}
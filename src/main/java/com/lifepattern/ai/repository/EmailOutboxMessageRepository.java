@@ -0,0 +1,47 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.EmailOutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmailOutboxMessageRepository extends JpaRepository<EmailOutboxMessage, Long> {
+    
+    /**
+     * Locks pending messages that are due, skipping rows another instance is already sending.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailOutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now "
+            + "ORDER BY m.nextAttemptAt ASC")
+    List<EmailOutboxMessage> claimDue(
+        @Param("status") EmailOutboxMessage.Status status,
+        @Param("now") LocalDateTime now,
+        Pageable pageable
+    );
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM EmailOutboxMessage m WHERE m.id = :id")
+    Optional<EmailOutboxMessage> findForUpdate(@Param("id") Long id);
+    
+    long countByStatus(EmailOutboxMessage.Status status);
+    
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status <> :pending AND m.createdAt < :before")
+    int deleteFinishedBefore(
+        @Param("pending") EmailOutboxMessage.Status pending,
+        @Param("before") LocalDateTime before
+    );
+}
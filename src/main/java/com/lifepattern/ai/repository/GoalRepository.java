@@ -0,0 +1,18 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.Goal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GoalRepository extends JpaRepository<Goal, Long> {
+    
+    List<Goal> findByUserIdOrderById(Long userId);
+    
+    Optional<Goal> findByIdAndUserId(Long id, Long userId);
+    
+    long countByUserId(Long userId);
+}
@@ -0,0 +1,21 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.LogAnomaly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface LogAnomalyRepository extends JpaRepository<LogAnomaly, Long> {
+    
+    List<LogAnomaly> findByUserIdAndDateGreaterThanEqualOrderByDateDescIdAsc(Long userId, LocalDate since);
+    
+    @Modifying
+    @Query("DELETE FROM LogAnomaly a WHERE a.logId = :logId")
+    int deleteByLogId(@Param("logId") Long logId);
+}
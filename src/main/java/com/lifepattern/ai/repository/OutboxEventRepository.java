@@ -0,0 +1,30 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    List<OutboxEvent> findByFeedOffsetIsNullOrderByIdAsc(Pageable pageable);
+    
+    List<OutboxEvent> findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(Long feedOffset, Pageable pageable);
+    
+    @Query("SELECT MIN(e.feedOffset) FROM OutboxEvent e")
+    Long findOldestFeedOffset();
+    
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.feedOffset <= :publishedOffset AND e.createdAt < :before")
+    int deletePublishedBefore(
+        @Param("publishedOffset") Long publishedOffset,
+        @Param("before") LocalDateTime before
+    );
+}
@@ -0,0 +1,29 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.PasswordResetToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM PasswordResetToken t WHERE t.tokenHash = :tokenHash")
+    Optional<PasswordResetToken> lockByTokenHash(@Param("tokenHash") String tokenHash);
+    
+    @Modifying
+    @Query("UPDATE PasswordResetToken t SET t.usedAt = :now WHERE t.userId = :userId AND t.usedAt IS NULL")
+    int invalidateAllFor(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,49 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.PopulationSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PopulationSketchRepository extends JpaRepository<PopulationSketch, Long> {
+    
+    List<PopulationSketch> findByWeekStartIn(Collection<LocalDate> weekStarts);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PopulationSketch p "
+            + "WHERE p.weekStart = :weekStart AND p.metric = :metric AND p.source = :source")
+    Optional<PopulationSketch> findForUpdate(
+        @Param("weekStart") LocalDate weekStart,
+        @Param("metric") DailyLogMetric metric,
+        @Param("source") String source
+    );
+    
+    /**
+     * Creates an empty sketch unless one exists, so two instances flushing the same partial
+     * for the first time wait on its row lock instead of colliding on the unique key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO population_sketches (week_start, metric, source, histogram, updated_at) "
+            + "VALUES (:weekStart, :metric, :source, X'', CURRENT_TIMESTAMP) "
+            + "ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
+    void insertIfAbsent(
+        @Param("weekStart") LocalDate weekStart,
+        @Param("metric") String metric,
+        @Param("source") String source
+    );
+    
+    @Modifying
+    @Query("DELETE FROM PopulationSketch p WHERE p.weekStart = :weekStart")
+    int deleteByWeekStart(@Param("weekStart") LocalDate weekStart);
+}
@@ -0,0 +1,38 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    
+    boolean existsByTokenId(String tokenId);
+    
+    List<RevokedToken> findBySequenceGreaterThanAndExpiresAtAfterOrderBySequenceAsc(long sequence, LocalDateTime now);
+    
+    /**
+     * Records the revocation unless the token is already revoked, so a repeated logout with
+     * the same token is a no-op instead of a unique key violation.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO revoked_tokens (token_id, user_id, expires_at, revocation_seq, revoked_at) "
+            + "VALUES (:tokenId, :userId, :expiresAt, :sequence, CURRENT_TIMESTAMP) "
+            + "ON DUPLICATE KEY UPDATE token_id = token_id", nativeQuery = true)
+    void insertIfAbsent(
+        @Param("tokenId") String tokenId,
+        @Param("userId") Long userId,
+        @Param("expiresAt") LocalDateTime expiresAt,
+        @Param("sequence") long sequence
+    );
+    
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
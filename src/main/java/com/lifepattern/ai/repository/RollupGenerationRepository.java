@@ -0,0 +1,32 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.RollupGeneration;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface RollupGenerationRepository extends JpaRepository<RollupGeneration, Long> {
+    
+    boolean existsByRollupAndPeriodStart(String rollup, LocalDate periodStart);
+    
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT g FROM RollupGeneration g WHERE g.rollup = :rollup AND g.periodStart = :periodStart")
+    Optional<RollupGeneration> findForShare(@Param("rollup") String rollup, @Param("periodStart") LocalDate periodStart);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM RollupGeneration g WHERE g.rollup = :rollup AND g.periodStart = :periodStart")
+    Optional<RollupGeneration> findForUpdate(@Param("rollup") String rollup, @Param("periodStart") LocalDate periodStart);
+    
+    @Modifying
+    @Query(value = "INSERT INTO rollup_generations (rollup, period_start, generation) "
+            + "VALUES (:rollup, :periodStart, 0) ON DUPLICATE KEY UPDATE rollup = rollup", nativeQuery = true)
+    void insertIfAbsent(@Param("rollup") String rollup, @Param("periodStart") LocalDate periodStart);
+}
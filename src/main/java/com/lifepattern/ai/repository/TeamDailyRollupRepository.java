@@ -0,0 +1,44 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.TeamDailyRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TeamDailyRollupRepository extends JpaRepository<TeamDailyRollup, Long> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM TeamDailyRollup r WHERE r.teamId = :teamId AND r.date = :date AND r.source = :source")
+    Optional<TeamDailyRollup> findForUpdate(
+        @Param("teamId") Long teamId,
+        @Param("date") LocalDate date,
+        @Param("source") String source
+    );
+    
+    /**
+     * Base and partial rows merged per date, oldest first.
+     */
+    @Query("SELECT r.date, SUM(r.logCount), SUM(r.sleepSum), SUM(r.workSum), SUM(r.studySum), "
+            + "SUM(r.entertainmentSum), SUM(r.energySum), SUM(r.stressSum), "
+            + "SUM(r.analysisCount), SUM(r.burnoutSum), SUM(r.highRiskCount) "
+            + "FROM TeamDailyRollup r WHERE r.teamId = :teamId AND r.date BETWEEN :startDate AND :endDate "
+            + "GROUP BY r.date ORDER BY r.date")
+    List<Object[]> sumByDate(
+        @Param("teamId") Long teamId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    @Modifying
+    @Query("DELETE FROM TeamDailyRollup r WHERE r.date = :date")
+    int deleteByDate(@Param("date") LocalDate date);
+}
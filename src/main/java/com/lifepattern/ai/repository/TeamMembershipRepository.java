@@ -0,0 +1,33 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.TeamMembership;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TeamMembershipRepository extends JpaRepository<TeamMembership, Long> {
+    
+    Optional<TeamMembership> findByTeamIdAndUserId(Long teamId, Long userId);
+    
+    long countByTeamIdAndRoleAndStatus(Long teamId, TeamMembership.Role role, TeamMembership.Status status);
+    
+    /**
+     * The user's memberships that ever started, including ones they since left, so writes
+     * to dates inside a past membership still reach that team.
+     */
+    @Query("SELECT m FROM TeamMembership m WHERE m.userId = :userId AND m.joinedAt IS NOT NULL")
+    List<TeamMembership> findJoinedByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT t, m FROM Team t, TeamMembership m WHERE m.teamId = t.id AND m.userId = :userId "
+            + "AND m.status <> :left ORDER BY t.name")
+    List<Object[]> findTeamsOf(@Param("userId") Long userId, @Param("left") TeamMembership.Status left);
+    
+    @Query("SELECT m, u.email, u.name FROM TeamMembership m, User u WHERE u.id = m.userId AND m.teamId = :teamId "
+            + "AND m.status <> :left ORDER BY u.name")
+    List<Object[]> findMembersOf(@Param("teamId") Long teamId, @Param("left") TeamMembership.Status left);
+}
@@ -0,0 +1,23 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.TokenRevocationStamp;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationStampRepository extends JpaRepository<TokenRevocationStamp, Long> {
+    
+    @Query("SELECT u.email, s.validAfter, s.sequence FROM TokenRevocationStamp s, User u "
+            + "WHERE u.id = s.userId AND s.sequence > :sequence ORDER BY s.sequence")
+    List<Object[]> findEmailStampsAfter(@Param("sequence") long sequence);
+    
+    @Modifying
+    @Query("DELETE FROM TokenRevocationStamp s WHERE s.validAfter < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
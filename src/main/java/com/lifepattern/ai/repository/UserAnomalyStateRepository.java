@@ -0,0 +1,29 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.UserAnomalyState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserAnomalyStateRepository extends JpaRepository<UserAnomalyState, Long> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserAnomalyState s WHERE s.userId = :userId")
+    Optional<UserAnomalyState> findForUpdate(@Param("userId") Long userId);
+    
+    /**
+     * Creates an empty state unless one exists, so the first writes of a user lock the same row.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_anomaly_state (user_id, state, updated_at) "
+            + "VALUES (:userId, X'', CURRENT_TIMESTAMP) "
+            + "ON DUPLICATE KEY UPDATE user_id = user_id", nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId);
+}
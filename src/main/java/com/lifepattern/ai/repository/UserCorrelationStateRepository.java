@@ -0,0 +1,30 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.UserCorrelationState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserCorrelationStateRepository extends JpaRepository<UserCorrelationState, Long> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserCorrelationState s WHERE s.userId = :userId")
+    Optional<UserCorrelationState> findForUpdate(@Param("userId") Long userId);
+    
+    /**
+     * Creates an empty, not yet built state row unless one exists. Concurrent first writes
+     * for a user wait on each other here instead of failing on the primary key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_correlation_state (user_id, same_day, next_day, updated_at) "
+            + "VALUES (:userId, X'', X'', CURRENT_TIMESTAMP) "
+            + "ON DUPLICATE KEY UPDATE user_id = user_id", nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId);
+}
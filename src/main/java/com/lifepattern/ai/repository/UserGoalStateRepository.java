@@ -0,0 +1,30 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.UserGoalState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserGoalStateRepository extends JpaRepository<UserGoalState, Long> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserGoalState s WHERE s.userId = :userId")
+    Optional<UserGoalState> findForUpdate(@Param("userId") Long userId);
+    
+    /**
+     * Creates an empty placeholder unless a row exists, so concurrent first writes of a user
+     * wait on the same row lock instead of colliding on the primary key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_goal_state (user_id, runs, updated_at) "
+            + "VALUES (:userId, X'', CURRENT_TIMESTAMP) "
+            + "ON DUPLICATE KEY UPDATE user_id = user_id", nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId);
+}
@@ -1,15 +1,32 @@
 package com.lifepattern.ai.repository;
 
 import com.lifepattern.ai.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+    
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    List<Long> findAllIds();
+    
+    /**
+     * Id, email, name, timezone and reminder time, read past the second-level cache.
+     */
+    @Query("SELECT u.id, u.email, u.name, u.timezone, u.reminderTime FROM User u WHERE u.id IN :ids")
+    List<Object[]> findReminderTargets(@Param("ids") Collection<Long> ids);
 }
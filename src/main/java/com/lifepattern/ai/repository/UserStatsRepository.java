@@ -0,0 +1,33 @@
+package com.lifepattern.ai.repository;
+
+import com.lifepattern.ai.entity.UserStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStats s WHERE s.userId = :userId")
+    Optional<UserStats> findForUpdate(@Param("userId") Long userId);
+    
+    /**
+     * Creates an empty snapshot unless one exists. Concurrent first writes for a user wait on
+     * each other here instead of failing on the primary key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_stats (user_id, "
+            + "sleep_count, sleep_mean, sleep_m2, work_count, work_mean, work_m2, "
+            + "study_count, study_mean, study_m2, entertainment_count, entertainment_mean, entertainment_m2, "
+            + "energy_count, energy_mean, energy_m2, stress_count, stress_mean, stress_m2, updated_at) "
+            + "VALUES (:userId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP) "
+            + "ON DUPLICATE KEY UPDATE user_id = user_id", nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId);
+}
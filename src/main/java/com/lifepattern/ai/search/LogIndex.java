@@ -0,0 +1,235 @@
+package com.lifepattern.ai.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local-disk Lucene index of daily log notes. Users are spread over a fixed number of
+ * shards, each with its own writer, so one user's writes only contend with the users
+ * sharing their shard; every query is filtered to a single user. Searchers are
+ * reopened in the background within {@code maxStaleSeconds} of a write
+ * (near-real-time), and changes become durable on {@link #commit}, together with the
+ * {@link #getWatermark() watermark} of the change feed they reflect.
+ */
+@Slf4j
+public class LogIndex implements AutoCloseable {
+    
+    private static final String LOG_ID = "logId";
+    private static final String USER_ID = "userId";
+    private static final String DATE = "date";
+    private static final String NOTES = "notes";
+    private static final String WATERMARK = "watermark";
+    
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Shard[] shards;
+    
+    public LogIndex(Path directory, int shardCount, double maxStaleSeconds) throws IOException {
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(FSDirectory.open(directory.resolve("shard-" + i)), analyzer, maxStaleSeconds, i);
+        }
+    }
+    
+    /**
+     * Adds or replaces a log. Logs without notes are removed, as there is nothing to find.
+     */
+    public void index(long logId, long userId, LocalDate date, String notes) throws IOException {
+        Term id = new Term(LOG_ID, Long.toString(logId));
+        if (notes == null || notes.isBlank()) {
+            shard(userId).writer.deleteDocuments(id);
+            return;
+        }
+        Document document = new Document();
+        document.add(new StringField(LOG_ID, Long.toString(logId), Field.Store.YES));
+        document.add(new LongPoint(USER_ID, userId));
+        document.add(new LongPoint(DATE, date.toEpochDay()));
+        document.add(new StoredField(DATE, date.toEpochDay()));
+        document.add(new TextField(NOTES, notes, Field.Store.YES));
+        shard(userId).writer.updateDocument(id, document);
+    }
+    
+    public void delete(long logId, long userId) throws IOException {
+        shard(userId).writer.deleteDocuments(new Term(LOG_ID, Long.toString(logId)));
+    }
+    
+    /**
+     * Parses Lucene query syntax against the notes: terms, "quoted phrases",
+     * AND/OR/NOT, prefix* and fuzzy~. Terms are ANDed by default.
+     */
+    public Query parse(String query) throws ParseException {
+        QueryParser parser = new QueryParser(NOTES, analyzer);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        return parser.parse(query);
+    }
+    
+    public SearchResult search(long userId, Query notesQuery, LocalDate from, LocalDate to, int limit)
+            throws IOException {
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(notesQuery, BooleanClause.Occur.MUST)
+                .add(LongPoint.newExactQuery(USER_ID, userId), BooleanClause.Occur.FILTER);
+        if (from != null || to != null) {
+            long lower = from != null ? from.toEpochDay() : Long.MIN_VALUE;
+            long upper = to != null ? to.toEpochDay() : Long.MAX_VALUE;
+            query.add(LongPoint.newRangeQuery(DATE, lower, upper), BooleanClause.Occur.FILTER);
+        }
+        
+        SearcherManager manager = shard(userId).manager;
+        IndexSearcher searcher = manager.acquire();
+        try {
+            TopDocs top = searcher.search(query.build(), limit);
+            List<Hit> hits = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                Document document = searcher.storedFields().document(scoreDoc.doc);
+                hits.add(new Hit(
+                        Long.parseLong(document.get(LOG_ID)),
+                        LocalDate.ofEpochDay(document.getField(DATE).numericValue().longValue()),
+                        scoreDoc.score,
+                        document.get(NOTES)));
+            }
+            return new SearchResult(top.totalHits.value, hits);
+        } finally {
+            manager.release(searcher);
+        }
+    }
+    
+    public long documentCount() {
+        long count = 0;
+        for (Shard shard : shards) {
+            count += shard.writer.getDocStats().numDocs;
+        }
+        return count;
+    }
+    
+    /**
+     * The change feed offset the index was last brought up to, or -1 when it has none. Shards
+     * that disagree after a crash between their commits report the lowest.
+     */
+    public long getWatermark() {
+        long watermark = Long.MAX_VALUE;
+        for (Shard shard : shards) {
+            watermark = Math.min(watermark, shard.watermark());
+        }
+        return watermark;
+    }
+    
+    /**
+     * Sets the watermark, made durable by the next {@link #commit}.
+     */
+    public void setWatermark(long watermark) {
+        for (Shard shard : shards) {
+            shard.writer.setLiveCommitData(Map.of(WATERMARK, Long.toString(watermark)).entrySet());
+        }
+    }
+    
+    public void deleteAll() throws IOException {
+        for (Shard shard : shards) {
+            shard.writer.deleteAll();
+        }
+    }
+    
+    public void commit() throws IOException {
+        for (Shard shard : shards) {
+            if (shard.writer.hasUncommittedChanges()) {
+                shard.writer.commit();
+            }
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        for (Shard shard : shards) {
+            shard.close();
+        }
+    }
+    
+    private Shard shard(long userId) {
+        return shards[(int) Math.floorMod(userId, (long) shards.length)];
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        
+        private final long logId;
+        private final LocalDate date;
+        private final float score;
+        private final String notes;
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        
+        private final long totalHits;
+        private final List<Hit> hits;
+    }
+    
+    private static class Shard {
+        
+        private final Directory directory;
+        private final IndexWriter writer;
+        private final SearcherManager manager;
+        private final ControlledRealTimeReopenThread<IndexSearcher> reopener;
+        
+        Shard(Directory directory, Analyzer analyzer, double maxStaleSeconds, int number) throws IOException {
+            this.directory = directory;
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            this.manager = new SearcherManager(writer, null);
+            this.reopener = new ControlledRealTimeReopenThread<>(writer, manager, maxStaleSeconds, 0.01);
+            this.reopener.setName("log-index-reopen-" + number);
+            this.reopener.setDaemon(true);
+            this.reopener.start();
+        }
+        
+        long watermark() {
+            Iterable<Map.Entry<String, String>> data = writer.getLiveCommitData();
+            if (data != null) {
+                for (Map.Entry<String, String> entry : data) {
+                    if (WATERMARK.equals(entry.getKey())) {
+                        return Long.parseLong(entry.getValue());
+                    }
+                }
+            }
+            return -1;
+        }
+        
+        void close() throws IOException {
+            reopener.close();
+            manager.close();
+            writer.close();
+            directory.close();
+        }
+    }
+}
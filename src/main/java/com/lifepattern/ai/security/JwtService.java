@@ -12,11 +12,17 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
     
+    /**
+     * Issue time in milliseconds; the standard {@code iat} claim only has whole seconds.
+     */
+    static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+    
     @Value("${jwt.secret}")
     private String secretKey;
     
@@ -45,12 +51,15 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        long now = System.currentTimeMillis();
         return Jwts
                 .builder()
                 .claims(extraClaims)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
                 .signWith(getSignInKey())
                 .compact();
     }
@@ -60,6 +69,14 @@ public class JwtService {
         return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
     }
     
+    /**
+     * Tokens issued before the millisecond claim existed fall back to {@code iat}.
+     */
+    static long issuedAtMillis(Claims claims) {
+        Long millis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        return millis != null ? millis : claims.getIssuedAt().getTime();
+    }
+    
     private boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
@@ -0,0 +1,210 @@
+package com.lifepattern.ai.security;
+
+import com.lifepattern.ai.cache.CacheCoherenceService;
+import com.lifepattern.ai.entity.RevokedToken;
+import com.lifepattern.ai.entity.TokenRevocationSequence;
+import com.lifepattern.ai.entity.TokenRevocationStamp;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.repository.RevokedTokenRepository;
+import com.lifepattern.ai.repository.TokenRevocationSequenceRepository;
+import com.lifepattern.ai.repository.TokenRevocationStampRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers "is this token revoked?" from memory. Revoked token ids are kept in bloom
+ * filters bucketed by the token's expiry hour, so a whole bucket is dropped once its
+ * tokens could no longer be used anyway; only a filter hit is confirmed against the
+ * revoked_tokens table. Per-user "issued up to" stamps are held in a plain map.
+ * <p>
+ * Every revocation takes the next number from a locked sequence row, so instances pick up
+ * each other's revocations by polling past the highest number they have seen.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+    
+    static final String REVOCATION_CHANNEL = "token-revocations";
+    
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationStampRepository stampRepository;
+    private final TokenRevocationSequenceRepository sequenceRepository;
+    private final UserRepository userRepository;
+    private final CacheCoherenceService cacheCoherenceService;
+    
+    @Value("${jwt.revocation.expected-per-hour}")
+    private int expectedPerHour;
+    
+    @Value("${jwt.revocation.false-positive-rate}")
+    private double falsePositiveRate;
+    
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+    
+    private final Map<Long, BloomFilter> filtersByExpiryHour = new ConcurrentHashMap<>();
+    private final Map<String, Long> validAfterBySubject = new ConcurrentHashMap<>();
+    // Rows written before sequences existed carry 0, so start below it
+    private long lastTokenSequence = -1;
+    private long lastStampSequence = -1;
+    
+    @PostConstruct
+    void init() {
+        if (!sequenceRepository.existsById(TokenRevocationSequence.SINGLETON_ID)) {
+            try {
+                sequenceRepository.saveAndFlush(TokenRevocationSequence.builder()
+                        .id(TokenRevocationSequence.SINGLETON_ID)
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created it first
+            }
+        }
+        cacheCoherenceService.registerEvictor(REVOCATION_CHANNEL, key -> CompletableFuture.runAsync(this::refresh));
+        refresh();
+    }
+    
+    public boolean isRevoked(Claims claims) {
+        Long validAfter = validAfterBySubject.get(claims.getSubject());
+        if (validAfter != null && JwtService.issuedAtMillis(claims) <= validAfter) {
+            return true;
+        }
+        String tokenId = claims.getId();
+        if (tokenId == null) {
+            return false;
+        }
+        BloomFilter filter = filtersByExpiryHour.get(expiryHour(claims.getExpiration()));
+        if (filter == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsByTokenId(tokenId);
+    }
+    
+    @Transactional
+    public void revoke(Claims claims) {
+        if (claims.getId() == null) {
+            revokeAllFor(claims.getSubject());
+            return;
+        }
+        User user = getUserByEmail(claims.getSubject());
+        revokedTokenRepository.insertIfAbsent(claims.getId(), user.getId(),
+                toLocalDateTime(claims.getExpiration().toInstant()), nextSequence());
+        afterCommit(() -> filterFor(claims.getExpiration()).put(claims.getId()));
+        cacheCoherenceService.invalidateAfterCommit(REVOCATION_CHANNEL, claims.getId());
+    }
+    
+    /**
+     * Invalidates every token issued to the user up to now. Tokens issued afterwards, such
+     * as the one from a login right after a password reset, stay valid.
+     */
+    @Transactional
+    public void revokeAllFor(String email) {
+        User user = getUserByEmail(email);
+        long sequence = nextSequence();
+        Instant validAfter = Instant.ofEpochMilli(System.currentTimeMillis());
+        stampRepository.save(TokenRevocationStamp.builder()
+                .userId(user.getId())
+                .validAfter(toLocalDateTime(validAfter))
+                .updatedAt(LocalDateTime.now())
+                .sequence(sequence)
+                .build());
+        afterCommit(() -> validAfterBySubject.merge(email, validAfter.toEpochMilli(), Math::max));
+        cacheCoherenceService.invalidateAfterCommit(REVOCATION_CHANNEL, "user:" + user.getId());
+    }
+    
+    /**
+     * Pulls revocations recorded since the last refresh, including those made by other
+     * instances. Runs on a timer as a backstop and whenever a peer announces a change.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval}")
+    public synchronized void refresh() {
+        List<RevokedToken> revoked = revokedTokenRepository
+                .findBySequenceGreaterThanAndExpiresAtAfterOrderBySequenceAsc(lastTokenSequence, LocalDateTime.now());
+        for (RevokedToken token : revoked) {
+            filterFor(Date.from(token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant()))
+                    .put(token.getTokenId());
+            lastTokenSequence = token.getSequence();
+        }
+        for (Object[] row : stampRepository.findEmailStampsAfter(lastStampSequence)) {
+            long validAfter = ((LocalDateTime) row[1]).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            validAfterBySubject.merge((String) row[0], validAfter, Math::max);
+            lastStampSequence = (Long) row[2];
+        }
+    }
+    
+    /**
+     * Ages out state that can no longer match a live token.
+     */
+    @Scheduled(cron = "${jwt.revocation.purge-cron}")
+    @Transactional
+    public void purgeExpired() {
+        long currentHour = System.currentTimeMillis() / 3_600_000L;
+        filtersByExpiryHour.keySet().removeIf(hour -> hour < currentHour);
+        long cutoff = Instant.now().minusMillis(jwtExpiration).toEpochMilli();
+        validAfterBySubject.values().removeIf(validAfter -> validAfter < cutoff);
+        
+        int tokens = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        int stamps = stampRepository.deleteOlderThan(toLocalDateTime(Instant.ofEpochMilli(cutoff)));
+        log.debug("Purged {} expired revoked tokens and {} revocation stamps", tokens, stamps);
+    }
+    
+    /**
+     * Held until the revocation commits, so a later number is never visible before an earlier one.
+     */
+    private long nextSequence() {
+        TokenRevocationSequence row = sequenceRepository.lockById(TokenRevocationSequence.SINGLETON_ID)
+                .orElseThrow(() -> new IllegalStateException("Token revocation sequence row is missing"));
+        row.setLastSequence(row.getLastSequence() + 1);
+        return row.getLastSequence();
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private BloomFilter filterFor(Date expiration) {
+        return filtersByExpiryHour.computeIfAbsent(expiryHour(expiration),
+                hour -> new BloomFilter(expectedPerHour, falsePositiveRate));
+    }
+    
+    private static long expiryHour(Date expiration) {
+        return expiration.getTime() / 3_600_000L;
+    }
+    
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+    
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+}
@@ -1,22 +1,40 @@
 package com.lifepattern.ai.service;
 
+import com.lifepattern.ai.analytics.TrendDownsampler;
+import com.lifepattern.ai.cache.SingleFlight;
+import com.lifepattern.ai.config.CacheConfig;
 import com.lifepattern.ai.dto.AIAnalysisResponse;
 import com.lifepattern.ai.dto.TrendDataResponse;
 import com.lifepattern.ai.entity.AIAnalysis;
 import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
 import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.event.AnalysisCreatedEvent;
 import com.lifepattern.ai.exception.BadRequestException;
 import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.inference.BurnoutModel;
+import com.lifepattern.ai.inference.BurnoutScore;
+import com.lifepattern.ai.inference.BurnoutScorer;
+import com.lifepattern.ai.inference.FormulaBurnoutModel;
 import com.lifepattern.ai.repository.AIAnalysisRepository;
 import com.lifepattern.ai.repository.DailyLogRepository;
 import com.lifepattern.ai.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,11 +43,31 @@ public class AnalysisService {
     private final AIAnalysisRepository aiAnalysisRepository;
     private final DailyLogRepository dailyLogRepository;
     private final UserRepository userRepository;
+    private final BurnoutScorer burnoutScorer;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight<String, AIAnalysisResponse> regenerations = new SingleFlight<>();
     
+    static final int MIN_TREND_POINTS = 3;
+    static final int MAX_DENSE_DAYS = 366 * 20;
+    
+    @Cacheable(cacheNames = CacheConfig.LATEST_ANALYSIS_CACHE, key = "#email", sync = true)
     @Transactional(readOnly = true)
     public AIAnalysisResponse getLatestAnalysis(String email) {
-        User user = getUserByEmail(email);
-        
+        return findLatestAnalysis(getUserByEmail(email));
+    }
+    
+    /**
+     * Same cache entry as {@link #getLatestAnalysis(String)}, for callers that already hold the user.
+     */
+    @Cacheable(cacheNames = CacheConfig.LATEST_ANALYSIS_CACHE, key = "#user.email", sync = true)
+    @Transactional(readOnly = true)
+    public AIAnalysisResponse getLatestAnalysis(User user) {
+        return findLatestAnalysis(user);
+    }
+    
+    private AIAnalysisResponse findLatestAnalysis(User user) {
         AIAnalysis analysis = aiAnalysisRepository.findFirstByUserOrderByAnalyzedAtDesc(user)
                 .orElseThrow(() -> new ResourceNotFoundException("No analysis found. Please create a daily log first."));
         
@@ -37,64 +75,124 @@ public class AnalysisService {
     }
     
     @Transactional(readOnly = true)
-    public List<TrendDataResponse> getTrends(String email, Integer days, LocalDate start, LocalDate end) {
-        User user = getUserByEmail(email);
+    public List<TrendDataResponse> getTrends(String email, Integer days, LocalDate start, LocalDate end,
+                                             Integer maxPoints, String fill) {
+        return getTrends(getUserByEmail(email), days, start, end, maxPoints, fill);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TrendDataResponse> getTrends(User user, Integer days, LocalDate start, LocalDate end,
+                                             Integer maxPoints, String fill) {
+        TrendRequest request = TrendRequest.of(days, start, end, maxPoints, fill);
+        try (Stream<Object[]> rows = dailyLogRepository.streamTrendPoints(
+                user.getId(), request.startDate(), request.endDate())) {
+            return buildTrends(request, rows.iterator());
+        }
+    }
+    
+    /**
+     * Builds the trend series from rows of date, sleep hours and stress level, oldest first.
+     * Does no I/O, so the reactive runtime can feed it rows it has already collected.
+     */
+    public static List<TrendDataResponse> buildTrends(TrendRequest request, Iterator<Object[]> rows) {
+        LocalDate startDate = request.startDate();
+        LocalDate endDate = request.endDate();
+        Integer maxPoints = request.maxPoints();
+        TrendFill trendFill = request.fill();
         
-        LocalDate startDate;
-        LocalDate endDate;
+        long firstDay = startDate.toEpochDay();
+        long span = endDate.toEpochDay() - firstDay + 1;
+        boolean dense = trendFill != TrendFill.NONE;
         
-        if (start != null && end != null) {
-            startDate = start;
-            endDate = end;
-        } else if (days != null && days > 0) {
-            endDate = LocalDate.now();
-            startDate = endDate.minusDays(days - 1);
-        } else {
-            throw new BadRequestException("Please provide either 'days' or both 'start' and 'end' dates");
+        // One pass over a three-column projection straight into primitive arrays. Dense series are
+        // indexed by day offset so missing days are already in place as NaN.
+        int capacity = dense ? (int) span : (int) Math.min(span, 1024);
+        double[] x = new double[capacity];
+        double[] sleep = new double[capacity];
+        double[] stress = new double[capacity];
+        if (dense) {
+            for (int i = 0; i < capacity; i++) {
+                x[i] = firstDay + i;
+            }
+            Arrays.fill(sleep, Double.NaN);
+            Arrays.fill(stress, Double.NaN);
         }
+        double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        int length = dense ? capacity : 0;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            long day = ((LocalDate) row[0]).toEpochDay();
+            double sleepHours = ((Number) row[1]).doubleValue();
+            double stressLevel = ((Number) row[2]).doubleValue();
+            int index;
+            if (dense) {
+                index = (int) (day - firstDay);
+            } else {
+                if (length == x.length) {
+                    x = Arrays.copyOf(x, length * 2);
+                    sleep = Arrays.copyOf(sleep, length * 2);
+                    stress = Arrays.copyOf(stress, length * 2);
+                }
+                index = length++;
+                x[index] = day;
+            }
+            sleep[index] = sleepHours;
+            stress[index] = stressLevel;
+            min[0] = Math.min(min[0], sleepHours);
+            max[0] = Math.max(max[0], sleepHours);
+            min[1] = Math.min(min[1], stressLevel);
+            max[1] = Math.max(max[1], stressLevel);
+        }
+        trendFill.apply(sleep, length);
+        trendFill.apply(stress, length);
         
-        List<DailyLog> logs = dailyLogRepository.findByUserAndDateBetween(user, startDate, endDate);
+        int[] indices;
+        if (maxPoints != null && length > maxPoints) {
+            // Each series is scaled to its own range so sleep hours and stress levels weigh the same
+            double[] weights = new double[2];
+            for (int s = 0; s < weights.length; s++) {
+                weights[s] = max[s] > min[s] ? 1.0 / (max[s] - min[s]) : 0.0;
+            }
+            indices = TrendDownsampler.lttb(x, new double[][] {sleep, stress}, weights, length, maxPoints);
+        } else {
+            indices = IntStream.range(0, length).toArray();
+        }
         
-        return logs.stream()
-                .map(log -> TrendDataResponse.builder()
-                        .date(log.getDate().toString())
-                        .sleep(log.getSleepHours())
-                        .stress(log.getStressLevel())
-                        .build())
-                .collect(Collectors.toList());
+        List<TrendDataResponse> trends = new ArrayList<>(indices.length);
+        for (int i : indices) {
+            trends.add(TrendDataResponse.builder()
+                    .date(LocalDate.ofEpochDay((long) x[i]).toString())
+                    .sleep(Double.isNaN(sleep[i]) ? null : sleep[i])
+                    .stress(Double.isNaN(stress[i]) ? null : (int) Math.round(stress[i]))
+                    .build());
+        }
+        return trends;
     }
     
-    @Transactional
+    /**
+     * Concurrent regenerate calls for the same user share one computation and one saved analysis.
+     * The shared call runs in its own transaction, so callers waiting on it hold no connection.
+     */
+    @CachePut(cacheNames = CacheConfig.LATEST_ANALYSIS_CACHE, key = "#email")
     public AIAnalysisResponse regenerateAnalysis(String email) {
+        return regenerations.execute(email, () -> transactionTemplate.execute(status -> createAnalysis(email)));
+    }
+    
+    public long getCoalescedRegenerations() {
+        return regenerations.getSharedCount();
+    }
+    
+    private AIAnalysisResponse createAnalysis(String email) {
         User user = getUserByEmail(email);
         
         // Get the most recent daily log
-        List<DailyLog> recentLogs = dailyLogRepository.findByUserOrderByDateDesc(user);
-        
-        if (recentLogs.isEmpty()) {
-            throw new BadRequestException("No daily logs found. Please create a log first.");
-        }
-        
-        DailyLog latestLog = recentLogs.get(0);
+        DailyLog latestLog = dailyLogRepository.findLatestByUser(user)
+                .orElseThrow(() -> new BadRequestException("No daily logs found. Please create a log first."));
         
-        // Calculate burnout score using the specified formula
-        // score = (workHours * 5) + (stressLevel * 5) - (sleepHours * 3)
-        double rawScore = (latestLog.getWorkHours() * 5) + 
-                         (latestLog.getStressLevel() * 5) - 
-                         (latestLog.getSleepHours() * 3);
-        
-        // Clamp between 0-100
-        int burnoutScore = (int) Math.max(0, Math.min(100, rawScore));
-        
-        // Determine risk level
-        AIAnalysis.RiskLevel riskLevel;
-        if (burnoutScore < 40) {
-            riskLevel = AIAnalysis.RiskLevel.LOW;
-        } else if (burnoutScore < 70) {
-            riskLevel = AIAnalysis.RiskLevel.MEDIUM;
-        } else {
-            riskLevel = AIAnalysis.RiskLevel.HIGH;
-        }
+        BurnoutScore score = burnoutScorer.score(DailyLogMetric.valuesOf(latestLog));
+        int burnoutScore = score.getScore();
+        AIAnalysis.RiskLevel riskLevel = determineRiskLevel(burnoutScore);
         
         // Generate suggestion text
         String suggestionText = generateSuggestion(riskLevel, latestLog);
@@ -105,14 +203,38 @@ public class AnalysisService {
                 .burnoutScore(burnoutScore)
                 .riskLevel(riskLevel)
                 .suggestionText(suggestionText)
+                .modelVersion(score.getModelVersion())
                 .build();
         
+        AIAnalysis previous = aiAnalysisRepository.findFirstByUserOrderByAnalyzedAtDesc(user).orElse(null);
         aiAnalysisRepository.save(analysis);
+        outboxService.recordAnalysisCreated(analysis);
+        
+        LocalDate date = analysis.getAnalyzedAt().toLocalDate();
+        boolean sameDay = previous != null && previous.getAnalyzedAt().toLocalDate().equals(date);
+        eventPublisher.publishEvent(new AnalysisCreatedEvent(user.getId(), date,
+                sameDay ? previous.getBurnoutScore() : null, sameDay ? previous.getRiskLevel() : null,
+                burnoutScore, riskLevel));
         
         return mapToResponse(analysis);
     }
     
-    private String generateSuggestion(AIAnalysis.RiskLevel riskLevel, DailyLog log) {
+    int calculateBurnoutScore(DailyLog log) {
+        // The original formula, independent of the loaded model
+        return BurnoutModel.toScore(FormulaBurnoutModel.INSTANCE.score(DailyLogMetric.valuesOf(log)));
+    }
+    
+    AIAnalysis.RiskLevel determineRiskLevel(int burnoutScore) {
+        if (burnoutScore < 40) {
+            return AIAnalysis.RiskLevel.LOW;
+        } else if (burnoutScore < 70) {
+            return AIAnalysis.RiskLevel.MEDIUM;
+        } else {
+            return AIAnalysis.RiskLevel.HIGH;
+        }
+    }
+    
+    String generateSuggestion(AIAnalysis.RiskLevel riskLevel, DailyLog log) {
         switch (riskLevel) {
             case LOW:
                 return "Great job maintaining balance! Your current routine shows healthy work-life balance. " +
@@ -134,6 +256,84 @@ public class AnalysisService {
         }
     }
     
+    /**
+     * Validated trend parameters: either the last {@code days} days or an explicit range.
+     */
+    public record TrendRequest(LocalDate startDate, LocalDate endDate, Integer maxPoints, TrendFill fill) {
+        
+        public static TrendRequest of(Integer days, LocalDate start, LocalDate end, Integer maxPoints, String fill) {
+            LocalDate startDate;
+            LocalDate endDate;
+            
+            if (start != null && end != null) {
+                startDate = start;
+                endDate = end;
+            } else if (days != null && days > 0) {
+                endDate = LocalDate.now();
+                startDate = endDate.minusDays(days - 1);
+            } else {
+                throw new BadRequestException("Please provide either 'days' or both 'start' and 'end' dates");
+            }
+            if (startDate.isAfter(endDate)) {
+                throw new BadRequestException("'start' must not be after 'end'");
+            }
+            if (maxPoints != null && maxPoints < MIN_TREND_POINTS) {
+                throw new BadRequestException("'maxPoints' must be at least " + MIN_TREND_POINTS);
+            }
+            TrendFill trendFill = TrendFill.parse(fill);
+            if (trendFill != TrendFill.NONE && endDate.toEpochDay() - startDate.toEpochDay() + 1 > MAX_DENSE_DAYS) {
+                throw new BadRequestException("Gap filling is limited to " + MAX_DENSE_DAYS + " days");
+            }
+            return new TrendRequest(startDate, endDate, maxPoints, trendFill);
+        }
+    }
+    
+    public enum TrendFill {
+        /** Only days that have a log */
+        NONE,
+        /** Every day in the range, missing days with null values */
+        NULL,
+        /** Missing days repeat the last logged values */
+        PREVIOUS,
+        /** Missing days are interpolated between the surrounding logs */
+        LINEAR;
+        
+        static TrendFill parse(String value) {
+            if (value == null || value.isBlank()) {
+                return NONE;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("'fill' must be one of none, null, previous or linear");
+            }
+        }
+        
+        void apply(double[] values, int length) {
+            if (this == PREVIOUS) {
+                for (int i = 1; i < length; i++) {
+                    if (Double.isNaN(values[i])) {
+                        values[i] = values[i - 1];
+                    }
+                }
+            } else if (this == LINEAR) {
+                int previous = -1;
+                for (int i = 0; i < length; i++) {
+                    if (Double.isNaN(values[i])) {
+                        continue;
+                    }
+                    if (previous >= 0 && i - previous > 1) {
+                        double step = (values[i] - values[previous]) / (i - previous);
+                        for (int j = previous + 1; j < i; j++) {
+                            values[j] = values[previous] + step * (j - previous);
+                        }
+                    }
+                    previous = i;
+                }
+            }
+        }
+    }
+    
     private User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -145,6 +345,7 @@ public class AnalysisService {
                 .burnoutScore(analysis.getBurnoutScore())
                 .riskLevel(analysis.getRiskLevel().name())
                 .suggestionText(analysis.getSuggestionText())
+                .modelVersion(analysis.getModelVersion())
                 .analyzedAt(analysis.getAnalyzedAt())
                 .build();
     }
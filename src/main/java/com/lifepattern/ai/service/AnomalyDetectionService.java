@@ -0,0 +1,152 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.analytics.EwmaState;
+import com.lifepattern.ai.dto.AnomalyResponse;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.LogAnomaly;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.entity.UserAnomalyState;
+import com.lifepattern.ai.event.DailyLogChangedEvent;
+import com.lifepattern.ai.event.DailyLogSnapshot;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.repository.LogAnomalyRepository;
+import com.lifepattern.ai.repository.UserAnomalyStateRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Flags metric values that break sharply from a user's recent pattern, at write time.
+ * Each user has an EWMA mean/variance per metric in one user_anomaly_state row, locked
+ * and updated in the transaction of the log write; a log is scored against it in
+ * O(metrics) without reading any history. The lock serialises concurrent writes of one
+ * user, across instances too, so no fold is lost.
+ * <p>
+ * Only a log dated after everything seen so far is folded into the state, and an
+ * edit or delete of the most recently folded log undoes that fold first. Backdated
+ * logs and edits of older logs are still scored, but folding them in would count a
+ * day twice or replay days out of order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnomalyDetectionService {
+    
+    private static final int METRICS = DailyLogMetric.count();
+    
+    private final LogAnomalyRepository anomalyRepository;
+    private final UserAnomalyStateRepository stateRepository;
+    private final UserRepository userRepository;
+    
+    @Value("${anomaly.alpha}")
+    private double alpha;
+    
+    @Value("${anomaly.threshold}")
+    private double threshold;
+    
+    @Value("${anomaly.warmup-logs}")
+    private int warmupLogs;
+    
+    @Value("${anomaly.min-std-dev}")
+    private double minStdDev;
+    
+    @EventListener
+    public void onDailyLogChanged(DailyLogChangedEvent event) {
+        Long userId = event.getUserId();
+        UserAnomalyState row = lockState(userId);
+        EwmaState state = row.getState().length == 0
+                ? new EwmaState(METRICS)
+                : EwmaState.decode(METRICS, row.getState());
+        boolean changed = false;
+        
+        if (event.getPrevious() != null) {
+            anomalyRepository.deleteByLogId(event.getPrevious().getLogId());
+            // Edits and deletes of the most recently folded log take it back out
+            if (state.canRevert(event.getPrevious().getDate().toEpochDay())) {
+                state.revert();
+                changed = true;
+            }
+        }
+        
+        if (event.getCurrent() != null) {
+            DailyLogSnapshot log = event.getCurrent();
+            anomalyRepository.saveAll(score(userId, log, state));
+            
+            long epochDay = log.getDate().toEpochDay();
+            if ((event.isCreate() || changed) && epochDay > state.getLastEpochDay()) {
+                state.update(log.getMetrics(), epochDay, alpha);
+                changed = true;
+            }
+        }
+        
+        if (changed) {
+            row.setState(state.encode());
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public List<AnomalyResponse> getAnomalies(String email, Integer days) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        LocalDate since = LocalDate.now().minusDays(days != null ? days : 30);
+        return anomalyRepository.findByUserIdAndDateGreaterThanEqualOrderByDateDescIdAsc(user.getId(), since)
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    private List<LogAnomaly> score(Long userId, DailyLogSnapshot log, EwmaState state) {
+        List<LogAnomaly> anomalies = new ArrayList<>();
+        if (state.getObservations() < warmupLogs) {
+            return anomalies;
+        }
+        for (DailyLogMetric metric : DailyLogMetric.values()) {
+            double value = log.get(metric);
+            double zScore = state.zScore(metric.ordinal(), value, minStdDev);
+            if (Math.abs(zScore) >= threshold) {
+                anomalies.add(LogAnomaly.builder()
+                        .userId(userId)
+                        .logId(log.getLogId())
+                        .date(log.getDate())
+                        .metric(metric)
+                        .value(value)
+                        .expected(Math.round(state.mean(metric.ordinal()) * 10) / 10.0)
+                        .zScore(Math.round(zScore * 100) / 100.0)
+                        .build());
+            }
+        }
+        return anomalies;
+    }
+    
+    /**
+     * Locks the user's state row, creating an empty one first if needed.
+     */
+    private UserAnomalyState lockState(Long userId) {
+        stateRepository.insertIfAbsent(userId);
+        return stateRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Anomaly state missing for user " + userId));
+    }
+    
+    private AnomalyResponse mapToResponse(LogAnomaly anomaly) {
+        return AnomalyResponse.builder()
+                .logId(anomaly.getLogId().toString())
+                .date(anomaly.getDate())
+                .metric(anomaly.getMetric().getFieldName())
+                .direction(anomaly.getZScore() > 0 ? "HIGH" : "LOW")
+                .value(anomaly.getValue())
+                .expected(anomaly.getExpected())
+                .deviation(anomaly.getZScore())
+                .detectedAt(anomaly.getDetectedAt())
+                .build();
+    }
+}
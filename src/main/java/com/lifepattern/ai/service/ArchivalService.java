@@ -0,0 +1,107 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.archive.DailyLogArchive;
+import com.lifepattern.ai.cache.CacheCoherenceService;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.repository.DailyLogRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves logs older than the horizon out of {@code daily_logs} into the {@link DailyLogArchive},
+ * one user and year at a time. Rows are locked, written to the segment and then deleted in the
+ * same transaction; if the delete fails to commit, the rows stay hot and the duplicate archived
+ * copies are hidden by the merged reads. No change events are published, since the logs still
+ * exist as far as stats and the search index are concerned.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArchivalService {
+    
+    static final String ARCHIVE_CHANNEL = "log-archive";
+    
+    /**
+     * Rolling-window statistics (weekly population sketches, forecast history) only read the
+     * hot table, so the horizon has to stay well beyond the longest of those windows.
+     */
+    private static final int MIN_HORIZON_DAYS = 180;
+    
+    private final DailyLogRepository dailyLogRepository;
+    private final UserRepository userRepository;
+    private final DailyLogArchive dailyLogArchive;
+    private final CacheCoherenceService cacheCoherenceService;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${archive.horizon-days}")
+    private int horizonDays;
+    
+    @PostConstruct
+    void init() {
+        if (horizonDays < MIN_HORIZON_DAYS) {
+            throw new IllegalStateException("archive.horizon-days must be at least " + MIN_HORIZON_DAYS);
+        }
+        cacheCoherenceService.registerEvictor(ARCHIVE_CHANNEL, key -> {
+            String[] parts = key.split(":");
+            dailyLogArchive.evict(Long.valueOf(parts[0]), Integer.parseInt(parts[1]));
+        });
+    }
+    
+    @Scheduled(cron = "${archive.cron}")
+    public void archiveOldLogs() {
+        long started = System.nanoTime();
+        LocalDate cutoff = LocalDate.now().minusDays(horizonDays);
+        List<Object[]> userYears = dailyLogRepository.findUserYearsBefore(cutoff);
+        if (userYears.isEmpty()) {
+            return;
+        }
+        int archived = 0;
+        int failed = 0;
+        for (Object[] userYear : userYears) {
+            Long userId = ((Number) userYear[0]).longValue();
+            int year = ((Number) userYear[1]).intValue();
+            try {
+                archived += transactionTemplate.execute(status -> archive(userId, year, cutoff));
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Failed to archive logs of user {} for {}", userId, year, e);
+            }
+        }
+        log.info("Archived {} logs older than {} from {} user-years ({} failed) in {} ms", archived, cutoff,
+                userYears.size(), failed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+    
+    private int archive(Long userId, int year, LocalDate cutoff) {
+        LocalDate end = LocalDate.of(year, 12, 31);
+        if (!end.isBefore(cutoff)) {
+            end = cutoff.minusDays(1);
+        }
+        // Blocks concurrent edits of these rows until they are gone from the hot table
+        List<DailyLog> logs = dailyLogRepository.lockForArchival(userId, LocalDate.of(year, 1, 1), end);
+        if (logs.isEmpty()) {
+            return 0;
+        }
+        User user = userRepository.getReferenceById(userId);
+        try {
+            dailyLogArchive.append(user, year, logs);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        dailyLogRepository.deleteAllInBatch(logs);
+        cacheCoherenceService.invalidateAfterCommit(ARCHIVE_CHANNEL, userId + ":" + year);
+        return logs.size();
+    }
+}
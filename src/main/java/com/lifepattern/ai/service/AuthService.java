@@ -1,11 +1,16 @@
 package com.lifepattern.ai.service;
 
+import com.lifepattern.ai.cache.CacheCoherenceService;
+import com.lifepattern.ai.config.CacheConfig;
 import com.lifepattern.ai.dto.*;
 import com.lifepattern.ai.entity.User;
 import com.lifepattern.ai.exception.BadRequestException;
 import com.lifepattern.ai.repository.UserRepository;
 import com.lifepattern.ai.security.JwtService;
+import com.lifepattern.ai.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +19,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.function.Function;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -23,6 +30,9 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
+    private final CacheCoherenceService cacheCoherenceService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordResetService passwordResetService;
     
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -88,17 +98,32 @@ public class AuthService {
                 .build();
     }
     
+    public void logout(String token) {
+        Claims claims = jwtService.extractClaim(token, Function.identity());
+        tokenRevocationService.revoke(claims);
+    }
+    
+    public void logoutAll(String email) {
+        tokenRevocationService.revokeAllFor(email);
+    }
+    
+    @Transactional
     public void forgotPassword(ForgotPasswordRequest request) {
-        // Mock implementation - in production, you would send an email with reset link
-        var user = userRepository.findByEmail(request.getEmail());
-        if (user.isEmpty()) {
-            // Don't reveal if email exists or not for security
-            return;
-        }
-        // Log or send email here
-        System.out.println("Password reset requested for: " + request.getEmail());
+        // Don't reveal if email exists or not for security
+        userRepository.findByEmail(request.getEmail()).ifPresent(passwordResetService::requestReset);
+    }
+    
+    @Transactional
+    public void resetPassword(ResetPasswordRequest request) {
+        var user = passwordResetService.consume(request.getToken());
+        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        userRepository.save(user);
+        cacheCoherenceService.invalidateAfterCommit(CacheConfig.USER_REGION, user.getId().toString());
+        // Sessions opened with the old password end with it
+        tokenRevocationService.revokeAllFor(user.getEmail());
     }
 
+    @CacheEvict(cacheNames = CacheConfig.LATEST_ANALYSIS_CACHE, key = "#currentEmail")
     @Transactional
     public UserResponse updateProfile(String currentEmail, UpdateProfileRequest request) {
         var user = userRepository.findByEmail(currentEmail)
@@ -116,6 +141,7 @@ public class AuthService {
         user.setName(request.getName());
         
         userRepository.save(user);
+        cacheCoherenceService.invalidateAfterCommit(CacheConfig.USER_REGION, user.getId().toString());
         
         return UserResponse.builder()
                 .id(user.getId().toString())
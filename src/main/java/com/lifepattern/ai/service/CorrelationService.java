@@ -0,0 +1,216 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.analytics.CoMomentAccumulator;
+import com.lifepattern.ai.analytics.RankCorrelation;
+import com.lifepattern.ai.dto.CorrelationResponse;
+import com.lifepattern.ai.dto.MetricCorrelationResponse;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.entity.UserCorrelationState;
+import com.lifepattern.ai.event.DailyLogChangedEvent;
+import com.lifepattern.ai.event.DailyLogSnapshot;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.repository.DailyLogRepository;
+import com.lifepattern.ai.repository.UserCorrelationStateRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cross-metric correlations from streaming co-moments. The same-day accumulator holds
+ * one observation per log; the next-day accumulator holds one (day, day + 1)
+ * observation per pair of consecutive logs, so a write only touches the changed log
+ * and its two calendar neighbours.
+ */
+@Service
+@RequiredArgsConstructor
+public class CorrelationService {
+    
+    private static final int METRICS = DailyLogMetric.count();
+    
+    private final UserCorrelationStateRepository stateRepository;
+    private final DailyLogRepository dailyLogRepository;
+    private final UserRepository userRepository;
+    
+    @Value("${analysis.correlation.spearman-window-days}")
+    private int spearmanWindowDays;
+    
+    @EventListener
+    public void onDailyLogChanged(DailyLogChangedEvent event) {
+        UserCorrelationState state = lockState(event.getUserId());
+        if (state.getSameDay().length == 0) {
+            // No state yet: build the co-moments from the stored logs, this one included
+            stateRepository.save(rebuild(event.getUserId()));
+            return;
+        }
+        
+        CoMomentAccumulator sameDay = CoMomentAccumulator.decode(METRICS, state.getSameDay());
+        CoMomentAccumulator nextDay = CoMomentAccumulator.decode(2 * METRICS, state.getNextDay());
+        
+        if (event.getPrevious() != null) {
+            sameDay.remove(event.getPrevious().getMetrics());
+            applyNeighbourPairs(nextDay, event.getUserId(), event.getPrevious(), false);
+        }
+        if (event.getCurrent() != null) {
+            sameDay.add(event.getCurrent().getMetrics());
+            applyNeighbourPairs(nextDay, event.getUserId(), event.getCurrent(), true);
+        }
+        
+        state.setSameDay(sameDay.encode());
+        state.setNextDay(nextDay.encode());
+    }
+    
+    @Transactional
+    public CorrelationResponse getCorrelations(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        UserCorrelationState state = stateRepository.findById(user.getId())
+                .orElseGet(() -> {
+                    lockState(user.getId());
+                    return stateRepository.save(rebuild(user.getId()));
+                });
+        CoMomentAccumulator sameDay = CoMomentAccumulator.decode(METRICS, state.getSameDay());
+        CoMomentAccumulator nextDay = CoMomentAccumulator.decode(2 * METRICS, state.getNextDay());
+        
+        // Rank correlation has no streaming form; it is computed over a bounded recent window
+        LocalDate end = LocalDate.now();
+        RecentWindow window = recentWindow(user, end.minusDays(spearmanWindowDays - 1), end);
+        
+        DailyLogMetric[] metrics = DailyLogMetric.values();
+        List<MetricCorrelationResponse> correlations = new ArrayList<>();
+        for (int i = 0; i < METRICS; i++) {
+            for (int j = i + 1; j < METRICS; j++) {
+                correlations.add(MetricCorrelationResponse.builder()
+                        .x(metrics[i].getFieldName())
+                        .y(metrics[j].getFieldName())
+                        .lag("same-day")
+                        .samples(sameDay.getCount())
+                        .pearson(finiteOrNull(sameDay.correlation(i, j)))
+                        .spearman(finiteOrNull(RankCorrelation.spearman(window.today[i], window.today[j], window.days)))
+                        .slope(finiteOrNull(sameDay.slope(i, j)))
+                        .build());
+            }
+        }
+        for (int i = 0; i < METRICS; i++) {
+            for (int j = 0; j < METRICS; j++) {
+                correlations.add(MetricCorrelationResponse.builder()
+                        .x(metrics[i].getFieldName())
+                        .y(metrics[j].getFieldName())
+                        .lag("next-day")
+                        .samples(nextDay.getCount())
+                        .pearson(finiteOrNull(nextDay.correlation(i, METRICS + j)))
+                        .spearman(finiteOrNull(RankCorrelation.spearman(
+                                window.pairToday[i], window.pairTomorrow[j], window.pairs)))
+                        .slope(finiteOrNull(nextDay.slope(i, METRICS + j)))
+                        .build());
+            }
+        }
+        
+        return CorrelationResponse.builder()
+                .userId(user.getId().toString())
+                .sameDaySamples(sameDay.getCount())
+                .nextDaySamples(nextDay.getCount())
+                .spearmanWindowDays(spearmanWindowDays)
+                .correlations(correlations)
+                .build();
+    }
+    
+    private void applyNeighbourPairs(CoMomentAccumulator nextDay, Long userId, DailyLogSnapshot log, boolean add) {
+        dailyLogRepository.findNeighbour(userId, log.getDate().minusDays(1), log.getLogId())
+                .ifPresent(previous -> applyPair(nextDay, DailyLogMetric.valuesOf(previous), log.getMetrics(), add));
+        dailyLogRepository.findNeighbour(userId, log.getDate().plusDays(1), log.getLogId())
+                .ifPresent(next -> applyPair(nextDay, log.getMetrics(), DailyLogMetric.valuesOf(next), add));
+    }
+    
+    static void applyPair(CoMomentAccumulator nextDay, double[] today, double[] tomorrow, boolean add) {
+        double[] pair = new double[2 * METRICS];
+        System.arraycopy(today, 0, pair, 0, METRICS);
+        System.arraycopy(tomorrow, 0, pair, METRICS, METRICS);
+        if (add) {
+            nextDay.add(pair);
+        } else {
+            nextDay.remove(pair);
+        }
+    }
+    
+    /**
+     * The user's state, locked; an empty one is created first if there is none.
+     */
+    private UserCorrelationState lockState(Long userId) {
+        Optional<UserCorrelationState> existing = stateRepository.findForUpdate(userId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        stateRepository.insertIfAbsent(userId);
+        return stateRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("No correlation state for user " + userId));
+    }
+    
+    private UserCorrelationState rebuild(Long userId) {
+        CoMomentAccumulator sameDay = new CoMomentAccumulator(METRICS);
+        CoMomentAccumulator nextDay = new CoMomentAccumulator(2 * METRICS);
+        List<DailyLog> logs = dailyLogRepository.findByUserOrderByDateDesc(userRepository.getReferenceById(userId));
+        for (int k = logs.size() - 1; k >= 0; k--) {
+            double[] values = DailyLogMetric.valuesOf(logs.get(k));
+            sameDay.add(values);
+            if (k > 0 && logs.get(k).getDate().plusDays(1).equals(logs.get(k - 1).getDate())) {
+                applyPair(nextDay, values, DailyLogMetric.valuesOf(logs.get(k - 1)), true);
+            }
+        }
+        return UserCorrelationState.builder()
+                .userId(userId)
+                .sameDay(sameDay.encode())
+                .nextDay(nextDay.encode())
+                .build();
+    }
+    
+    private RecentWindow recentWindow(User user, LocalDate start, LocalDate end) {
+        List<DailyLog> logs = dailyLogRepository.findByUserAndDateBetween(user, start, end);
+        RecentWindow window = new RecentWindow(logs.size());
+        for (int k = 0; k < logs.size(); k++) {
+            double[] values = DailyLogMetric.valuesOf(logs.get(k));
+            for (int m = 0; m < METRICS; m++) {
+                window.today[m][k] = values[m];
+            }
+            if (k + 1 < logs.size() && logs.get(k).getDate().plusDays(1).equals(logs.get(k + 1).getDate())) {
+                double[] next = DailyLogMetric.valuesOf(logs.get(k + 1));
+                for (int m = 0; m < METRICS; m++) {
+                    window.pairToday[m][window.pairs] = values[m];
+                    window.pairTomorrow[m][window.pairs] = next[m];
+                }
+                window.pairs++;
+            }
+        }
+        window.days = logs.size();
+        return window;
+    }
+    
+    private static Double finiteOrNull(double value) {
+        return Double.isFinite(value) ? value : null;
+    }
+    
+    private static class RecentWindow {
+        
+        private final double[][] today;
+        private final double[][] pairToday;
+        private final double[][] pairTomorrow;
+        private int days;
+        private int pairs;
+        
+        RecentWindow(int capacity) {
+            today = new double[METRICS][capacity];
+            pairToday = new double[METRICS][capacity];
+            pairTomorrow = new double[METRICS][capacity];
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.lifepattern.ai.service;
 
+import com.lifepattern.ai.archive.DailyLogArchive;
 import com.lifepattern.ai.dto.DailyLogRequest;
 import com.lifepattern.ai.dto.DailyLogResponse;
 import com.lifepattern.ai.entity.DailyLog;
 import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.event.DailyLogChangedEvent;
+import com.lifepattern.ai.event.DailyLogSnapshot;
 import com.lifepattern.ai.exception.BadRequestException;
 import com.lifepattern.ai.exception.ResourceNotFoundException;
 import com.lifepattern.ai.repository.DailyLogRepository;
 import com.lifepattern.ai.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,11 +25,16 @@ public class DailyLogService {
     
     private final DailyLogRepository dailyLogRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DailyLogArchive dailyLogArchive;
     
     @Transactional(readOnly = true)
     public List<DailyLogResponse> getAllLogs(String email) {
-        User user = getUserByEmail(email);
-        
+        return getAllLogs(getUserByEmail(email));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<DailyLogResponse> getAllLogs(User user) {
         return dailyLogRepository.findByUserOrderByDateDesc(user)
                 .stream()
                 .map(this::mapToResponse)
@@ -61,6 +70,7 @@ public class DailyLogService {
                 .build();
         
         dailyLogRepository.save(dailyLog);
+        eventPublisher.publishEvent(new DailyLogChangedEvent(user.getId(), null, DailyLogSnapshot.of(dailyLog)));
         return mapToResponse(dailyLog);
     }
     
@@ -69,6 +79,7 @@ public class DailyLogService {
         User user = getUserByEmail(email);
         
         DailyLog dailyLog = dailyLogRepository.findByIdAndUser(id, user)
+                .or(() -> dailyLogArchive.findById(user, id))
                 .orElseThrow(() -> new ResourceNotFoundException("Daily log not found with id: " + id));
         
         return mapToResponse(dailyLog);
@@ -78,10 +89,19 @@ public class DailyLogService {
     public void deleteLog(String email, Long id) {
         User user = getUserByEmail(email);
         
-        DailyLog dailyLog = dailyLogRepository.findByIdAndUser(id, user)
-                .orElseThrow(() -> new ResourceNotFoundException("Daily log not found with id: " + id));
+        DailyLog dailyLog = findWritableLog(user, id);
         
         dailyLogRepository.delete(dailyLog);
+        eventPublisher.publishEvent(new DailyLogChangedEvent(user.getId(), DailyLogSnapshot.of(dailyLog), null));
+    }
+    
+    private DailyLog findWritableLog(User user, Long id) {
+        return dailyLogRepository.findByIdAndUser(id, user).orElseThrow(() -> {
+            if (dailyLogArchive.findById(user, id).isPresent()) {
+                return new BadRequestException("Archived logs are read-only");
+            }
+            return new ResourceNotFoundException("Daily log not found with id: " + id);
+        });
     }
     
     private User getUserByEmail(String email) {
@@ -93,8 +113,7 @@ public class DailyLogService {
     public DailyLogResponse updateLog(String email, Long id, DailyLogRequest request) {
         User user = getUserByEmail(email);
         
-        DailyLog dailyLog = dailyLogRepository.findByIdAndUser(id, user)
-                .orElseThrow(() -> new ResourceNotFoundException("Daily log not found with id: " + id));
+        DailyLog dailyLog = findWritableLog(user, id);
         
         // Validate total hours
         double totalHours = request.getSleepHours() + request.getWorkHours() + 
@@ -110,6 +129,8 @@ public class DailyLogService {
             }
         }
         
+        DailyLogSnapshot previous = DailyLogSnapshot.of(dailyLog);
+        
         // Update all fields
         dailyLog.setDate(request.getDate());
         dailyLog.setSleepHours(request.getSleepHours());
@@ -121,10 +142,11 @@ public class DailyLogService {
         dailyLog.setNotes(request.getNotes());
         
         dailyLogRepository.save(dailyLog);
+        eventPublisher.publishEvent(new DailyLogChangedEvent(user.getId(), previous, DailyLogSnapshot.of(dailyLog)));
         return mapToResponse(dailyLog);
     }
     
-    private DailyLogResponse mapToResponse(DailyLog dailyLog) {
+    DailyLogResponse mapToResponse(DailyLog dailyLog) {
         return DailyLogResponse.builder()
                 .id(dailyLog.getId().toString())
                 .date(dailyLog.getDate())
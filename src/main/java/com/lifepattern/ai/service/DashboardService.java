@@ -0,0 +1,172 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.dto.AIAnalysisResponse;
+import com.lifepattern.ai.dto.DailyLogResponse;
+import com.lifepattern.ai.dto.DashboardResponse;
+import com.lifepattern.ai.dto.TrendDataResponse;
+import com.lifepattern.ai.dto.UserResponse;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.exception.BadRequestException;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Everything the frontend needs on load in one call. The user is resolved once, then the
+ * independent reads run concurrently, each in its own read-only transaction on a pool thread.
+ * A section that fails or misses the deadline is left null and reported under {@code errors},
+ * so one slow query never blanks the whole page. Each transaction times out at the deadline,
+ * so the queries of a section the page gave up on are cancelled and free their connection.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+    
+    static final String LOGS_SECTION = "logs";
+    static final String LATEST_ANALYSIS_SECTION = "latestAnalysis";
+    static final String TRENDS_SECTION = "trends";
+    
+    private final UserRepository userRepository;
+    private final DailyLogService dailyLogService;
+    private final AnalysisService analysisService;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${dashboard.threads}")
+    private int threads;
+    
+    @Value("${dashboard.queue-capacity}")
+    private int queueCapacity;
+    
+    @Value("${dashboard.timeout}")
+    private Duration timeout;
+    
+    @Value("${dashboard.trend-days}")
+    private int trendDays;
+    
+    private ExecutorService sectionExecutor;
+    
+    @PostConstruct
+    void init() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("dashboard-");
+        threadFactory.setDaemon(true);
+        sectionExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), threadFactory);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        sectionExecutor.shutdownNow();
+    }
+    
+    public DashboardResponse getDashboard(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        // One deadline for the whole page rather than one per section
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture<List<DailyLogResponse>> logs = submit(() -> dailyLogService.getAllLogs(user), deadline);
+        CompletableFuture<AIAnalysisResponse> latestAnalysis = submit(() -> findLatestAnalysis(user), deadline);
+        CompletableFuture<List<TrendDataResponse>> trends =
+                submit(() -> analysisService.getTrends(user, trendDays, null, null, null, null), deadline);
+        
+        Map<String, String> errors = new LinkedHashMap<>();
+        return DashboardResponse.builder()
+                .user(UserResponse.builder()
+                        .id(user.getId().toString())
+                        .email(user.getEmail())
+                        .name(user.getName())
+                        .build())
+                .logs(await(LOGS_SECTION, logs, deadline, errors))
+                .latestAnalysis(await(LATEST_ANALYSIS_SECTION, latestAnalysis, deadline, errors))
+                .trends(await(TRENDS_SECTION, trends, deadline, errors))
+                .errors(errors)
+                .build();
+    }
+    
+    private AIAnalysisResponse findLatestAnalysis(User user) {
+        try {
+            return analysisService.getLatestAnalysis(user);
+        } catch (ResourceNotFoundException e) {
+            // No analysis yet is an empty section, not a failed one
+            return null;
+        }
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> section, long deadline) {
+        try {
+            return CompletableFuture.supplyAsync(() -> runUntil(section, deadline), sectionExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Runs a section in a read-only transaction that times out at the deadline. The services'
+     * own transactions join it, so their queries get what is left as a query timeout.
+     */
+    private <T> T runUntil(Supplier<T> section, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            // Queued past the deadline; the page has already reported this section
+            return null;
+        }
+        TransactionTemplate bounded = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        bounded.setReadOnly(true);
+        // Transaction timeouts are whole seconds; rounded up so a section is never cut short
+        long second = TimeUnit.SECONDS.toNanos(1);
+        bounded.setTimeout((int) ((remaining + second - 1) / second));
+        return bounded.execute(status -> {
+            T result = section.get();
+            // Nothing to commit; rolling back also keeps a handled failure in a joined
+            // transaction, such as no analysis yet, from failing the section
+            status.setRollbackOnly();
+            return result;
+        });
+    }
+    
+    private <T> T await(String section, CompletableFuture<T> future, long deadline, Map<String, String> errors) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            log.warn("Dashboard section {} timed out after {}", section, timeout);
+            errors.put(section, "Timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.put(section, "Interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RejectedExecutionException) {
+                errors.put(section, "Server busy, try again later");
+            } else if (cause instanceof BadRequestException || cause instanceof ResourceNotFoundException) {
+                errors.put(section, cause.getMessage());
+            } else {
+                log.error("Dashboard section {} failed", section, cause);
+                errors.put(section, "Failed to load " + section);
+            }
+        }
+        return null;
+    }
+}
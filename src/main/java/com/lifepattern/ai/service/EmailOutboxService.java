@@ -0,0 +1,194 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.entity.EmailOutboxMessage;
+import com.lifepattern.ai.repository.EmailOutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outbox for outgoing email. Requests only insert a row; a sender on every instance claims due
+ * rows with {@code SKIP LOCKED} and leases them by pushing their next attempt past
+ * {@code mail.outbox.lease}, then talks to the SMTP server outside any transaction. Each result
+ * is recorded in its own short transaction, and failures are retried with exponential backoff
+ * until {@code mail.outbox.max-attempts} is reached. Messages of a sender that dies mid-batch
+ * become due again when their lease runs out.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+    
+    private static final int MAX_ERROR_LENGTH = 512;
+    
+    private final EmailOutboxMessageRepository messageRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile long pending;
+    
+    @Value("${mail.from}")
+    private String from;
+    
+    @Value("${mail.outbox.batch-size}")
+    private int batchSize;
+    
+    @Value("${mail.outbox.max-attempts}")
+    private int maxAttempts;
+    
+    @Value("${mail.outbox.initial-backoff}")
+    private Duration initialBackoff;
+    
+    @Value("${mail.outbox.max-backoff}")
+    private Duration maxBackoff;
+    
+    @Value("${mail.outbox.lease}")
+    private Duration lease;
+    
+    @Value("${mail.outbox.retention}")
+    private Duration retention;
+    
+    /**
+     * Queues an email; must run in the transaction of the change that triggers it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String recipient, String subject, String body) {
+        messageRepository.save(EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+    
+    @Scheduled(fixedDelayString = "${mail.outbox.send-interval}")
+    public void sendDue() {
+        try {
+            int claimed;
+            do {
+                // Whole seconds, so the lease still compares equal after a database round trip
+                LocalDateTime leaseUntil = LocalDateTime.now().plus(lease).truncatedTo(ChronoUnit.SECONDS);
+                List<EmailOutboxMessage> batch = new ArrayList<>();
+                claimed = transactionTemplate.execute(status -> claimBatch(leaseUntil, batch));
+                for (EmailOutboxMessage message : batch) {
+                    send(message, leaseUntil);
+                }
+            } while (claimed == batchSize);
+            pending = messageRepository.countByStatus(EmailOutboxMessage.Status.PENDING);
+        } catch (RuntimeException e) {
+            log.warn("Failed to send queued emails, will retry", e);
+        }
+    }
+    
+    @Scheduled(cron = "${mail.outbox.cleanup-cron}")
+    public void deleteFinishedMessages() {
+        Integer deleted = transactionTemplate.execute(status ->
+                messageRepository.deleteFinishedBefore(EmailOutboxMessage.Status.PENDING,
+                        LocalDateTime.now().minus(retention)));
+        log.info("Deleted {} sent or failed emails older than {}", deleted, retention);
+    }
+    
+    public long getSentCount() {
+        return sent.sum();
+    }
+    
+    public long getFailedCount() {
+        return failed.sum();
+    }
+    
+    public long getPendingCount() {
+        return pending;
+    }
+    
+    /**
+     * Leases up to a batch of due messages and adds the ones still worth sending to {@code batch};
+     * returns how many rows were claimed.
+     */
+    private int claimBatch(LocalDateTime leaseUntil, List<EmailOutboxMessage> batch) {
+        List<EmailOutboxMessage> due = messageRepository.claimDue(EmailOutboxMessage.Status.PENDING,
+                LocalDateTime.now(), PageRequest.of(0, batchSize));
+        for (EmailOutboxMessage message : due) {
+            if (message.getAttempts() >= maxAttempts) {
+                // Its last lease expired without a result, e.g. the sender died while sending
+                message.setStatus(EmailOutboxMessage.Status.FAILED);
+                failed.increment();
+                log.error("Giving up on email {} after {} attempts: {}", message.getId(), message.getAttempts(),
+                        message.getLastError());
+                continue;
+            }
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(leaseUntil);
+            batch.add(message);
+        }
+        return due.size();
+    }
+    
+    private void send(EmailOutboxMessage message, LocalDateTime leaseUntil) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.getRecipient());
+        mail.setSubject(message.getSubject());
+        mail.setText(message.getBody());
+        String error = null;
+        try {
+            mailSender.send(mail);
+        } catch (MailException e) {
+            error = String.valueOf(e.getMostSpecificCause().getMessage());
+        }
+        String result = error;
+        try {
+            transactionTemplate.executeWithoutResult(status -> record(message.getId(), leaseUntil, result));
+        } catch (RuntimeException e) {
+            // The lease runs out and the message is tried again
+            log.warn("Failed to record the result of email {}", message.getId(), e);
+        }
+    }
+    
+    private void record(Long id, LocalDateTime leaseUntil, String error) {
+        EmailOutboxMessage message = messageRepository.findForUpdate(id).orElse(null);
+        if (message == null || message.getStatus() != EmailOutboxMessage.Status.PENDING
+                || !leaseUntil.equals(message.getNextAttemptAt())) {
+            log.warn("Lease on email {} ran out before its result was recorded; another sender has it", id);
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (error == null) {
+            message.setStatus(EmailOutboxMessage.Status.SENT);
+            message.setSentAt(now);
+            message.setLastError(null);
+            sent.increment();
+            return;
+        }
+        message.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(EmailOutboxMessage.Status.FAILED);
+            failed.increment();
+            log.error("Giving up on email {} after {} attempts: {}", id, message.getAttempts(), error);
+        } else {
+            message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+            log.warn("Email {} failed on attempt {}, retrying: {}", id, message.getAttempts(), error);
+        }
+    }
+    
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,191 @@
+package com.lifepattern.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifepattern.ai.archive.DailyLogArchive;
+import com.lifepattern.ai.archive.TierMergingIterator;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.export.ExportDataset;
+import com.lifepattern.ai.export.ExportFormat;
+import com.lifepattern.ai.export.RowWriter;
+import com.lifepattern.ai.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a user's history from a forward-only JDBC cursor straight into the output, one row at
+ * a time, so memory use does not depend on how much history there is. Archived logs are merged
+ * in by date, one year's segment at a time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+    
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final DailyLogArchive dailyLogArchive;
+    
+    /**
+     * Rows fetched per round trip. MySQL Connector/J only streams with Integer.MIN_VALUE;
+     * any other value makes it buffer the whole result set.
+     */
+    @Value("${export.fetch-size}")
+    private int fetchSize;
+    
+    @Value("${export.bulk.threads}")
+    private int bulkThreads;
+    
+    public Long getUserId(String email) {
+        return userRepository.findByEmail(email)
+                .map(User::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+    
+    /**
+     * Writes the export to {@code out}, gzip-compressed when asked. The stream is left open.
+     */
+    public long export(Long userId, ExportDataset dataset, ExportFormat format, OutputStream out, boolean gzip)
+            throws IOException {
+        if (!gzip) {
+            return export(userId, dataset, format, out);
+        }
+        GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+        long rows = export(userId, dataset, format, compressed);
+        compressed.finish();
+        return rows;
+    }
+    
+    /**
+     * Writes every user's history to {@code directory/user_id=<id>/<dataset>.<format>.gz}, several
+     * users at a time. Each file is written under a temporary name and moved into place when
+     * complete, so a partial run never leaves a truncated file that looks finished.
+     */
+    public void exportAll(Path directory, ExportFormat format) {
+        List<Long> userIds = userRepository.findAllIds();
+        long startedAt = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("export-bulk-");
+        threadFactory.setDaemon(true);
+        ExecutorService bulkExecutor = Executors.newFixedThreadPool(bulkThreads, threadFactory);
+        try {
+            CompletableFuture.allOf(userIds.stream()
+                    .map(userId -> CompletableFuture.runAsync(
+                            () -> rows.addAndGet(exportUser(directory, userId, format)), bulkExecutor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            bulkExecutor.shutdown();
+        }
+        log.info("Exported {} rows for {} users to {} on {} threads in {} ms", rows.get(), userIds.size(),
+                directory, bulkThreads, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+    
+    private long exportUser(Path directory, Long userId, ExportFormat format) {
+        long rows = 0;
+        try {
+            Path userDirectory = Files.createDirectories(directory.resolve("user_id=" + userId));
+            for (ExportDataset dataset : ExportDataset.values()) {
+                Path file = userDirectory.resolve(dataset.getKey() + "." + format.getExtension() + ".gz");
+                Path partial = userDirectory.resolve(file.getFileName() + ".part");
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                    rows += export(userId, dataset, format, out, true);
+                }
+                Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export failed for user " + userId, e);
+        }
+        return rows;
+    }
+    
+    private long export(Long userId, ExportDataset dataset, ExportFormat format, OutputStream out)
+            throws IOException {
+        RowWriter writer = format.open(out, dataset.getColumns(), objectMapper);
+        int width = dataset.getColumns().length;
+        long rows = 0;
+        try (Stream<Object[]> cursor = jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(dataset.getSql(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, userId);
+            return statement;
+        }, (resultSet, rowNum) -> {
+            Object[] row = new Object[width];
+            for (int i = 0; i < width; i++) {
+                row[i] = exportValue(resultSet.getObject(i + 1));
+            }
+            return row;
+        })) {
+            Iterator<Object[]> source = cursor.iterator();
+            if (dataset == ExportDataset.LOGS) {
+                // Archived years are mapped one at a time as the merge reaches them
+                Iterator<DailyLog> logs = dailyLogArchive.iterate(userRepository.getReferenceById(userId), null, null);
+                Iterator<Object[]> archived = new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return logs.hasNext();
+                    }
+                    
+                    @Override
+                    public Object[] next() {
+                        return logRow(logs.next());
+                    }
+                };
+                source = new TierMergingIterator<>(source, archived, row -> (LocalDate) row[1]);
+            }
+            while (source.hasNext()) {
+                writer.write(source.next());
+                rows++;
+            }
+        }
+        writer.finish();
+        return rows;
+    }
+    
+    private static Object[] logRow(DailyLog log) {
+        return new Object[] {
+                log.getId(), log.getDate(), log.getSleepHours(), log.getWorkHours(), log.getStudyHours(),
+                log.getEntertainmentHours(), log.getEnergyLevel(), log.getStressLevel(), log.getNotes()
+        };
+    }
+    
+    private static Object exportValue(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,268 @@
+package com.lifepattern.ai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lifepattern.ai.analytics.HoltModel;
+import com.lifepattern.ai.cache.CacheCoherenceService;
+import com.lifepattern.ai.dto.ForecastPointResponse;
+import com.lifepattern.ai.dto.ForecastResponse;
+import com.lifepattern.ai.entity.BurnoutForecastModel;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.event.DailyLogChangedEvent;
+import com.lifepattern.ai.exception.BadRequestException;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.inference.BurnoutModel;
+import com.lifepattern.ai.repository.BurnoutForecastModelRepository;
+import com.lifepattern.ai.repository.DailyLogRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Burnout score forecasts from a per-user Holt model over recent daily scores.
+ * Models are refitted on a background pool after each committed log write and kept
+ * in a bounded in-memory cache in front of burnout_forecast_models, so serving a
+ * forecast is only a model evaluation per requested day. Users with too little history
+ * are stored and cached too, as an empty model, until their next write. Refits of a user
+ * are serialized on its model row.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ForecastService {
+    
+    static final String MODEL_CHANNEL = "forecast-models";
+    
+    private static final int MAX_DAYS = 30;
+    
+    private static final byte[] PLACEHOLDER = new byte[0];
+    
+    private final BurnoutForecastModelRepository modelRepository;
+    private final DailyLogRepository dailyLogRepository;
+    private final UserRepository userRepository;
+    private final AnalysisService analysisService;
+    private final BurnoutModel burnoutModel;
+    private final CacheCoherenceService cacheCoherenceService;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${forecast.history-days}")
+    private int historyDays;
+    
+    @Value("${forecast.maximum-cached-models}")
+    private long maximumCachedModels;
+    
+    @Value("${forecast.queue-capacity}")
+    private int queueCapacity;
+    
+    @Value("${forecast.bulk-chunk-size}")
+    private int bulkChunkSize;
+    
+    private Cache<Long, Fitted> models;
+    private ExecutorService refitExecutor;
+    private TransactionTemplate requiresNew;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicLong fits = new AtomicLong();
+    
+    @PostConstruct
+    void init() {
+        models = Caffeine.newBuilder().maximumSize(maximumCachedModels).build();
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("forecast-refit-");
+        threadFactory.setDaemon(true);
+        refitExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), threadFactory);
+        // After-commit listeners must not write through the finished transaction
+        requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        cacheCoherenceService.registerEvictor(MODEL_CHANNEL, key -> models.invalidate(Long.valueOf(key)));
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        refitExecutor.shutdownNow();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyLogChanged(DailyLogChangedEvent event) {
+        Long userId = event.getUserId();
+        // Writes that arrive while a refit is still queued are covered by that refit
+        if (!queued.add(userId)) {
+            return;
+        }
+        try {
+            refitExecutor.execute(() -> {
+                queued.remove(userId);
+                refit(List.of(userId));
+            });
+        } catch (RejectedExecutionException e) {
+            // Backlogged: drop the stale model so the next forecast fits on demand
+            queued.remove(userId);
+            models.invalidate(userId);
+            requiresNew.executeWithoutResult(status -> modelRepository.deleteById(userId));
+        }
+    }
+    
+    public ForecastResponse getForecast(String email, Integer days) {
+        int horizon = days != null ? days : 7;
+        if (horizon < 1 || horizon > MAX_DAYS) {
+            throw new BadRequestException("Forecast days must be between 1 and " + MAX_DAYS);
+        }
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        HoltModel model = model(user.getId())
+                .orElseThrow(() -> new BadRequestException("At least two daily logs in the last " + historyDays
+                        + " days are needed for a forecast."));
+        
+        // The trend is per logged day, so it is projected forward from today rather than
+        // across the gap since the last log
+        LocalDate today = LocalDate.now();
+        List<ForecastPointResponse> points = new ArrayList<>(horizon);
+        for (int day = 1; day <= horizon; day++) {
+            LocalDate date = today.plusDays(day);
+            int score = (int) Math.round(Math.max(0, Math.min(100, model.forecast(day))));
+            points.add(ForecastPointResponse.builder()
+                    .date(date)
+                    .burnoutScore(score)
+                    .riskLevel(analysisService.determineRiskLevel(score).name())
+                    .build());
+        }
+        
+        return ForecastResponse.builder()
+                .userId(user.getId().toString())
+                .lastLogDate(LocalDate.ofEpochDay(model.getLastEpochDay()))
+                .basedOnLogs(model.getObservations())
+                .typicalError(Math.round(model.getRmse() * 10) / 10.0)
+                .forecast(points)
+                .build();
+    }
+    
+    /**
+     * Refits every user's model, spreading chunks of users across all cores. Each
+     * chunk reads its users' history with one query and saves its models in one
+     * transaction.
+     */
+    @Scheduled(cron = "${forecast.refit-all-cron}")
+    public void refitAll() {
+        long started = System.nanoTime();
+        List<Long> userIds = userRepository.findAllIds();
+        int threads = Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("forecast-bulk-");
+        threadFactory.setDaemon(true);
+        ExecutorService bulkExecutor = Executors.newFixedThreadPool(threads, threadFactory);
+        AtomicInteger failed = new AtomicInteger();
+        try {
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (int from = 0; from < userIds.size(); from += bulkChunkSize) {
+                List<Long> chunk = userIds.subList(from, Math.min(userIds.size(), from + bulkChunkSize));
+                // A failed chunk keeps its previous models; the other chunks carry on
+                chunks.add(CompletableFuture.runAsync(() -> refit(chunk), bulkExecutor)
+                        .exceptionally(e -> {
+                            failed.addAndGet(chunk.size());
+                            log.warn("Forecast refit failed for {} users from user {}", chunk.size(), chunk.get(0), e);
+                            return null;
+                        }));
+            }
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+        } finally {
+            bulkExecutor.shutdown();
+        }
+        log.info("Refitted forecast models for {} users ({} failed) on {} threads in {} ms",
+                userIds.size() - failed.get(), failed.get(), threads,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+    
+    private Optional<HoltModel> model(Long userId) {
+        Fitted cached = models.getIfPresent(userId);
+        if (cached != null) {
+            return cached.model();
+        }
+        Optional<BurnoutForecastModel> stored = modelRepository.findById(userId);
+        if (stored.isEmpty()) {
+            // Users whose last write predates this feature or whose refit was shed; the
+            // refit stores and caches the outcome either way
+            return Optional.ofNullable(refit(List.of(userId)).get(userId));
+        }
+        byte[] encoded = stored.get().getModel();
+        Optional<HoltModel> model = encoded.length > 0 ? Optional.of(HoltModel.decode(encoded)) : Optional.empty();
+        // A refit that finished meanwhile is newer than this read
+        models.asMap().putIfAbsent(userId, new Fitted(0, model));
+        return model;
+    }
+    
+    private Map<Long, HoltModel> refit(List<Long> userIds) {
+        Map<Long, HoltModel> fitted = new HashMap<>();
+        long fit = transactionTemplate.execute(status -> {
+            // Locked in id order so overlapping refits queue up instead of deadlocking
+            List<Long> sorted = userIds.stream().sorted().toList();
+            sorted.forEach(modelRepository::insertIfAbsent);
+            List<BurnoutForecastModel> rows = modelRepository.findAllForUpdate(sorted);
+            long sequence = fits.incrementAndGet();
+            
+            List<DailyLog> history = dailyLogRepository.findHistorySince(userIds,
+                    LocalDate.now().minusDays(historyDays));
+            double[] series = new double[history.size()];
+            int start = 0;
+            while (start < history.size()) {
+                Long userId = history.get(start).getUser().getId();
+                int end = start;
+                while (end < history.size() && history.get(end).getUser().getId().equals(userId)) {
+                    series[end - start] = BurnoutModel.toScore(
+                            burnoutModel.score(DailyLogMetric.valuesOf(history.get(end))));
+                    end++;
+                }
+                if (end - start >= 2) {
+                    fitted.put(userId, HoltModel.fit(series, end - start, history.get(end - 1).getDate().toEpochDay()));
+                }
+                start = end;
+            }
+            
+            for (BurnoutForecastModel row : rows) {
+                HoltModel model = fitted.get(row.getUserId());
+                row.setModel(model != null ? model.encode() : PLACEHOLDER);
+            }
+            return sequence;
+        });
+        
+        for (Long userId : userIds) {
+            // Refits of a user take their sequence under its row lock, so a later sequence is
+            // a later fit even when the two finish out of order
+            models.asMap().merge(userId, new Fitted(fit, Optional.ofNullable(fitted.get(userId))),
+                    (cached, fresh) -> fresh.sequence() > cached.sequence() ? fresh : cached);
+            cacheCoherenceService.invalidate(MODEL_CHANNEL, userId.toString());
+        }
+        return fitted;
+    }
+    
+    private record Fitted(long sequence, Optional<HoltModel> model) {
+    }
+}
@@ -0,0 +1,285 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.analytics.DayRuns;
+import com.lifepattern.ai.dto.GoalRequest;
+import com.lifepattern.ai.dto.GoalResponse;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.Goal;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.entity.UserGoalState;
+import com.lifepattern.ai.event.DailyLogChangedEvent;
+import com.lifepattern.ai.exception.BadRequestException;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.repository.DailyLogRepository;
+import com.lifepattern.ai.repository.GoalRepository;
+import com.lifepattern.ai.repository.UserGoalStateRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Goals and their streaks. The dates the user logged, and for every goal the dates that met
+ * it, are kept as {@link DayRuns} in one {@link UserGoalState} row per user. A log write adds
+ * or removes at most two dates per goal, and streaks and weekly progress are read from the
+ * runs, so neither touches the user's history. Only creating or changing a goal replays the
+ * history once, for that goal.
+ * <p>
+ * Every path that reads or changes a user's goals first locks their state row, creating an
+ * empty placeholder if there is none, so goal changes and log writes of one user run one at a
+ * time. The placeholder stands for "no goals"; it is rebuilt from history when found with goals.
+ */
+@Service
+@RequiredArgsConstructor
+public class GoalService {
+    
+    private static final byte[] PLACEHOLDER = new byte[0];
+    
+    private final GoalRepository goalRepository;
+    private final UserGoalStateRepository goalStateRepository;
+    private final DailyLogRepository dailyLogRepository;
+    private final UserRepository userRepository;
+    
+    @Value("${goals.max-per-user}")
+    private int maxPerUser;
+    
+    @EventListener
+    public void onDailyLogChanged(DailyLogChangedEvent event) {
+        goalStateRepository.insertIfAbsent(event.getUserId());
+        UserGoalState state = goalStateRepository.findForUpdate(event.getUserId())
+                .orElseThrow(() -> new IllegalStateException("Goal state missing for user " + event.getUserId()));
+        List<Goal> goals = goalRepository.findByUserIdOrderById(event.getUserId());
+        if (goals.isEmpty()) {
+            // The logged dates are only kept while there are goals; the next goal rebuilds them
+            if (state.getRuns().length > 0) {
+                state.setRuns(PLACEHOLDER);
+            }
+            return;
+        }
+        
+        if (state.getRuns().length == 0) {
+            // Placeholder left while there were no goals: replay the logged and met
+            // days from the stored logs, which already hold this write
+            GoalRuns runs = new GoalRuns(replayLogged(event.getUserId()), new LinkedHashMap<>());
+            for (Goal goal : goals) {
+                runs.met().put(goal.getId(), replay(goal));
+            }
+            state.setRuns(encode(runs));
+            return;
+        }
+        
+        GoalRuns runs = decode(state.getRuns());
+        if (event.getPrevious() != null) {
+            runs.logged().remove(event.getPrevious().getDate());
+        }
+        if (event.getCurrent() != null) {
+            runs.logged().add(event.getCurrent().getDate());
+        }
+        for (Goal goal : goals) {
+            DayRuns met = runs.met().computeIfAbsent(goal.getId(), id -> replay(goal));
+            if (event.getPrevious() != null && goal.isMetBy(event.getPrevious().getMetrics())) {
+                met.remove(event.getPrevious().getDate());
+            }
+            if (event.getCurrent() != null && goal.isMetBy(event.getCurrent().getMetrics())) {
+                met.add(event.getCurrent().getDate());
+            }
+        }
+        state.setRuns(encode(runs));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<GoalResponse> getGoals(String email) {
+        User user = getUserByEmail(email);
+        GoalRuns runs = goalStateRepository.findById(user.getId())
+                .filter(state -> state.getRuns().length > 0)
+                .map(state -> decode(state.getRuns()))
+                .orElseGet(() -> new GoalRuns(new DayRuns(), new LinkedHashMap<>()));
+        LocalDate today = today(user);
+        
+        return goalRepository.findByUserIdOrderById(user.getId())
+                .stream()
+                .map(goal -> mapToResponse(goal, runs.met().getOrDefault(goal.getId(), new DayRuns()),
+                        runs.logged(), today))
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional
+    public GoalResponse createGoal(String email, GoalRequest request) {
+        User user = getUserByEmail(email);
+        UserGoalState state = lockState(user.getId());
+        if (goalRepository.countByUserId(user.getId()) >= maxPerUser) {
+            throw new BadRequestException("You can have at most " + maxPerUser + " goals");
+        }
+        
+        Goal goal = Goal.builder().userId(user.getId()).build();
+        apply(goal, request);
+        goalRepository.save(goal);
+        
+        GoalRuns runs = decode(state.getRuns());
+        DayRuns met = replay(goal);
+        runs.met().put(goal.getId(), met);
+        state.setRuns(encode(runs));
+        goalStateRepository.save(state);
+        
+        return mapToResponse(goal, met, runs.logged(), today(user));
+    }
+    
+    @Transactional
+    public GoalResponse updateGoal(String email, Long id, GoalRequest request) {
+        User user = getUserByEmail(email);
+        UserGoalState state = lockState(user.getId());
+        Goal goal = goalRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Goal not found"));
+        apply(goal, request);
+        
+        GoalRuns runs = decode(state.getRuns());
+        DayRuns met = replay(goal);
+        runs.met().put(goal.getId(), met);
+        state.setRuns(encode(runs));
+        goalStateRepository.save(state);
+        
+        return mapToResponse(goal, met, runs.logged(), today(user));
+    }
+    
+    @Transactional
+    public void deleteGoal(String email, Long id) {
+        User user = getUserByEmail(email);
+        UserGoalState state = lockState(user.getId());
+        Goal goal = goalRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Goal not found"));
+        goalRepository.delete(goal);
+        
+        GoalRuns runs = decode(state.getRuns());
+        runs.met().remove(goal.getId());
+        state.setRuns(encode(runs));
+        goalStateRepository.save(state);
+    }
+    
+    /**
+     * Locks the user's state row, creating it first if needed, and rebuilds the logged dates
+     * when it is still the placeholder.
+     */
+    private UserGoalState lockState(Long userId) {
+        goalStateRepository.insertIfAbsent(userId);
+        UserGoalState state = goalStateRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Goal state missing for user " + userId));
+        if (state.getRuns().length == 0) {
+            state.setRuns(encode(new GoalRuns(replayLogged(userId), new LinkedHashMap<>())));
+        }
+        return state;
+    }
+    
+    private void apply(Goal goal, GoalRequest request) {
+        DailyLogMetric metric;
+        try {
+            metric = DailyLogMetric.fromFieldName(request.getMetric());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown metric: " + request.getMetric());
+        }
+        goal.setName(request.getName().trim());
+        goal.setMetric(metric);
+        goal.setComparison(Goal.Comparison.valueOf(request.getComparison()));
+        goal.setThreshold(request.getThreshold());
+        goal.setWeeklyTarget(request.getWeeklyTarget() != null ? request.getWeeklyTarget() : 7);
+    }
+    
+    /**
+     * The dates that met the goal, from the user's whole history including archived logs.
+     */
+    private DayRuns replay(Goal goal) {
+        DayRuns met = new DayRuns();
+        User user = userRepository.getReferenceById(goal.getUserId());
+        for (DailyLog log : dailyLogRepository.findByUserOrderByDateDesc(user)) {
+            if (goal.isMetBy(DailyLogMetric.valuesOf(log))) {
+                met.add(log.getDate());
+            }
+        }
+        return met;
+    }
+    
+    private DayRuns replayLogged(Long userId) {
+        DayRuns logged = new DayRuns();
+        for (DailyLog log : dailyLogRepository.findByUserOrderByDateDesc(userRepository.getReferenceById(userId))) {
+            logged.add(log.getDate());
+        }
+        return logged;
+    }
+    
+    /**
+     * The logged dates, the number of goals, then each goal's id and met dates.
+     */
+    private static byte[] encode(GoalRuns runs) {
+        int size = runs.logged().encodedSize() + Short.BYTES;
+        for (DayRuns met : runs.met().values()) {
+            size += Long.BYTES + met.encodedSize();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        runs.logged().writeTo(buffer);
+        buffer.putShort((short) runs.met().size());
+        runs.met().forEach((goalId, met) -> {
+            buffer.putLong(goalId);
+            met.writeTo(buffer);
+        });
+        return buffer.array();
+    }
+    
+    private static GoalRuns decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        DayRuns logged = DayRuns.readFrom(buffer);
+        Map<Long, DayRuns> met = new LinkedHashMap<>();
+        int goals = buffer.getShort();
+        for (int i = 0; i < goals; i++) {
+            long goalId = buffer.getLong();
+            met.put(goalId, DayRuns.readFrom(buffer));
+        }
+        return new GoalRuns(logged, met);
+    }
+    
+    private static LocalDate today(User user) {
+        return LocalDate.now(User.zoneOf(user.getTimezone()));
+    }
+    
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+    
+    private GoalResponse mapToResponse(Goal goal, DayRuns met, DayRuns logged, LocalDate today) {
+        // A streak that reached yesterday stays alive until today is logged without meeting the goal
+        int currentStreak = met.contains(today) || logged.contains(today)
+                ? met.runLength(today)
+                : met.runLength(today.minusDays(1));
+        LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+        int daysMetThisWeek = met.countBetween(weekStart, weekStart.plusDays(6));
+        
+        return GoalResponse.builder()
+                .id(goal.getId().toString())
+                .name(goal.getName())
+                .metric(goal.getMetric().getFieldName())
+                .comparison(goal.getComparison().name())
+                .threshold(goal.getThreshold())
+                .weeklyTarget(goal.getWeeklyTarget())
+                .currentStreak(currentStreak)
+                .longestStreak(met.longestRun())
+                .lastMetDate(met.last())
+                .weekStart(weekStart)
+                .daysMetThisWeek(daysMetThisWeek)
+                .weeklyTargetMet(daysMetThisWeek >= goal.getWeeklyTarget())
+                .createdAt(goal.getCreatedAt())
+                .build();
+    }
+    
+    private record GoalRuns(DayRuns logged, Map<Long, DayRuns> met) {
+    }
+}
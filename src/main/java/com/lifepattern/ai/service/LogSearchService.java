@@ -0,0 +1,296 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.archive.DailyLogArchive;
+import com.lifepattern.ai.cache.CacheCoherenceService;
+import com.lifepattern.ai.dto.LogSearchHitResponse;
+import com.lifepattern.ai.dto.LogSearchResponse;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.OutboxEvent;
+import com.lifepattern.ai.entity.OutboxRelayState;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.event.DailyLogChangedEvent;
+import com.lifepattern.ai.exception.BadRequestException;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.repository.DailyLogRepository;
+import com.lifepattern.ai.repository.OutboxEventRepository;
+import com.lifepattern.ai.repository.OutboxRelayStateRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import com.lifepattern.ai.search.LogIndex;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over log notes from the local LogIndex. Committed log writes are
+ * applied to this instance's index directly and announced on the coherence channel,
+ * so other instances re-read just that log and update their own copy.
+ * <p>
+ * Neither path survives a lost message or a crash before the index commits, so the index
+ * also records the change feed offset it has caught up to. On startup and every
+ * {@code search.reconcile-interval} the logs changed after it are re-read from daily_logs.
+ * The index is rebuilt when it has no watermark, or when the outbox has already purged
+ * events it never caught up with.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogSearchService {
+    
+    static final String INDEX_CHANNEL = "log-search-index";
+    
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    
+    private final LogIndex logIndex;
+    private final DailyLogRepository dailyLogRepository;
+    private final UserRepository userRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelayStateRepository relayStateRepository;
+    private final DailyLogArchive dailyLogArchive;
+    private final CacheCoherenceService cacheCoherenceService;
+    private volatile boolean caughtUp;
+    
+    @Value("${search.max-results}")
+    private int maxResults;
+    
+    @Value("${search.rebuild-on-startup}")
+    private boolean rebuildOnStartup;
+    
+    @PostConstruct
+    void init() {
+        cacheCoherenceService.registerEvictor(INDEX_CHANNEL,
+                key -> CompletableFuture.runAsync(() -> reindexRemote(key)));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyLogChanged(DailyLogChangedEvent event) {
+        try {
+            if (event.getPrevious() != null && event.getCurrent() == null) {
+                logIndex.delete(event.getPrevious().getLogId(), event.getUserId());
+            } else {
+                logIndex.index(event.getCurrent().getLogId(), event.getUserId(),
+                        event.getCurrent().getDate(), event.getCurrent().getNotes());
+            }
+        } catch (IOException e) {
+            log.warn("Failed to update search index for user {}", event.getUserId(), e);
+        }
+        Long logId = event.getCurrent() != null ? event.getCurrent().getLogId() : event.getPrevious().getLogId();
+        // The owner travels with the id so peers can find the log once it is archived
+        cacheCoherenceService.invalidate(INDEX_CHANNEL, event.getUserId() + ":" + logId);
+    }
+    
+    public LogSearchResponse search(String email, String q, LocalDate from, LocalDate to, Integer limit) {
+        if (q == null || q.isBlank()) {
+            throw new BadRequestException("Search query 'q' is required");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        Query query;
+        try {
+            query = logIndex.parse(q);
+        } catch (ParseException e) {
+            throw new BadRequestException("Invalid search query: " + q);
+        }
+        
+        int size = Math.max(1, Math.min(maxResults, limit != null ? limit : 20));
+        LogIndex.SearchResult result;
+        try {
+            result = logIndex.search(user.getId(), query, from, to, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search index unavailable", e);
+        }
+        
+        List<LogSearchHitResponse> hits = result.getHits().stream()
+                .map(hit -> LogSearchHitResponse.builder()
+                        .logId(Long.toString(hit.getLogId()))
+                        .date(hit.getDate())
+                        .score(hit.getScore())
+                        .notes(hit.getNotes())
+                        .build())
+                .collect(Collectors.toList());
+        
+        return LogSearchResponse.builder()
+                .query(q)
+                .totalHits(result.getTotalHits())
+                .results(hits)
+                .build();
+    }
+    
+    @Scheduled(fixedDelayString = "${search.commit-interval}")
+    public void commit() {
+        try {
+            logIndex.commit();
+        } catch (IOException e) {
+            log.warn("Failed to commit search index", e);
+        }
+    }
+    
+    /**
+     * Catches the index up with the changes made while this instance was down, rebuilding it
+     * when that is not possible or a rebuild is forced by configuration.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfNeeded() {
+        CompletableFuture.runAsync(() -> {
+            if (rebuildOnStartup) {
+                rebuild();
+            } else {
+                reconcile(true);
+            }
+            caughtUp = true;
+        }).exceptionally(e -> {
+            log.warn("Search index startup reconciliation failed", e);
+            return null;
+        });
+    }
+    
+    /**
+     * Re-reads the logs changed after the watermark, for writes whose update never reached
+     * this instance's index.
+     */
+    @Scheduled(fixedDelayString = "${search.reconcile-interval}")
+    public void reconcile() {
+        if (!caughtUp) {
+            return;
+        }
+        try {
+            reconcile(false);
+        } catch (RuntimeException e) {
+            log.warn("Search index reconciliation failed", e);
+        }
+    }
+    
+    private synchronized void reconcile(boolean startup) {
+        long watermark = logIndex.getWatermark();
+        if (watermark < 0 || purgedSince(watermark)) {
+            log.info("Search index cannot be caught up from watermark {}, rebuilding", watermark);
+            rebuild();
+            return;
+        }
+        long reconciled = 0;
+        try {
+            List<OutboxEvent> page;
+            do {
+                page = outboxEventRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(
+                        watermark, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (OutboxEvent event : page) {
+                    if (OutboxService.DAILY_LOG.equals(event.getAggregateType())) {
+                        reindex(event.getAggregateId(), event.getUserId());
+                        reconciled++;
+                    }
+                    watermark = event.getFeedOffset();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logIndex.setWatermark(watermark);
+        if (startup || reconciled > 0) {
+            log.info("Reconciled {} log changes into the search index, now at offset {}", reconciled, watermark);
+        }
+    }
+    
+    /**
+     * Whether the outbox deleted events after the watermark, so they can no longer be replayed.
+     */
+    private boolean purgedSince(long watermark) {
+        Long oldest = outboxEventRepository.findOldestFeedOffset();
+        if (oldest != null) {
+            return oldest > watermark + 1;
+        }
+        return feedHead() > watermark;
+    }
+    
+    private long feedHead() {
+        return relayStateRepository.findById(OutboxRelayState.SINGLETON_ID)
+                .map(OutboxRelayState::getLastOffset)
+                .orElse(0L);
+    }
+    
+    private synchronized void rebuild() {
+        long started = System.nanoTime();
+        long indexed = 0;
+        // Changes sequenced after this are replayed by the next reconciliation
+        long head = feedHead();
+        try {
+            logIndex.deleteAll();
+            long lastId = 0;
+            List<DailyLog> page;
+            do {
+                page = dailyLogRepository.findByIdGreaterThanOrderByIdAsc(lastId,
+                        PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (DailyLog dailyLog : page) {
+                    logIndex.index(dailyLog.getId(), dailyLog.getUser().getId(), dailyLog.getDate(),
+                            dailyLog.getNotes());
+                    lastId = dailyLog.getId();
+                }
+                indexed += page.size();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            // After the table, so a log archived while it was being paged is picked up here
+            for (Long userId : dailyLogArchive.userIds()) {
+                Iterator<DailyLog> archived = dailyLogArchive.iterate(userRepository.getReferenceById(userId),
+                        null, null);
+                while (archived.hasNext()) {
+                    DailyLog dailyLog = archived.next();
+                    logIndex.index(dailyLog.getId(), userId, dailyLog.getDate(), dailyLog.getNotes());
+                    indexed++;
+                }
+            }
+            logIndex.setWatermark(head);
+            logIndex.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Rebuilt search index from {} logs in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    /**
+     * Brings one log up to date from daily_logs, or from the archive once it has moved there.
+     */
+    private void reindex(Long logId, Long userId) throws IOException {
+        Optional<DailyLog> dailyLog = dailyLogRepository.findById(logId);
+        if (dailyLog.isEmpty()) {
+            dailyLog = dailyLogArchive.findById(userRepository.getReferenceById(userId), logId);
+        }
+        if (dailyLog.isEmpty()) {
+            logIndex.delete(logId, userId);
+        } else {
+            logIndex.index(logId, userId, dailyLog.get().getDate(), dailyLog.get().getNotes());
+        }
+    }
+    
+    /**
+     * Applies a peer's change, keyed {@code userId:logId}.
+     */
+    private void reindexRemote(String key) {
+        int separator = key.indexOf(':');
+        Long userId = Long.valueOf(key.substring(0, separator));
+        Long logId = Long.valueOf(key.substring(separator + 1));
+        try {
+            reindex(logId, userId);
+        } catch (IOException e) {
+            log.warn("Failed to apply remote search index update for log {}", logId, e);
+        }
+    }
+}
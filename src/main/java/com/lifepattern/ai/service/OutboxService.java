@@ -0,0 +1,263 @@
+package com.lifepattern.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifepattern.ai.dto.ChangeEventResponse;
+import com.lifepattern.ai.entity.AIAnalysis;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.OutboxEvent;
+import com.lifepattern.ai.entity.OutboxRelayState;
+import com.lifepattern.ai.event.DailyLogChangedEvent;
+import com.lifepattern.ai.event.DailyLogSnapshot;
+import com.lifepattern.ai.outbox.OutboxSink;
+import com.lifepattern.ai.repository.OutboxEventRepository;
+import com.lifepattern.ai.repository.OutboxRelayStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transactional outbox for daily log and analysis changes. Events are inserted in the writer's
+ * transaction, so they exist exactly when the change does. A relay on every instance then takes
+ * the lock row, gives committed events consecutive offsets, and publishes them to the
+ * {@link OutboxSink}; the change feed serves the same events by offset straight from the table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    
+    static final String DAILY_LOG = "daily_log";
+    static final String AI_ANALYSIS = "ai_analysis";
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelayStateRepository relayStateRepository;
+    private final OutboxSink outboxSink;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<FeedWaiter> waiters = ConcurrentHashMap.newKeySet();
+    private final LongAdder published = new LongAdder();
+    
+    @Value("${outbox.batch-size}")
+    private int batchSize;
+    
+    @Value("${outbox.retention}")
+    private Duration retention;
+    
+    @Value("${outbox.feed.max-wait}")
+    private Duration maxWait;
+    
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onDailyLogChanged(DailyLogChangedEvent event) {
+        DailyLogSnapshot snapshot = event.isDelete() ? event.getPrevious() : event.getCurrent();
+        OutboxEvent.ChangeType changeType = event.isCreate() ? OutboxEvent.ChangeType.CREATED
+                : event.isDelete() ? OutboxEvent.ChangeType.DELETED : OutboxEvent.ChangeType.UPDATED;
+        String payload = null;
+        if (!event.isDelete()) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("date", snapshot.getDate());
+            data.put("sleepHours", snapshot.get(DailyLogMetric.SLEEP_HOURS));
+            data.put("workHours", snapshot.get(DailyLogMetric.WORK_HOURS));
+            data.put("studyHours", snapshot.get(DailyLogMetric.STUDY_HOURS));
+            data.put("entertainmentHours", snapshot.get(DailyLogMetric.ENTERTAINMENT_HOURS));
+            data.put("energyLevel", (int) snapshot.get(DailyLogMetric.ENERGY_LEVEL));
+            data.put("stressLevel", (int) snapshot.get(DailyLogMetric.STRESS_LEVEL));
+            data.put("notes", snapshot.getNotes());
+            payload = toJson(data);
+        }
+        record(DAILY_LOG, snapshot.getLogId(), event.getUserId(), changeType, payload);
+    }
+    
+    /**
+     * Records a newly saved analysis; must run in the transaction that saved it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAnalysisCreated(AIAnalysis analysis) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("burnoutScore", analysis.getBurnoutScore());
+        data.put("riskLevel", analysis.getRiskLevel().name());
+        data.put("modelVersion", analysis.getModelVersion());
+        data.put("suggestionText", analysis.getSuggestionText());
+        data.put("analyzedAt", analysis.getAnalyzedAt());
+        record(AI_ANALYSIS, analysis.getId(), analysis.getUser().getId(), OutboxEvent.ChangeType.CREATED, toJson(data));
+    }
+    
+    /**
+     * Events after {@code after}, oldest first. When there are none yet, completes as soon as
+     * the relay sequences new ones, or with an empty list once {@code wait} has passed.
+     */
+    public CompletableFuture<List<ChangeEventResponse>> poll(long after, int limit, Duration wait) {
+        List<ChangeEventResponse> events = read(after, limit);
+        if (!events.isEmpty() || wait.isZero() || wait.isNegative()) {
+            return CompletableFuture.completedFuture(events);
+        }
+        FeedWaiter waiter = new FeedWaiter(after, limit, new CompletableFuture<>());
+        waiters.add(waiter);
+        // An event may have been sequenced between the read and registering
+        List<ChangeEventResponse> raced = read(after, limit);
+        if (!raced.isEmpty()) {
+            waiter.result().complete(raced);
+        }
+        long waitMillis = Math.min(wait.toMillis(), maxWait.toMillis());
+        return waiter.result()
+                .completeOnTimeout(List.of(), waitMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> waiters.remove(waiter));
+    }
+    
+    public List<ChangeEventResponse> read(long after, int limit) {
+        return outboxEventRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(after, PageRequest.of(0, limit))
+                .stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+    
+    /**
+     * Sequences committed events, publishes them and wakes long polls. Runs on every instance;
+     * the lock row makes them take turns. Offsets and publishing progress are committed
+     * separately, so a sink failure delays delivery but never holds back the feed.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay-interval}")
+    public void relay() {
+        long head;
+        try {
+            head = transactionTemplate.execute(status -> assignOffsets());
+        } catch (RuntimeException e) {
+            log.warn("Failed to assign outbox offsets", e);
+            return;
+        }
+        wakeWaiters(head);
+        try {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> publishBatch());
+            } while (batch == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish outbox events, will retry", e);
+        }
+    }
+    
+    @Scheduled(cron = "${outbox.cleanup-cron}")
+    public void deletePublishedEvents() {
+        Integer deleted = transactionTemplate.execute(status -> {
+            OutboxRelayState state = lockState();
+            return outboxEventRepository.deletePublishedBefore(state.getLastPublishedOffset(),
+                    LocalDateTime.now().minus(retention));
+        });
+        log.info("Deleted {} published outbox events older than {}", deleted, retention);
+    }
+    
+    public long getPublishedCount() {
+        return published.sum();
+    }
+    
+    public int getWaiterCount() {
+        return waiters.size();
+    }
+    
+    private long assignOffsets() {
+        OutboxRelayState state = lockState();
+        long offset = state.getLastOffset();
+        List<OutboxEvent> pending;
+        do {
+            pending = outboxEventRepository.findByFeedOffsetIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+            for (OutboxEvent event : pending) {
+                event.setFeedOffset(++offset);
+            }
+            outboxEventRepository.flush();
+        } while (pending.size() == batchSize);
+        state.setLastOffset(offset);
+        return offset;
+    }
+    
+    private int publishBatch() {
+        OutboxRelayState state = lockState();
+        List<OutboxEvent> batch = outboxEventRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(
+                state.getLastPublishedOffset(), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            outboxSink.publish(batch.stream().map(this::mapToResponse).toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        state.setLastPublishedOffset(batch.get(batch.size() - 1).getFeedOffset());
+        published.add(batch.size());
+        return batch.size();
+    }
+    
+    private OutboxRelayState lockState() {
+        // The first relay to run creates the row; a concurrent insert on another instance
+        // fails on the primary key and that relay simply tries again on its next run
+        return relayStateRepository.lockById(OutboxRelayState.SINGLETON_ID)
+                .orElseGet(() -> relayStateRepository.saveAndFlush(
+                        OutboxRelayState.builder().id(OutboxRelayState.SINGLETON_ID).build()));
+    }
+    
+    private void wakeWaiters(long head) {
+        for (FeedWaiter waiter : waiters) {
+            if (waiter.after() < head && !waiter.result().isDone()) {
+                try {
+                    waiter.result().complete(read(waiter.after(), waiter.limit()));
+                } catch (RuntimeException e) {
+                    waiter.result().completeExceptionally(e);
+                }
+            }
+        }
+    }
+    
+    private void record(String aggregateType, Long aggregateId, Long userId,
+                        OutboxEvent.ChangeType changeType, String payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .userId(userId)
+                .changeType(changeType)
+                .payload(payload)
+                .build());
+    }
+    
+    private String toJson(Map<String, Object> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise outbox payload", e);
+        }
+    }
+    
+    private ChangeEventResponse mapToResponse(OutboxEvent event) {
+        return ChangeEventResponse.builder()
+                .offset(event.getFeedOffset())
+                .type(event.getAggregateType())
+                .id(event.getAggregateId().toString())
+                .userId(event.getUserId().toString())
+                .change(event.getChangeType().name())
+                .occurredAt(event.getCreatedAt())
+                .data(event.getPayload())
+                .build();
+    }
+    
+    private record FeedWaiter(long after, int limit, CompletableFuture<List<ChangeEventResponse>> result) {
+    }
+}
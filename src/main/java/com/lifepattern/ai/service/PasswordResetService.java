@@ -0,0 +1,98 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.entity.PasswordResetToken;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.exception.BadRequestException;
+import com.lifepattern.ai.repository.PasswordResetTokenRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues single-use reset tokens and delivers them through the email outbox. A new request
+ * or a successful reset invalidates every older token of the user.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordResetService {
+    
+    private static final int TOKEN_BYTES = 32;
+    
+    private final PasswordResetTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final EmailOutboxService emailOutboxService;
+    private final SecureRandom random = new SecureRandom();
+    
+    @Value("${password-reset.link}")
+    private String link;
+    
+    @Value("${password-reset.token-ttl}")
+    private Duration tokenTtl;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void requestReset(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime now = LocalDateTime.now();
+        
+        tokenRepository.invalidateAllFor(user.getId(), now);
+        tokenRepository.save(PasswordResetToken.builder()
+                .tokenHash(hash(token))
+                .userId(user.getId())
+                .expiresAt(now.plus(tokenTtl))
+                .build());
+        emailOutboxService.enqueue(user.getEmail(), "Reset your LifePattern AI password",
+                "Hi " + user.getName() + ",\n\n"
+                        + "Someone asked to reset the password of your LifePattern AI account. "
+                        + "Use this link within " + tokenTtl.toMinutes() + " minutes to choose a new one:\n\n"
+                        + link + "?token=" + token + "\n\n"
+                        + "If it wasn't you, you can ignore this email; your password stays the same.\n");
+        log.info("Password reset requested for user {}", user.getId());
+    }
+    
+    /**
+     * Consumes a token and returns its user, or fails if the token is unknown, used or expired.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public User consume(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        PasswordResetToken resetToken = tokenRepository.lockByTokenHash(hash(token))
+                .filter(t -> t.getUsedAt() == null && t.getExpiresAt().isAfter(now))
+                .orElseThrow(() -> new BadRequestException("Invalid or expired reset token"));
+        tokenRepository.invalidateAllFor(resetToken.getUserId(), now);
+        return userRepository.findById(resetToken.getUserId())
+                .orElseThrow(() -> new BadRequestException("Invalid or expired reset token"));
+    }
+    
+    @Scheduled(cron = "${password-reset.purge-cron}")
+    @Transactional
+    public void purgeExpiredTokens() {
+        int deleted = tokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        log.info("Deleted {} expired password reset tokens", deleted);
+    }
+    
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.analytics.MetricHistogram;
+import com.lifepattern.ai.config.CacheConfig;
+import com.lifepattern.ai.dto.MetricPercentileResponse;
+import com.lifepattern.ai.dto.PercentileResponse;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.PopulationSketch;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.event.DailyLogChangedEvent;
+import com.lifepattern.ai.event.DailyLogSnapshot;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.repository.DailyLogRepository;
+import com.lifepattern.ai.repository.PopulationSketchRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import com.lifepattern.ai.repository.UserStatsRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Population distribution of per-user weekly metric means, used to rank a user
+ * against everyone else without scanning daily_logs at request time.
+ * <p>
+ * Log writes turn into histogram deltas (the user's old weekly mean leaves its bin,
+ * the new one enters) which are buffered per instance after commit and flushed to
+ * this instance's partial rows. Every flush re-merges the base and all partials of
+ * the retained weeks into the in-memory view that requests read from. A periodic
+ * rebuild recomputes recent weeks from daily_logs into a fresh base, which also
+ * repairs drift from deltas lost by an instance that stopped before flushing.
+ * Deltas carry the week's {@link RollupGenerationService rebuild generation}, so ones
+ * already counted by a rebuild are dropped instead of flushed on top of it.
+ * <p>
+ * A user's own weekly sums are cached and evicted on their writes, on every instance.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PopulationStatsService {
+    
+    private static final int METRICS = DailyLogMetric.count();
+    private static final double[] QUANTILES = {0.10, 0.25, 0.50, 0.75, 0.90};
+    private static final String ROLLUP = "population";
+    private static final Duration REBUILD_MIN_INTERVAL = Duration.ofHours(1);
+    
+    private final PopulationSketchRepository sketchRepository;
+    private final DailyLogRepository dailyLogRepository;
+    private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final RollupGenerationService generationService;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${population.retained-weeks}")
+    private int retainedWeeks;
+    
+    @Value("${population.rebuild-weeks}")
+    private int rebuildWeeks;
+    
+    private final String source = "instance:" + UUID.randomUUID();
+    private final Map<WeekGeneration, MetricHistogram[]> pendingDeltas = new ConcurrentHashMap<>();
+    private final Map<LocalDate, MetricHistogram[]> view = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void init() {
+        ensureGenerations();
+        refreshView();
+    }
+    
+    @EventListener
+    public void onDailyLogChanged(DailyLogChangedEvent event) {
+        Set<LocalDate> weeks = new LinkedHashSet<>();
+        if (event.getPrevious() != null) {
+            weeks.add(weekStart(event.getPrevious().getDate()));
+        }
+        if (event.getCurrent() != null) {
+            weeks.add(weekStart(event.getCurrent().getDate()));
+        }
+        
+        // The delta is the difference of two reads of the user's week, so writes of one user
+        // queue on their stats row; otherwise two same-week writes could both count the user
+        userStatsRepository.insertIfAbsent(event.getUserId());
+        userStatsRepository.findForUpdate(event.getUserId());
+        
+        Map<WeekGeneration, MetricHistogram[]> deltas = new HashMap<>();
+        for (LocalDate week : weeks) {
+            deltas.put(new WeekGeneration(week, generationService.current(ROLLUP, week)), weeklyMeanDelta(event, week));
+            // Deferred to commit by the transaction-aware cache
+            weeklySumsCache().evict(weeklySumsKey(event.getUserId(), week));
+        }
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deltas.forEach(PopulationStatsService.this::bufferDelta);
+                }
+            });
+        } else {
+            deltas.forEach(this::bufferDelta);
+        }
+    }
+    
+    public PercentileResponse getPercentiles(String email, LocalDate date) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        LocalDate week = weekStart(date);
+        WeeklySums sums = weeklySumsCache().get(weeklySumsKey(user.getId(), week),
+                () -> weeklySums(user.getId(), week));
+        return toResponse(user.getId().toString(), week, histograms(week), sums);
+    }
+    
+    public PercentileResponse getPopulation(LocalDate date) {
+        LocalDate week = weekStart(date);
+        return toResponse(null, week, histograms(week), null);
+    }
+    
+    /**
+     * Writes this instance's buffered deltas to its partial rows, then re-merges the
+     * retained weeks from every instance's rows.
+     */
+    @Scheduled(fixedDelayString = "${population.flush-interval}")
+    public void flush() {
+        for (WeekGeneration key : new ArrayList<>(pendingDeltas.keySet())) {
+            MetricHistogram[] delta = pendingDeltas.remove(key);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (generationService.current(ROLLUP, key.week()) == key.generation()) {
+                        writePartial(key.week(), delta);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush population deltas for week {}, retrying later", key.week(), e);
+                bufferDelta(key, delta);
+            }
+        }
+        ensureGenerations();
+        refreshView();
+    }
+    
+    /**
+     * Replaces the base and all partials of the most recent weeks with histograms
+     * recomputed from daily_logs. Scheduled on every instance; a week another instance
+     * rebuilt within the last hour is skipped.
+     */
+    @Scheduled(cron = "${population.rebuild-cron}")
+    public void rebuild() {
+        LocalDate currentWeek = weekStart(LocalDate.now());
+        for (int i = 0; i < rebuildWeeks; i++) {
+            LocalDate week = currentWeek.minusWeeks(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebuildWeek(week));
+            } catch (RuntimeException e) {
+                log.warn("Population rebuild of week {} failed", week, e);
+            }
+        }
+        refreshView();
+    }
+    
+    private MetricHistogram[] weeklyMeanDelta(DailyLogChangedEvent event, LocalDate week) {
+        // Sums after the change; the sums before it follow by swapping the change back out
+        WeeklySums after = weeklySums(event.getUserId(), week);
+        WeeklySums before = after.copy();
+        if (event.getCurrent() != null && week.equals(weekStart(event.getCurrent().getDate()))) {
+            before.subtract(event.getCurrent());
+        }
+        if (event.getPrevious() != null && week.equals(weekStart(event.getPrevious().getDate()))) {
+            before.add(event.getPrevious());
+        }
+        
+        MetricHistogram[] delta = emptyHistograms();
+        for (int m = 0; m < METRICS; m++) {
+            if (before.count > 0) {
+                delta[m].add(before.mean(m), -1);
+            }
+            if (after.count > 0) {
+                delta[m].add(after.mean(m), 1);
+            }
+        }
+        return delta;
+    }
+    
+    private void bufferDelta(WeekGeneration key, MetricHistogram[] delta) {
+        pendingDeltas.merge(key, delta, (current, added) -> {
+            for (int m = 0; m < METRICS; m++) {
+                current[m].merge(added[m]);
+            }
+            return current;
+        });
+    }
+    
+    private void writePartial(LocalDate week, MetricHistogram[] delta) {
+        for (DailyLogMetric metric : DailyLogMetric.values()) {
+            if (delta[metric.ordinal()].isEmpty()) {
+                continue;
+            }
+            sketchRepository.insertIfAbsent(week, metric.name(), source);
+            PopulationSketch sketch = sketchRepository.findForUpdate(week, metric, source)
+                    .orElseThrow(() -> new IllegalStateException("No " + metric + " sketch for week " + week));
+            MetricHistogram histogram = MetricHistogram.decode(sketch.getHistogram());
+            histogram.merge(delta[metric.ordinal()]);
+            sketch.setHistogram(histogram.encode());
+        }
+    }
+    
+    private void rebuildWeek(LocalDate week) {
+        if (!generationService.beginRebuild(ROLLUP, week, REBUILD_MIN_INTERVAL)) {
+            return;
+        }
+        MetricHistogram[] histograms = emptyHistograms();
+        for (Object[] row : dailyLogRepository.findMetricMeansPerUser(week, week.plusDays(6))) {
+            for (int m = 0; m < METRICS; m++) {
+                histograms[m].add(((Number) row[m]).doubleValue(), 1);
+            }
+        }
+        sketchRepository.deleteByWeekStart(week);
+        sketchRepository.flush();
+        for (DailyLogMetric metric : DailyLogMetric.values()) {
+            sketchRepository.save(PopulationSketch.builder()
+                    .weekStart(week)
+                    .metric(metric)
+                    .source(PopulationSketch.BASE_SOURCE)
+                    .histogram(histograms[metric.ordinal()].encode())
+                    .build());
+        }
+    }
+    
+    /**
+     * Creates the generation rows of every week a rebuild can touch, and of next week.
+     */
+    private void ensureGenerations() {
+        LocalDate currentWeek = weekStart(LocalDate.now());
+        List<LocalDate> weeks = new ArrayList<>();
+        for (int i = -1; i < rebuildWeeks; i++) {
+            weeks.add(currentWeek.minusWeeks(i));
+        }
+        generationService.ensure(ROLLUP, weeks);
+    }
+    
+    private void refreshView() {
+        LocalDate currentWeek = weekStart(LocalDate.now());
+        List<LocalDate> weeks = new ArrayList<>();
+        for (int i = 0; i < retainedWeeks; i++) {
+            weeks.add(currentWeek.minusWeeks(i));
+        }
+        Map<LocalDate, MetricHistogram[]> merged = mergeRows(sketchRepository.findByWeekStartIn(weeks));
+        for (LocalDate week : weeks) {
+            view.put(week, merged.getOrDefault(week, emptyHistograms()));
+        }
+        view.keySet().retainAll(weeks);
+    }
+    
+    private MetricHistogram[] histograms(LocalDate week) {
+        MetricHistogram[] histograms = view.get(week);
+        if (histograms != null) {
+            return histograms;
+        }
+        // Older than the retained window: merge straight from the table
+        return mergeRows(sketchRepository.findByWeekStartIn(List.of(week)))
+                .getOrDefault(week, emptyHistograms());
+    }
+    
+    private static Map<LocalDate, MetricHistogram[]> mergeRows(List<PopulationSketch> rows) {
+        Map<LocalDate, MetricHistogram[]> merged = new HashMap<>();
+        for (PopulationSketch row : rows) {
+            merged.computeIfAbsent(row.getWeekStart(), week -> emptyHistograms())[row.getMetric().ordinal()]
+                    .merge(MetricHistogram.decode(row.getHistogram()));
+        }
+        return merged;
+    }
+    
+    private PercentileResponse toResponse(String userId, LocalDate week, MetricHistogram[] histograms,
+                                          WeeklySums sums) {
+        Map<String, MetricPercentileResponse> metrics = new LinkedHashMap<>();
+        for (DailyLogMetric metric : DailyLogMetric.values()) {
+            MetricHistogram histogram = histograms[metric.ordinal()];
+            Double value = sums != null && sums.count > 0 ? round(sums.mean(metric.ordinal())) : null;
+            double[] quantiles = new double[QUANTILES.length];
+            for (int i = 0; i < QUANTILES.length; i++) {
+                quantiles[i] = histogram.quantile(QUANTILES[i]);
+            }
+            metrics.put(metric.getFieldName(), MetricPercentileResponse.builder()
+                    .value(value)
+                    .percentile(value != null ? finiteOrNull(round(histogram.percentileRank(value))) : null)
+                    .p10(finiteOrNull(quantiles[0]))
+                    .p25(finiteOrNull(quantiles[1]))
+                    .p50(finiteOrNull(quantiles[2]))
+                    .p75(finiteOrNull(quantiles[3]))
+                    .p90(finiteOrNull(quantiles[4]))
+                    .build());
+        }
+        
+        return PercentileResponse.builder()
+                .userId(userId)
+                .weekStart(week)
+                .populationSize(histograms[0].getTotal())
+                .metrics(metrics)
+                .build();
+    }
+    
+    private WeeklySums weeklySums(Long userId, LocalDate week) {
+        Object[] row = dailyLogRepository.findMetricSums(userId, week, week.plusDays(6)).get(0);
+        WeeklySums sums = new WeeklySums();
+        sums.count = ((Number) row[0]).longValue();
+        for (int m = 0; m < METRICS; m++) {
+            sums.sums[m] = row[m + 1] == null ? 0 : ((Number) row[m + 1]).doubleValue();
+        }
+        return sums;
+    }
+    
+    private Cache weeklySumsCache() {
+        return cacheManager.getCache(CacheConfig.WEEKLY_SUMS_CACHE);
+    }
+    
+    private static String weeklySumsKey(Long userId, LocalDate week) {
+        return userId + ":" + week;
+    }
+    
+    private static MetricHistogram[] emptyHistograms() {
+        MetricHistogram[] histograms = new MetricHistogram[METRICS];
+        for (int m = 0; m < METRICS; m++) {
+            histograms[m] = new MetricHistogram();
+        }
+        return histograms;
+    }
+    
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(DayOfWeek.MONDAY);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+    
+    private static Double finiteOrNull(double value) {
+        return Double.isFinite(value) ? value : null;
+    }
+    
+    private record WeekGeneration(LocalDate week, long generation) {
+    }
+    
+    private static class WeeklySums {
+        
+        private long count;
+        private final double[] sums = new double[METRICS];
+        
+        double mean(int metric) {
+            return sums[metric] / count;
+        }
+        
+        void add(DailyLogSnapshot log) {
+            count++;
+            for (int m = 0; m < METRICS; m++) {
+                sums[m] += log.getMetrics()[m];
+            }
+        }
+        
+        void subtract(DailyLogSnapshot log) {
+            count--;
+            for (int m = 0; m < METRICS; m++) {
+                sums[m] -= log.getMetrics()[m];
+            }
+        }
+        
+        WeeklySums copy() {
+            WeeklySums copy = new WeeklySums();
+            copy.count = count;
+            System.arraycopy(sums, 0, copy.sums, 0, METRICS);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.cache.CacheCoherenceService;
+import com.lifepattern.ai.config.CacheConfig;
+import com.lifepattern.ai.dto.ReminderSettingsRequest;
+import com.lifepattern.ai.dto.ReminderSettingsResponse;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.event.DailyLogChangedEvent;
+import com.lifepattern.ai.event.DailyLogSnapshot;
+import com.lifepattern.ai.exception.BadRequestException;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.reminder.DailyUserSet;
+import com.lifepattern.ai.reminder.TimingWheel;
+import com.lifepattern.ai.repository.DailyLogRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Daily "you haven't logged today" reminders. Every user's next reminder sits in a timing wheel,
+ * so a tick only touches the users who are due. Due users are dispatched in batches: one query
+ * re-reads their settings (dropping entries a settings change made stale), users flagged in the
+ * in-memory "logged today" set are skipped, the rest are confirmed against daily_logs and get an
+ * email through the outbox. Only instances with {@code reminder.enabled} send reminders; settings
+ * changes reach them through the cache coherence channel. That channel is lossy, so an entry that
+ * fires with outdated settings is replaced by the next occurrence under the current ones, and a
+ * periodic pass re-reads the settings changed since the last one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReminderService {
+    
+    static final String REMINDER_CHANNEL = "reminders";
+    
+    // Local dates run from UTC-1 to UTC+1 at any instant (offsets span -12:00 to +14:00), plus a spare
+    private static final int TRACKED_DAYS = 4;
+    private static final Duration MIN_WHEEL_HORIZON = Duration.ofDays(2);
+    private static final long MAX_RETRY_DELAY_MILLIS = Duration.ofMinutes(1).toMillis();
+    
+    private final UserRepository userRepository;
+    private final DailyLogRepository dailyLogRepository;
+    private final EmailOutboxService emailOutboxService;
+    private final CacheCoherenceService cacheCoherenceService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Object lock = new Object();
+    private final DailyUserSet loggedToday = new DailyUserSet(TRACKED_DAYS);
+    private final DailyUserSet reminded = new DailyUserSet(TRACKED_DAYS);
+    // Batches that failed, retried on later ticks; only touched by the scheduler thread
+    private final List<RetryBatch> retries = new ArrayList<>();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private TimingWheel wheel;
+    private volatile LocalDateTime reconciledUpTo;
+    
+    @Value("${reminder.enabled}")
+    private boolean enabled;
+    
+    @Value("${reminder.tick-interval}")
+    private long tickMillis;
+    
+    @Value("${reminder.wheel-size}")
+    private int wheelSize;
+    
+    @Value("${reminder.wheel-levels}")
+    private int wheelLevels;
+    
+    @Value("${reminder.batch-size}")
+    private int batchSize;
+    
+    @Value("${reminder.max-attempts}")
+    private int maxAttempts;
+    
+    @Value("${reminder.reconcile-interval}")
+    private long reconcileMillis;
+    
+    /**
+     * Rows fetched per round trip by the startup pass; Integer.MIN_VALUE streams on MySQL.
+     */
+    @Value("${reminder.fetch-size}")
+    private int fetchSize;
+    
+    @Value("${reminder.link}")
+    private String link;
+    
+    @PostConstruct
+    void init() {
+        wheel = new TimingWheel(tickMillis, wheelSize, wheelLevels, System.currentTimeMillis());
+        if (wheel.getHorizonMillis() < MIN_WHEEL_HORIZON.toMillis()) {
+            throw new IllegalStateException("The reminder wheel must reach at least " + MIN_WHEEL_HORIZON);
+        }
+        cacheCoherenceService.registerEvictor(REMINDER_CHANNEL, key -> {
+            if (enabled) {
+                CompletableFuture.runAsync(() -> reload(Long.parseLong(key)));
+            }
+        });
+    }
+    
+    @Transactional(readOnly = true)
+    public ReminderSettingsResponse getSettings(String email) {
+        return mapToResponse(getUserByEmail(email));
+    }
+    
+    @Transactional
+    public ReminderSettingsResponse updateSettings(String email, ReminderSettingsRequest request) {
+        User user = getUserByEmail(email);
+        ZoneId zone;
+        try {
+            zone = ZoneId.of(request.getTimezone());
+        } catch (DateTimeException e) {
+            throw new BadRequestException("Unknown timezone: " + request.getTimezone());
+        }
+        user.setTimezone(zone.getId());
+        user.setReminderTime(request.getReminderTime());
+        user.setReminderUpdatedAt(LocalDateTime.now());
+        userRepository.save(user);
+        cacheCoherenceService.invalidateAfterCommit(CacheConfig.USER_REGION, user.getId().toString());
+        // The old wheel entry is left in place and replaced when it fires with outdated settings
+        cacheCoherenceService.invalidateAfterCommit(REMINDER_CHANNEL, user.getId().toString());
+        return mapToResponse(user);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyLogChanged(DailyLogChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        DailyLogSnapshot previous = event.getPrevious();
+        DailyLogSnapshot current = event.getCurrent();
+        synchronized (lock) {
+            if (previous != null && isTracked(previous.getDate())) {
+                loggedToday.remove(event.getUserId(), previous.getDate());
+            }
+            if (current != null && isTracked(current.getDate())) {
+                loggedToday.add(event.getUserId(), current.getDate());
+            }
+        }
+    }
+    
+    /**
+     * Fills the wheel and the "logged today" set from the database in one streaming pass each.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        CompletableFuture.runAsync(this::rebuild).exceptionally(e -> {
+            log.warn("Reminder rebuild failed", e);
+            return null;
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${reminder.tick-interval}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<RetryBatch> ready = new ArrayList<>();
+        retries.removeIf(retry -> retry.notBeforeMillis() <= now && ready.add(retry));
+        List<DueReminder> due = new ArrayList<>();
+        synchronized (lock) {
+            wheel.advanceTo(now, (userId, deadline, epochDay) ->
+                    due.add(new DueReminder(userId, deadline, LocalDate.ofEpochDay(epochDay))));
+        }
+        for (RetryBatch retry : ready) {
+            dispatchBatch(retry.reminders(), retry.attempts());
+        }
+        for (int from = 0; from < due.size(); from += batchSize) {
+            dispatchBatch(List.copyOf(due.subList(from, Math.min(from + batchSize, due.size()))), 0);
+        }
+    }
+    
+    /**
+     * Re-reads the settings changed since the last pass and schedules their next reminder. The
+     * entry their change message already scheduled, if it arrived, collapses with this one when
+     * both fire.
+     */
+    @Scheduled(fixedDelayString = "${reminder.reconcile-interval}", initialDelayString = "${reminder.reconcile-interval}")
+    public void reconcile() {
+        LocalDateTime since = reconciledUpTo;
+        if (!enabled || since == null) {
+            return;
+        }
+        // Overlaps the previous pass, for changes that committed late
+        LocalDateTime upTo = LocalDateTime.now().minus(Duration.ofMillis(reconcileMillis));
+        Instant now = Instant.now();
+        AtomicLong users = new AtomicLong();
+        jdbcTemplate.query("SELECT id, timezone, reminder_time FROM users "
+                        + "WHERE reminder_updated_at >= ? AND reminder_time IS NOT NULL",
+                resultSet -> {
+                    scheduleNext(resultSet.getLong(1), User.zoneOf(resultSet.getString(2)),
+                            resultSet.getObject(3, LocalTime.class), now);
+                    users.incrementAndGet();
+                }, since);
+        reconciledUpTo = upTo;
+        log.debug("Reconciled the reminders of {} users changed since {}", users.get(), since);
+    }
+    
+    public long getScheduledCount() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+    
+    public long getSentCount() {
+        return sent.sum();
+    }
+    
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+    
+    private void dispatchBatch(List<DueReminder> batch, int failedAttempts) {
+        BatchOutcome outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> dispatch(batch));
+        } catch (RuntimeException e) {
+            retryOrDrop(batch, failedAttempts + 1, e);
+            return;
+        }
+        synchronized (lock) {
+            for (DueReminder reminder : outcome.processed()) {
+                reminded.add(reminder.userId(), reminder.date());
+            }
+            for (DueReminder reminder : outcome.next()) {
+                wheel.schedule(reminder.userId(), reminder.deadlineMillis(), reminder.date().toEpochDay());
+            }
+        }
+        sent.add(outcome.notified());
+        suppressed.add(outcome.processed().size() - outcome.notified());
+    }
+    
+    /**
+     * Splits a failed batch so the reminders that go through are not held back by one that keeps
+     * failing. A single reminder is retried with backoff, then given up on for that day.
+     */
+    private void retryOrDrop(List<DueReminder> batch, int attempts, RuntimeException e) {
+        long now = System.currentTimeMillis();
+        if (batch.size() > 1) {
+            log.warn("Failed to dispatch {} reminders, retrying in halves", batch.size(), e);
+            int middle = batch.size() / 2;
+            retries.add(new RetryBatch(batch.subList(0, middle), 0, now));
+            retries.add(new RetryBatch(batch.subList(middle, batch.size()), 0, now));
+            return;
+        }
+        DueReminder reminder = batch.get(0);
+        if (attempts < maxAttempts) {
+            log.warn("Failed to dispatch the reminder of user {} for {}, attempt {}",
+                    reminder.userId(), reminder.date(), attempts, e);
+            long delay = Math.min(tickMillis << Math.min(attempts, 20), MAX_RETRY_DELAY_MILLIS);
+            retries.add(new RetryBatch(batch, attempts, now + delay));
+            return;
+        }
+        log.error("Giving up on the reminder of user {} for {} after {} attempts",
+                reminder.userId(), reminder.date(), attempts, e);
+        // About a day later; if that misses the local time, it fires as outdated and is corrected
+        synchronized (lock) {
+            wheel.schedule(reminder.userId(), reminder.deadlineMillis() + Duration.ofDays(1).toMillis(),
+                    reminder.date().plusDays(1).toEpochDay());
+        }
+    }
+    
+    private BatchOutcome dispatch(List<DueReminder> batch) {
+        Map<Long, Object[]> targets = new HashMap<>();
+        for (Object[] row : userRepository.findReminderTargets(batch.stream().map(DueReminder::userId).distinct().toList())) {
+            targets.put((Long) row[0], row);
+        }
+        long now = System.currentTimeMillis();
+        Set<DueReminder> unique = new HashSet<>();
+        List<DueReminder> processed = new ArrayList<>();
+        List<DueReminder> next = new ArrayList<>();
+        List<DueReminder> unlogged = new ArrayList<>();
+        for (DueReminder reminder : batch) {
+            Object[] target = targets.get(reminder.userId());
+            if (target == null || target[4] == null) {
+                continue;
+            }
+            ZoneId zone = User.zoneOf((String) target[3]);
+            LocalTime time = (LocalTime) target[4];
+            // The same reminder queued twice
+            if (!unique.add(reminder)) {
+                continue;
+            }
+            // Outdated by a settings change whose message may never have arrived
+            if (occurrence(reminder.date(), time, zone) != reminder.deadlineMillis()) {
+                next.add(nextReminder(reminder.userId(), zone, time, Instant.ofEpochMilli(now)));
+                continue;
+            }
+            boolean logged;
+            synchronized (lock) {
+                if (reminded.contains(reminder.userId(), reminder.date())) {
+                    continue;
+                }
+                logged = loggedToday.contains(reminder.userId(), reminder.date());
+            }
+            processed.add(reminder);
+            // Normally the next day; after an outage, the first day still ahead
+            LocalDate nextDate = reminder.date().plusDays(1);
+            while (occurrence(nextDate, time, zone) <= now) {
+                nextDate = nextDate.plusDays(1);
+            }
+            next.add(new DueReminder(reminder.userId(), occurrence(nextDate, time, zone), nextDate));
+            if (!logged) {
+                unlogged.add(reminder);
+            }
+        }
+        if (unlogged.isEmpty()) {
+            return new BatchOutcome(processed, next, 0);
+        }
+        
+        // Logs written on other instances never reached the in-memory set
+        LocalDate startDate = unlogged.stream().map(DueReminder::date).min(LocalDate::compareTo).orElseThrow();
+        LocalDate endDate = unlogged.stream().map(DueReminder::date).max(LocalDate::compareTo).orElseThrow();
+        Set<UserDate> loggedElsewhere = new HashSet<>();
+        for (Object[] row : dailyLogRepository.findLoggedDates(
+                unlogged.stream().map(DueReminder::userId).distinct().toList(), startDate, endDate)) {
+            loggedElsewhere.add(new UserDate((Long) row[0], (LocalDate) row[1]));
+        }
+        int notified = 0;
+        for (DueReminder reminder : unlogged) {
+            if (loggedElsewhere.contains(new UserDate(reminder.userId(), reminder.date()))) {
+                continue;
+            }
+            Object[] target = targets.get(reminder.userId());
+            emailOutboxService.enqueue((String) target[1], "Don't forget today's log",
+                    "Hi " + target[2] + ",\n\n"
+                            + "You haven't logged " + reminder.date() + " yet. It only takes a minute:\n\n"
+                            + link + "\n\n"
+                            + "You can change the reminder time or turn reminders off in your settings.\n");
+            notified++;
+        }
+        return new BatchOutcome(processed, next, notified);
+    }
+    
+    private void rebuild() {
+        long started = System.nanoTime();
+        LocalDateTime rebuiltAt = LocalDateTime.now();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        AtomicLong logs = new AtomicLong();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT user_id, date FROM daily_logs WHERE date BETWEEN ? AND ?",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setDate(1, Date.valueOf(today.minusDays(1)));
+            statement.setDate(2, Date.valueOf(today.plusDays(1)));
+            return statement;
+        }, resultSet -> {
+            long userId = resultSet.getLong(1);
+            LocalDate date = resultSet.getDate(2).toLocalDate();
+            synchronized (lock) {
+                loggedToday.add(userId, date);
+            }
+            logs.incrementAndGet();
+        });
+        
+        Instant now = Instant.now();
+        AtomicLong users = new AtomicLong();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id, timezone, reminder_time FROM users WHERE reminder_time IS NOT NULL",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, resultSet -> {
+            scheduleNext(resultSet.getLong(1), User.zoneOf(resultSet.getString(2)),
+                    resultSet.getObject(3, LocalTime.class), now);
+            users.incrementAndGet();
+        });
+        reconciledUpTo = rebuiltAt;
+        log.info("Scheduled reminders for {} users and loaded {} recent logs in {} ms",
+                users.get(), logs.get(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    private void reload(long userId) {
+        try {
+            for (Object[] row : userRepository.findReminderTargets(List.of(userId))) {
+                if (row[4] != null) {
+                    scheduleNext(userId, User.zoneOf((String) row[3]), (LocalTime) row[4], Instant.now());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to reschedule the reminder of user {}", userId, e);
+        }
+    }
+    
+    private void scheduleNext(long userId, ZoneId zone, LocalTime time, Instant after) {
+        DueReminder reminder = nextReminder(userId, zone, time, after);
+        synchronized (lock) {
+            wheel.schedule(userId, reminder.deadlineMillis(), reminder.date().toEpochDay());
+        }
+    }
+    
+    private static DueReminder nextReminder(long userId, ZoneId zone, LocalTime time, Instant after) {
+        LocalDate date = LocalDate.ofInstant(after, zone);
+        long deadline = occurrence(date, time, zone);
+        if (deadline <= after.toEpochMilli()) {
+            date = date.plusDays(1);
+            deadline = occurrence(date, time, zone);
+        }
+        return new DueReminder(userId, deadline, date);
+    }
+    
+    /**
+     * The reminder instant on a local date; a time skipped by a DST change moves forward.
+     */
+    private static long occurrence(LocalDate date, LocalTime time, ZoneId zone) {
+        return ZonedDateTime.of(date, time, zone).toInstant().toEpochMilli();
+    }
+    
+    private static boolean isTracked(LocalDate date) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        return !date.isBefore(today.minusDays(1)) && !date.isAfter(today.plusDays(1));
+    }
+    
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+    
+    private ReminderSettingsResponse mapToResponse(User user) {
+        return ReminderSettingsResponse.builder()
+                .timezone(User.zoneOf(user.getTimezone()).getId())
+                .reminderTime(user.getReminderTime())
+                .enabled(user.getReminderTime() != null)
+                .build();
+    }
+    
+    private record DueReminder(long userId, long deadlineMillis, LocalDate date) {
+    }
+    
+    private record UserDate(long userId, LocalDate date) {
+    }
+    
+    private record RetryBatch(List<DueReminder> reminders, int attempts, long notBeforeMillis) {
+    }
+    
+    private record BatchOutcome(List<DueReminder> processed, List<DueReminder> next, int notified) {
+    }
+}
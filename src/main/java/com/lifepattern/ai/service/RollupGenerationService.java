@@ -0,0 +1,68 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.entity.RollupGeneration;
+import com.lifepattern.ai.repository.RollupGenerationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Fences the rebuilds of incrementally maintained rollups against the deltas that are still
+ * buffered on every instance. A write reads its period's generation under a shared lock and
+ * tags its delta with it; a flush drops deltas tagged with an older generation than the
+ * current one. A rebuild takes the row exclusively, so it waits for in-flight writes and
+ * flushes, its recomputed base holds every write tagged with the old generation, and it
+ * bumps the generation before it commits.
+ * <p>
+ * Rows for every period a rebuild can touch are created ahead of time by {@link #ensure}, so
+ * writers never insert them and a missing row means the period is never rebuilt.
+ */
+@Service
+@RequiredArgsConstructor
+public class RollupGenerationService {
+    
+    private final RollupGenerationRepository generationRepository;
+    
+    /**
+     * The period's generation, share-locked until the caller's transaction ends.
+     */
+    @Transactional
+    public long current(String rollup, LocalDate periodStart) {
+        return generationRepository.findForShare(rollup, periodStart)
+                .map(RollupGeneration::getGeneration)
+                .orElse(0L);
+    }
+    
+    @Transactional
+    public void ensure(String rollup, Collection<LocalDate> periodStarts) {
+        for (LocalDate periodStart : periodStarts) {
+            if (!generationRepository.existsByRollupAndPeriodStart(rollup, periodStart)) {
+                generationRepository.insertIfAbsent(rollup, periodStart);
+            }
+        }
+    }
+    
+    /**
+     * Takes the period exclusively and bumps its generation. Returns false, leaving the
+     * generation alone, when the period was rebuilt within {@code minInterval}: a rebuild
+     * scheduled on every instance then runs on whichever gets there first.
+     */
+    @Transactional
+    public boolean beginRebuild(String rollup, LocalDate periodStart, Duration minInterval) {
+        generationRepository.insertIfAbsent(rollup, periodStart);
+        RollupGeneration row = generationRepository.findForUpdate(rollup, periodStart)
+                .orElseThrow(() -> new IllegalStateException("No generation for " + rollup + " " + periodStart));
+        LocalDateTime now = LocalDateTime.now();
+        if (row.getRebuiltAt() != null && row.getRebuiltAt().isAfter(now.minus(minInterval))) {
+            return false;
+        }
+        row.setGeneration(row.getGeneration() + 1);
+        row.setRebuiltAt(now);
+        return true;
+    }
+}
@@ -0,0 +1,329 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.entity.AIAnalysis;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.TeamDailyRollup;
+import com.lifepattern.ai.entity.TeamMembership;
+import com.lifepattern.ai.event.AnalysisCreatedEvent;
+import com.lifepattern.ai.event.DailyLogChangedEvent;
+import com.lifepattern.ai.repository.AIAnalysisRepository;
+import com.lifepattern.ai.repository.DailyLogRepository;
+import com.lifepattern.ai.repository.TeamDailyRollupRepository;
+import com.lifepattern.ai.repository.TeamMembershipRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains {@link TeamDailyRollup} rows so team trends never read members' logs.
+ * <p>
+ * Log writes, new analyses and joins turn into per-team, per-date deltas that are
+ * buffered per instance after commit and flushed to this instance's partial
+ * rows, so members of a large team writing at once do not queue on one row. A periodic
+ * rebuild recomputes the most recent days from daily_logs and ai_analysis into a fresh
+ * base, which also repairs drift from deltas lost by an instance that stopped before
+ * flushing. Deltas carry the day's {@link RollupGenerationService rebuild generation}, so
+ * ones already counted by a rebuild are dropped instead of flushed on top of it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TeamRollupService {
+    
+    private static final int METRICS = DailyLogMetric.count();
+    private static final String ROLLUP = "teams";
+    private static final Duration REBUILD_MIN_INTERVAL = Duration.ofHours(1);
+    
+    private final TeamDailyRollupRepository rollupRepository;
+    private final TeamMembershipRepository membershipRepository;
+    private final DailyLogRepository dailyLogRepository;
+    private final AIAnalysisRepository aiAnalysisRepository;
+    private final RollupGenerationService generationService;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${teams.rebuild-days}")
+    private int rebuildDays;
+    
+    private final String source = "instance:" + UUID.randomUUID();
+    private final Map<RollupKey, RollupDelta> pendingDeltas = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void init() {
+        ensureGenerations();
+    }
+    
+    @EventListener
+    public void onDailyLogChanged(DailyLogChangedEvent event) {
+        List<TeamMembership> memberships = membershipRepository.findJoinedByUserId(event.getUserId());
+        if (memberships.isEmpty()) {
+            return;
+        }
+        
+        Map<LocalDate, RollupDelta> deltas = new HashMap<>();
+        if (event.getPrevious() != null) {
+            deltas.computeIfAbsent(event.getPrevious().getDate(), date -> new RollupDelta())
+                    .addLog(event.getPrevious().getMetrics(), -1);
+        }
+        if (event.getCurrent() != null) {
+            deltas.computeIfAbsent(event.getCurrent().getDate(), date -> new RollupDelta())
+                    .addLog(event.getCurrent().getMetrics(), 1);
+        }
+        bufferAfterCommit(memberships, deltas);
+    }
+    
+    @EventListener
+    public void onAnalysisCreated(AnalysisCreatedEvent event) {
+        List<TeamMembership> memberships = membershipRepository.findJoinedByUserId(event.getUserId());
+        if (memberships.isEmpty()) {
+            return;
+        }
+        
+        RollupDelta delta = new RollupDelta();
+        if (event.getPreviousScore() != null) {
+            delta.addAnalysis(event.getPreviousScore(), event.getPreviousRiskLevel(), -1);
+        }
+        delta.addAnalysis(event.getScore(), event.getRiskLevel(), 1);
+        bufferAfterCommit(memberships, Map.of(event.getDate(), delta));
+    }
+    
+    /**
+     * Adds what a user who just joined already recorded for {@code since} or later, normally
+     * at most that day's log and analysis. Nothing from before the join is added, and
+     * leaving takes nothing out: the team keeps what was contributed while a member.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onJoined(TeamMembership membership, LocalDate since) {
+        Map<LocalDate, RollupDelta> deltas = new HashMap<>();
+        for (DailyLog log : dailyLogRepository.findHistorySince(List.of(membership.getUserId()), since)) {
+            deltas.computeIfAbsent(log.getDate(), date -> new RollupDelta())
+                    .addLog(DailyLogMetric.valuesOf(log), 1);
+        }
+        
+        // Oldest first, so the last row seen for a date is the latest analysis of that day
+        Map<LocalDate, Object[]> latest = new HashMap<>();
+        for (Object[] row : aiAnalysisRepository.findScoreHistorySince(membership.getUserId(), since.atStartOfDay())) {
+            latest.put(((LocalDateTime) row[0]).toLocalDate(), row);
+        }
+        latest.forEach((date, row) -> deltas.computeIfAbsent(date, d -> new RollupDelta())
+                .addAnalysis(((Number) row[1]).intValue(), (AIAnalysis.RiskLevel) row[2], 1));
+        
+        bufferAfterCommit(List.of(membership), deltas);
+    }
+    
+    /**
+     * Writes this instance's buffered deltas to its partial rows.
+     */
+    @Scheduled(fixedDelayString = "${teams.flush-interval}")
+    public void flush() {
+        for (RollupKey key : new ArrayList<>(pendingDeltas.keySet())) {
+            RollupDelta delta = pendingDeltas.remove(key);
+            if (delta == null || delta.isEmpty()) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (generationService.current(ROLLUP, key.date()) == key.generation()) {
+                        writePartial(key, delta);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush rollup deltas of team {} on {}, retrying later", key.teamId(), key.date(), e);
+                bufferDelta(key, delta);
+            }
+        }
+        ensureGenerations();
+    }
+    
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+    
+    /**
+     * Replaces the base and all partials of the most recent days with sums recomputed from
+     * daily_logs and ai_analysis. Scheduled on every instance; a day another instance
+     * rebuilt within the last hour is skipped.
+     */
+    @Scheduled(cron = "${teams.rebuild-cron}")
+    public void rebuild() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < rebuildDays; i++) {
+            LocalDate date = today.minusDays(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebuildDay(date));
+            } catch (RuntimeException e) {
+                log.warn("Team rollup rebuild of {} failed", date, e);
+            }
+        }
+    }
+    
+    /**
+     * Buffers each delta for the teams whose membership covers its date.
+     */
+    private void bufferAfterCommit(List<TeamMembership> memberships, Map<LocalDate, RollupDelta> deltas) {
+        Map<LocalDate, Long> generations = new HashMap<>();
+        deltas.keySet().forEach(date -> generations.put(date, generationService.current(ROLLUP, date)));
+        Runnable buffer = () -> {
+            for (TeamMembership membership : memberships) {
+                deltas.forEach((date, delta) -> {
+                    if (membership.covers(date)) {
+                        bufferDelta(new RollupKey(membership.getTeamId(), date, generations.get(date)), delta.copy());
+                    }
+                });
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer.run();
+                }
+            });
+        } else {
+            buffer.run();
+        }
+    }
+    
+    private void bufferDelta(RollupKey key, RollupDelta delta) {
+        pendingDeltas.merge(key, delta, RollupDelta::merge);
+    }
+    
+    private void writePartial(RollupKey key, RollupDelta delta) {
+        TeamDailyRollup rollup = rollupRepository.findForUpdate(key.teamId(), key.date(), source)
+                .orElseGet(() -> TeamDailyRollup.builder()
+                        .teamId(key.teamId())
+                        .date(key.date())
+                        .source(source)
+                        .build());
+        delta.applyTo(rollup);
+        rollupRepository.save(rollup);
+    }
+    
+    private void rebuildDay(LocalDate date) {
+        if (!generationService.beginRebuild(ROLLUP, date, REBUILD_MIN_INTERVAL)) {
+            return;
+        }
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
+        Map<Long, RollupDelta> teams = new HashMap<>();
+        for (Object[] row : dailyLogRepository.findTeamMetricSums(date, start, end)) {
+            RollupDelta delta = teams.computeIfAbsent((Long) row[0], teamId -> new RollupDelta());
+            delta.logCount = ((Number) row[1]).longValue();
+            for (int m = 0; m < METRICS; m++) {
+                delta.metricSums[m] = ((Number) row[m + 2]).doubleValue();
+            }
+        }
+        for (Object[] row : aiAnalysisRepository.findTeamLatestScoreSums(start, end, AIAnalysis.RiskLevel.HIGH)) {
+            RollupDelta delta = teams.computeIfAbsent((Long) row[0], teamId -> new RollupDelta());
+            delta.analysisCount = ((Number) row[1]).longValue();
+            delta.burnoutSum = ((Number) row[2]).doubleValue();
+            delta.highRiskCount = ((Number) row[3]).longValue();
+        }
+        
+        rollupRepository.deleteByDate(date);
+        rollupRepository.flush();
+        teams.forEach((teamId, delta) -> {
+            TeamDailyRollup rollup = TeamDailyRollup.builder()
+                    .teamId(teamId)
+                    .date(date)
+                    .source(TeamDailyRollup.BASE_SOURCE)
+                    .build();
+            delta.applyTo(rollup);
+            rollupRepository.save(rollup);
+        });
+    }
+    
+    /**
+     * Creates the generation rows of every day a rebuild can touch, and of tomorrow.
+     */
+    private void ensureGenerations() {
+        LocalDate today = LocalDate.now();
+        List<LocalDate> dates = new ArrayList<>();
+        for (int i = -1; i < rebuildDays; i++) {
+            dates.add(today.minusDays(i));
+        }
+        generationService.ensure(ROLLUP, dates);
+    }
+    
+    private record RollupKey(Long teamId, LocalDate date, long generation) {
+    }
+    
+    private static class RollupDelta {
+        
+        private long logCount;
+        private final double[] metricSums = new double[METRICS];
+        private long analysisCount;
+        private double burnoutSum;
+        private long highRiskCount;
+        
+        void addLog(double[] metrics, int sign) {
+            logCount += sign;
+            for (int m = 0; m < METRICS; m++) {
+                metricSums[m] += sign * metrics[m];
+            }
+        }
+        
+        void addAnalysis(int score, AIAnalysis.RiskLevel riskLevel, int sign) {
+            analysisCount += sign;
+            burnoutSum += sign * score;
+            if (riskLevel == AIAnalysis.RiskLevel.HIGH) {
+                highRiskCount += sign;
+            }
+        }
+        
+        RollupDelta merge(RollupDelta other) {
+            logCount += other.logCount;
+            for (int m = 0; m < METRICS; m++) {
+                metricSums[m] += other.metricSums[m];
+            }
+            analysisCount += other.analysisCount;
+            burnoutSum += other.burnoutSum;
+            highRiskCount += other.highRiskCount;
+            return this;
+        }
+        
+        RollupDelta copy() {
+            return new RollupDelta().merge(this);
+        }
+        
+        boolean isEmpty() {
+            for (double sum : metricSums) {
+                if (sum != 0) {
+                    return false;
+                }
+            }
+            return logCount == 0 && analysisCount == 0 && burnoutSum == 0 && highRiskCount == 0;
+        }
+        
+        void applyTo(TeamDailyRollup rollup) {
+            rollup.setLogCount(rollup.getLogCount() + logCount);
+            for (DailyLogMetric metric : DailyLogMetric.values()) {
+                rollup.setMetricSum(metric, rollup.getMetricSum(metric) + metricSums[metric.ordinal()]);
+            }
+            rollup.setAnalysisCount(rollup.getAnalysisCount() + analysisCount);
+            rollup.setBurnoutSum(rollup.getBurnoutSum() + burnoutSum);
+            rollup.setHighRiskCount(rollup.getHighRiskCount() + highRiskCount);
+        }
+    }
+}
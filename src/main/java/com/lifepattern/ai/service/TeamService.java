@@ -0,0 +1,278 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.dto.AddTeamMemberRequest;
+import com.lifepattern.ai.dto.CreateTeamRequest;
+import com.lifepattern.ai.dto.TeamMemberResponse;
+import com.lifepattern.ai.dto.TeamResponse;
+import com.lifepattern.ai.dto.TeamTrendPointResponse;
+import com.lifepattern.ai.dto.TeamTrendResponse;
+import com.lifepattern.ai.entity.Team;
+import com.lifepattern.ai.entity.TeamMembership;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.exception.BadRequestException;
+import com.lifepattern.ai.exception.ForbiddenException;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.repository.TeamDailyRollupRepository;
+import com.lifepattern.ai.repository.TeamMembershipRepository;
+import com.lifepattern.ai.repository.TeamRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Teams, their members and the aggregate trends their managers see. Trends are read from
+ * the rollups kept by {@link TeamRollupService} and a day's means are only shown once at
+ * least {@code teams.min-group-size} members contributed to them. Managers can only invite
+ * users; nothing of a user's is shared until they accept.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamService {
+    
+    private final TeamRepository teamRepository;
+    private final TeamMembershipRepository membershipRepository;
+    private final TeamDailyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final TeamRollupService teamRollupService;
+    
+    @Value("${teams.min-group-size}")
+    private int minGroupSize;
+    
+    @Value("${teams.max-trend-days}")
+    private int maxTrendDays;
+    
+    @Transactional
+    public TeamResponse createTeam(String email, CreateTeamRequest request) {
+        User user = getUserByEmail(email);
+        
+        Team team = teamRepository.save(Team.builder()
+                .name(request.getName().trim())
+                .memberCount(1)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        TeamMembership membership = membershipRepository.save(TeamMembership.builder()
+                .teamId(team.getId())
+                .userId(user.getId())
+                .role(TeamMembership.Role.MANAGER)
+                .status(TeamMembership.Status.ACTIVE)
+                .invitedAt(now)
+                .joinedAt(now)
+                .build());
+        teamRollupService.onJoined(membership, now.toLocalDate());
+        
+        return mapToResponse(team, membership);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TeamResponse> getTeams(String email) {
+        User user = getUserByEmail(email);
+        return membershipRepository.findTeamsOf(user.getId(), TeamMembership.Status.LEFT)
+                .stream()
+                .map(row -> mapToResponse((Team) row[0], (TeamMembership) row[1]))
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TeamMemberResponse> getMembers(String email, Long teamId) {
+        User user = getUserByEmail(email);
+        requireManager(teamId, user.getId());
+        
+        return membershipRepository.findMembersOf(teamId, TeamMembership.Status.LEFT)
+                .stream()
+                .map(row -> mapToMemberResponse((TeamMembership) row[0], (String) row[1], (String) row[2]))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Invites a user. They become a member, and start contributing, only once they accept.
+     */
+    @Transactional
+    public TeamMemberResponse addMember(String email, Long teamId, AddTeamMemberRequest request) {
+        User user = getUserByEmail(email);
+        requireManager(teamId, user.getId());
+        teamRepository.findForUpdate(teamId)
+                .orElseThrow(() -> new ResourceNotFoundException("Team not found"));
+        
+        User member = userRepository.findByEmail(request.getEmail())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        TeamMembership.Role role = request.getRole() != null
+                ? TeamMembership.Role.valueOf(request.getRole())
+                : TeamMembership.Role.MEMBER;
+        
+        // A former member's row is reused; rebuilds count their earlier span until they accept again
+        TeamMembership membership = membershipRepository.findByTeamIdAndUserId(teamId, member.getId())
+                .orElseGet(() -> TeamMembership.builder().teamId(teamId).userId(member.getId()).build());
+        if (membership.getStatus() == TeamMembership.Status.ACTIVE) {
+            throw new BadRequestException("User is already a member of this team");
+        }
+        if (membership.getStatus() == TeamMembership.Status.INVITED) {
+            throw new BadRequestException("User has already been invited to this team");
+        }
+        membership.setRole(role);
+        membership.setStatus(TeamMembership.Status.INVITED);
+        membership.setInvitedAt(LocalDateTime.now());
+        membershipRepository.save(membership);
+        
+        return mapToMemberResponse(membership, member.getEmail(), member.getName());
+    }
+    
+    /**
+     * Accepts the caller's invitation. Their data counts towards the team's trends from today on.
+     */
+    @Transactional
+    public TeamResponse acceptInvitation(String email, Long teamId) {
+        User user = getUserByEmail(email);
+        Team team = teamRepository.findForUpdate(teamId)
+                .orElseThrow(() -> new ResourceNotFoundException("Invitation not found"));
+        TeamMembership membership = membershipRepository.findByTeamIdAndUserId(teamId, user.getId())
+                .filter(m -> m.getStatus() == TeamMembership.Status.INVITED)
+                .orElseThrow(() -> new ResourceNotFoundException("Invitation not found"));
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate since = now.toLocalDate();
+        if (membership.getLeftAt() != null && !membership.getLeftAt().toLocalDate().isBefore(since)) {
+            // Back on the day they left: the earlier span goes on, and today is already counted
+            since = membership.getLeftAt().toLocalDate().plusDays(1);
+        } else {
+            membership.setJoinedAt(now);
+        }
+        membership.setStatus(TeamMembership.Status.ACTIVE);
+        membership.setLeftAt(null);
+        team.setMemberCount(team.getMemberCount() + 1);
+        teamRollupService.onJoined(membership, since);
+        
+        return mapToResponse(team, membership);
+    }
+    
+    /**
+     * Managers can remove anyone; members can only remove themselves. Removing an invitation
+     * withdraws or declines it. What a member contributed while in the team stays in its trends.
+     */
+    @Transactional
+    public void removeMember(String email, Long teamId, Long userId) {
+        User user = getUserByEmail(email);
+        if (!user.getId().equals(userId)) {
+            requireManager(teamId, user.getId());
+        }
+        Team team = teamRepository.findForUpdate(teamId)
+                .orElseThrow(() -> new ResourceNotFoundException("Team not found"));
+        
+        TeamMembership membership = membershipRepository.findByTeamIdAndUserId(teamId, userId)
+                .filter(m -> m.getStatus() != TeamMembership.Status.LEFT)
+                .orElseThrow(() -> new ResourceNotFoundException("Member not found"));
+        if (membership.getStatus() == TeamMembership.Status.INVITED) {
+            if (membership.getJoinedAt() == null) {
+                membershipRepository.delete(membership);
+            } else {
+                membership.setStatus(TeamMembership.Status.LEFT);
+            }
+            return;
+        }
+        if (membership.getRole() == TeamMembership.Role.MANAGER
+                && membershipRepository.countByTeamIdAndRoleAndStatus(
+                        teamId, TeamMembership.Role.MANAGER, TeamMembership.Status.ACTIVE) == 1) {
+            throw new BadRequestException("A team needs at least one manager");
+        }
+        
+        membership.setStatus(TeamMembership.Status.LEFT);
+        membership.setLeftAt(LocalDateTime.now());
+        team.setMemberCount(team.getMemberCount() - 1);
+    }
+    
+    @Transactional(readOnly = true)
+    public TeamTrendResponse getTrends(String email, Long teamId, Integer days, LocalDate start, LocalDate end) {
+        User user = getUserByEmail(email);
+        requireManager(teamId, user.getId());
+        Team team = teamRepository.findById(teamId)
+                .orElseThrow(() -> new ResourceNotFoundException("Team not found"));
+        
+        AnalysisService.TrendRequest range = AnalysisService.TrendRequest.of(days, start, end, null, null);
+        if (range.endDate().toEpochDay() - range.startDate().toEpochDay() + 1 > maxTrendDays) {
+            throw new BadRequestException("Team trends are limited to " + maxTrendDays + " days");
+        }
+        if (team.getMemberCount() < minGroupSize) {
+            throw new BadRequestException("Team trends need at least " + minGroupSize + " members");
+        }
+        
+        List<TeamTrendPointResponse> points = new ArrayList<>();
+        for (Object[] row : rollupRepository.sumByDate(teamId, range.startDate(), range.endDate())) {
+            long logged = ((Number) row[1]).longValue();
+            long analyzed = ((Number) row[8]).longValue();
+            if (logged <= 0 && analyzed <= 0) {
+                continue;
+            }
+            boolean showLogs = logged >= minGroupSize;
+            boolean showAnalyses = analyzed >= minGroupSize;
+            points.add(TeamTrendPointResponse.builder()
+                    .date((LocalDate) row[0])
+                    .loggedMembers(logged)
+                    .sleepHours(showLogs ? mean(row[2], logged) : null)
+                    .workHours(showLogs ? mean(row[3], logged) : null)
+                    .studyHours(showLogs ? mean(row[4], logged) : null)
+                    .entertainmentHours(showLogs ? mean(row[5], logged) : null)
+                    .energyLevel(showLogs ? mean(row[6], logged) : null)
+                    .stressLevel(showLogs ? mean(row[7], logged) : null)
+                    .analyzedMembers(analyzed)
+                    .burnoutScore(showAnalyses ? mean(row[9], analyzed) : null)
+                    .highRiskShare(showAnalyses ? Math.round(((Number) row[10]).doubleValue() / analyzed * 100) / 100.0 : null)
+                    .build());
+        }
+        
+        return TeamTrendResponse.builder()
+                .teamId(team.getId().toString())
+                .name(team.getName())
+                .memberCount(team.getMemberCount())
+                .minGroupSize(minGroupSize)
+                .points(points)
+                .build();
+    }
+    
+    private void requireManager(Long teamId, Long userId) {
+        TeamMembership membership = membershipRepository.findByTeamIdAndUserId(teamId, userId)
+                .filter(m -> m.getStatus() == TeamMembership.Status.ACTIVE)
+                .orElseThrow(() -> new ResourceNotFoundException("Team not found"));
+        if (membership.getRole() != TeamMembership.Role.MANAGER) {
+            throw new ForbiddenException("Only team managers can do this");
+        }
+    }
+    
+    private static Double mean(Object sum, long count) {
+        return Math.round(((Number) sum).doubleValue() / count * 10) / 10.0;
+    }
+    
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+    
+    private TeamResponse mapToResponse(Team team, TeamMembership membership) {
+        return TeamResponse.builder()
+                .id(team.getId().toString())
+                .name(team.getName())
+                .role(membership.getRole().name())
+                .status(membership.getStatus().name())
+                .memberCount(team.getMemberCount())
+                .createdAt(team.getCreatedAt())
+                .build();
+    }
+    
+    private TeamMemberResponse mapToMemberResponse(TeamMembership membership, String email, String name) {
+        return TeamMemberResponse.builder()
+                .userId(membership.getUserId().toString())
+                .email(email)
+                .name(name)
+                .role(membership.getRole().name())
+                .status(membership.getStatus().name())
+                .invitedAt(membership.getInvitedAt())
+                .joinedAt(membership.getStatus() == TeamMembership.Status.ACTIVE ? membership.getJoinedAt() : null)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.lifepattern.ai.service;
+
+import com.lifepattern.ai.dto.MetricSummaryResponse;
+import com.lifepattern.ai.dto.UserSummaryResponse;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.DailyLogMetric;
+import com.lifepattern.ai.entity.MetricMoments;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.entity.UserStats;
+import com.lifepattern.ai.event.DailyLogChangedEvent;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.repository.DailyLogRepository;
+import com.lifepattern.ai.repository.UserRepository;
+import com.lifepattern.ai.repository.UserStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains the per-user {@link UserStats} snapshot from log writes so summaries never
+ * scan daily_logs. A user without a snapshot yet (history older than this feature) is
+ * rebuilt once from their logs, under the lock of a row created by an upsert.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatsService {
+    
+    private final UserStatsRepository userStatsRepository;
+    private final DailyLogRepository dailyLogRepository;
+    private final UserRepository userRepository;
+    
+    @EventListener
+    public void onDailyLogChanged(DailyLogChangedEvent event) {
+        UserStats stats = lockStats(event.getUserId());
+        if (stats.moments(DailyLogMetric.SLEEP_HOURS).getCount() == 0) {
+            // The rebuild reads the already-flushed change, so there is no delta to apply
+            userStatsRepository.save(rebuild(event.getUserId()));
+            return;
+        }
+        
+        boolean extremesValid = true;
+        if (event.getPrevious() != null) {
+            for (DailyLogMetric metric : DailyLogMetric.values()) {
+                extremesValid &= stats.moments(metric).remove(event.getPrevious().get(metric));
+            }
+        }
+        if (event.getCurrent() != null) {
+            for (DailyLogMetric metric : DailyLogMetric.values()) {
+                stats.moments(metric).add(event.getCurrent().get(metric));
+            }
+        }
+        if (!extremesValid) {
+            recomputeExtremes(stats);
+        }
+    }
+    
+    @Transactional
+    public UserSummaryResponse getSummary(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        UserStats stats = userStatsRepository.findById(user.getId())
+                .orElseGet(() -> {
+                    lockStats(user.getId());
+                    return userStatsRepository.save(rebuild(user.getId()));
+                });
+        
+        Map<String, MetricSummaryResponse> metrics = new LinkedHashMap<>();
+        for (DailyLogMetric metric : DailyLogMetric.values()) {
+            MetricMoments moments = stats.moments(metric);
+            double variance = moments.variance();
+            metrics.put(metric.getFieldName(), MetricSummaryResponse.builder()
+                    .count(moments.getCount())
+                    .mean(moments.getCount() > 0 ? moments.getMean() : null)
+                    .variance(variance)
+                    .stdDev(Math.sqrt(variance))
+                    .min(moments.getMin())
+                    .max(moments.getMax())
+                    .build());
+        }
+        
+        return UserSummaryResponse.builder()
+                .userId(user.getId().toString())
+                .totalLogs(stats.moments(DailyLogMetric.SLEEP_HOURS).getCount())
+                .metrics(metrics)
+                .updatedAt(stats.getUpdatedAt())
+                .build();
+    }
+    
+    /**
+     * The user's snapshot, locked; an empty one is created first if there is none.
+     */
+    private UserStats lockStats(Long userId) {
+        Optional<UserStats> existing = userStatsRepository.findForUpdate(userId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        userStatsRepository.insertIfAbsent(userId);
+        return userStatsRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("No stats row for user " + userId));
+    }
+    
+    private UserStats rebuild(Long userId) {
+        UserStats stats = UserStats.builder().userId(userId).build();
+        List<DailyLog> logs = dailyLogRepository.findByUserOrderByDateDesc(userRepository.getReferenceById(userId));
+        for (DailyLog log : logs) {
+            double[] values = DailyLogMetric.valuesOf(log);
+            for (DailyLogMetric metric : DailyLogMetric.values()) {
+                stats.moments(metric).add(values[metric.ordinal()]);
+            }
+        }
+        return stats;
+    }
+    
+    private void recomputeExtremes(UserStats stats) {
+        Object[] row = dailyLogRepository.findMetricExtremes(stats.getUserId()).get(0);
+        for (DailyLogMetric metric : DailyLogMetric.values()) {
+            MetricMoments moments = stats.moments(metric);
+            Number min = (Number) row[metric.ordinal() * 2];
+            Number max = (Number) row[metric.ordinal() * 2 + 1];
+            moments.setMin(min == null ? null : min.doubleValue());
+            moments.setMax(max == null ? null : max.doubleValue());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.lifepattern.ai.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifepattern.ai.exception.ErrorResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sheds load before it reaches the JWT filter and the connection pool. Each partition has its
+ * own adaptive limit, so a burst of logins or regenerates cannot starve the cheap reads, and
+ * bulk work (regenerates, exports) is turned away outright while reads are at their limit.
+ * Rejected requests get 503 with a Retry-After instead of waiting on a Tomcat thread for a
+ * connection that will time out.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    public enum Partition {
+        READ, WRITE, LOGIN, REGENERATE, EXPORT;
+        
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+        
+        boolean isBulk() {
+            return this == REGENERATE || this == EXPORT;
+        }
+    }
+    
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    
+    @Value("${concurrency-limit.enabled}")
+    private boolean enabled;
+    
+    @Value("${concurrency-limit.smoothing}")
+    private double smoothing;
+    
+    @Value("${concurrency-limit.rtt-tolerance}")
+    private double rttTolerance;
+    
+    @Value("${concurrency-limit.retry-after}")
+    private Duration retryAfter;
+    
+    private final Map<Partition, GradientLimiter> limiters = new EnumMap<>(Partition.class);
+    
+    @PostConstruct
+    void init() {
+        for (Partition partition : Partition.values()) {
+            String prefix = "concurrency-limit." + partition.key() + ".";
+            limiters.put(partition, new GradientLimiter(partition.key(),
+                    environment.getRequiredProperty(prefix + "initial", Integer.class),
+                    environment.getRequiredProperty(prefix + "min", Integer.class),
+                    environment.getRequiredProperty(prefix + "max", Integer.class),
+                    smoothing, rttTolerance));
+        }
+    }
+    
+    public Map<Partition, GradientLimiter> getLimiters() {
+        return Collections.unmodifiableMap(limiters);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // Health checks must keep answering under load, and change feed long polls would
+        // read as very slow requests and drag the read limit down
+        return !enabled || request.getServletPath().startsWith("/actuator")
+                || request.getServletPath().equals("/changes")
+                || "OPTIONS".equals(request.getMethod());
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Partition partition = partitionOf(request);
+        GradientLimiter limiter = limiters.get(partition);
+        if (partition.isBulk() && limiters.get(Partition.READ).isSaturated()) {
+            limiter.reject();
+            shed(response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            shed(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streaming responses hold their slot until they complete
+                async = true;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        limiter.release(System.nanoTime() - start);
+                    }
+                    
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+                    
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+                    
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            }
+        } finally {
+            if (!async) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+    
+    static Partition partitionOf(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path.equals("/auth/login") || path.equals("/auth/reset-password")) {
+            return Partition.LOGIN;
+        }
+        if (path.equals("/analysis/regenerate")) {
+            return Partition.REGENERATE;
+        }
+        if (path.equals("/export")) {
+            return Partition.EXPORT;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? Partition.READ : Partition.WRITE;
+    }
+    
+    private void shed(HttpServletResponse response) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message("Server is busy, please retry later")
+                .build();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
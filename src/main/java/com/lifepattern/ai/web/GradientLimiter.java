@@ -0,0 +1,109 @@
+package com.lifepattern.ai.web;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to latency, after the gradient algorithm in Netflix's
+ * concurrency-limits. A long-window average of request latency serves as the no-load baseline;
+ * when recent latency rises above it (requests are queueing on something downstream, usually the
+ * connection pool) the limit shrinks in proportion, and while latency stays at the baseline it
+ * grows by roughly the square root of the limit per sample.
+ */
+public class GradientLimiter {
+    
+    private static final int WARMUP_SAMPLES = 10;
+    private static final double LONG_WINDOW_WEIGHT = 2.0 / (600 + 1);
+    private static final double SHORT_WINDOW_WEIGHT = 2.0 / (10 + 1);
+    
+    @Getter
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    
+    private volatile double estimatedLimit;
+    private double longRtt;
+    private double shortRtt;
+    private long samples;
+    
+    public GradientLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                           double smoothing, double rttTolerance) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+    
+    /**
+     * Takes a slot, or counts a rejection and returns false when the limit is reached.
+     * Every successful call must be followed by exactly one {@link #release(long)}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    public void reject() {
+        rejected.increment();
+    }
+    
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        update(rttNanos, inFlightBefore);
+    }
+    
+    public boolean isSaturated() {
+        return inFlight.get() >= getLimit();
+    }
+    
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+    
+    private synchronized void update(long rttNanos, int inFlightBefore) {
+        samples++;
+        if (samples <= WARMUP_SAMPLES) {
+            longRtt += (rttNanos - longRtt) / samples;
+            shortRtt = longRtt;
+            return;
+        }
+        longRtt += (rttNanos - longRtt) * LONG_WINDOW_WEIGHT;
+        shortRtt += (rttNanos - shortRtt) * SHORT_WINDOW_WEIGHT;
+        // After a sustained slowdown clears, let the baseline come back down quickly
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        // A mostly idle limiter says nothing about whether the limit is right
+        if (inFlightBefore < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,257 @@
+package com.lifepattern.ai.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lifepattern.ai.exception.ErrorResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Makes authenticated writes safe to retry. The first request carrying an {@code Idempotency-Key}
+ * runs normally and its response is kept for {@code idempotency.ttl}; a retry with the same key
+ * gets that response back without reaching the controller. A retry that arrives while the first
+ * request is still running gets 409, and reusing a key for a different request gets 422.
+ * <p>
+ * Keys are scoped to the user, and server errors are not kept so that they can be retried.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class IdempotencyFilter extends OncePerRequestFilter {
+    
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 255;
+    
+    private final ObjectMapper objectMapper;
+    
+    @Value("${idempotency.maximum-keys}")
+    private long maximumKeys;
+    
+    @Value("${idempotency.ttl}")
+    private Duration ttl;
+    
+    @Value("${idempotency.max-response-bytes}")
+    private int maxResponseBytes;
+    
+    private Cache<String, StoredResponse> responses;
+    private final LongAdder replayed = new LongAdder();
+    
+    @PostConstruct
+    void init() {
+        responses = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !WRITE_METHODS.contains(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            // Unauthenticated writes are left to the security chain to reject
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String fingerprint = request.getMethod() + " " + request.getRequestURI() + " " + sha256(body);
+        String storeKey = authentication.getName() + "\n" + key;
+        StoredResponse pending = new StoredResponse(fingerprint, 0, null, null);
+        StoredResponse existing = responses.asMap().putIfAbsent(storeKey, pending);
+        if (existing != null) {
+            if (!existing.getFingerprint().equals(fingerprint)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            } else if (existing.isPending()) {
+                writeError(response, HttpStatus.CONFLICT,
+                        "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+            } else {
+                replayed.increment();
+                replay(existing, response);
+            }
+            return;
+        }
+        
+        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        boolean kept = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), wrappedResponse);
+            byte[] content = wrappedResponse.getContentAsByteArray();
+            int status = wrappedResponse.getStatus();
+            if (status < 500 && content.length <= maxResponseBytes) {
+                responses.put(storeKey, new StoredResponse(fingerprint, status, wrappedResponse.getContentType(), content));
+                kept = true;
+            }
+        } finally {
+            if (!kept) {
+                responses.asMap().remove(storeKey, pending);
+            }
+            wrappedResponse.copyBodyToResponse();
+        }
+    }
+    
+    public long getStoredCount() {
+        return responses.estimatedSize();
+    }
+    
+    public long getReplayedCount() {
+        return replayed.sum();
+    }
+    
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+    
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+    
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    private static class StoredResponse {
+        
+        private final String fingerprint;
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+        
+        boolean isPending() {
+            return body == null;
+        }
+    }
+    
+    /**
+     * The body has already been read to fingerprint it, so it is served again from memory.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] body;
+        
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The body is in memory: all of it is readable now and no more will come
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+                
+                @Override
+                public int read() {
+                    return input.read();
+                }
+                
+                @Override
+                public int read(@NonNull byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.lifepattern.ai.reactive;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only R2DBC view of the {@code ai_analysis} table maintained by the JPA entity.
+ */
+@Data
+@NoArgsConstructor
+@Table("ai_analysis")
+public class AIAnalysisRow {
+    
+    @Id
+    private Long id;
+    private Long userId;
+    private Integer burnoutScore;
+    private String riskLevel;
+    private String suggestionText;
+    private String modelVersion;
+    private LocalDateTime analyzedAt;
+}
@@ -0,0 +1,29 @@
+package com.lifepattern.ai.reactive;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only R2DBC view of the {@code daily_logs} table maintained by the JPA entity.
+ */
+@Data
+@NoArgsConstructor
+@Table("daily_logs")
+public class DailyLogRow {
+    
+    @Id
+    private Long id;
+    private Long userId;
+    private LocalDate date;
+    private Double sleepHours;
+    private Double workHours;
+    private Double studyHours;
+    private Double entertainmentHours;
+    private Integer energyLevel;
+    private Integer stressLevel;
+    private String notes;
+}
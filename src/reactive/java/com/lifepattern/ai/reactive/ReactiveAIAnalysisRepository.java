@@ -0,0 +1,11 @@
+package com.lifepattern.ai.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveAIAnalysisRepository extends R2dbcRepository<AIAnalysisRow, Long> {
+    
+    Mono<AIAnalysisRow> findFirstByUserIdOrderByAnalyzedAtDesc(Long userId);
+}
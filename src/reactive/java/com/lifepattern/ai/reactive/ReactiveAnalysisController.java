@@ -0,0 +1,44 @@
+package com.lifepattern.ai.reactive;
+
+import com.lifepattern.ai.dto.AIAnalysisResponse;
+import com.lifepattern.ai.dto.TrendDataResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/analysis")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAnalysisController {
+    
+    private final ReactiveReadService readService;
+    
+    @GetMapping("/latest")
+    public Mono<ResponseEntity<AIAnalysisResponse>> getLatestAnalysis(Authentication authentication) {
+        String email = authentication.getName();
+        return readService.getLatestAnalysis(email).map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/trends")
+    public Mono<ResponseEntity<List<TrendDataResponse>>> getTrends(
+            Authentication authentication,
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(required = false) String fill) {
+        String email = authentication.getName();
+        return readService.getTrends(email, days, start, end, maxPoints, fill).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,26 @@
+package com.lifepattern.ai.reactive;
+
+import com.lifepattern.ai.dto.UserResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/auth")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+    
+    private final ReactiveReadService readService;
+    
+    @GetMapping("/me")
+    public Mono<ResponseEntity<UserResponse>> getCurrentUser(Authentication authentication) {
+        String email = authentication.getName();
+        return readService.getCurrentUser(email).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,24 @@
+package com.lifepattern.ai.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * Hot-tier reads of {@code DailyLogRepository}; archived logs are merged in by the caller.
+ */
+@Repository
+public interface ReactiveDailyLogRepository extends R2dbcRepository<DailyLogRow, Long> {
+    
+    Flux<DailyLogRow> findByUserIdOrderByDateAsc(Long userId);
+    
+    /**
+     * Only date, sleep hours and stress level are read; the other columns are left null.
+     */
+    @Query("SELECT date, sleep_hours, stress_level FROM daily_logs "
+            + "WHERE user_id = :userId AND date BETWEEN :startDate AND :endDate ORDER BY date ASC")
+    Flux<DailyLogRow> findTrendPoints(Long userId, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,65 @@
+package com.lifepattern.ai.reactive;
+
+import com.lifepattern.ai.security.JwtService;
+import com.lifepattern.ai.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Reactive counterpart of {@code JwtAuthenticationFilter}. The signature and expiry are checked
+ * inline; the revocation check may reach the database and runs on the bounded elastic pool.
+ * The user row itself is loaded by the handlers, which need it anyway.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+    
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        
+        Claims claims;
+        try {
+            claims = jwtService.extractClaim(authHeader.substring(7), Function.identity());
+        } catch (JwtException e) {
+            return chain.filter(exchange);
+        }
+        if (claims.getSubject() == null) {
+            return chain.filter(exchange);
+        }
+        
+        return Mono.fromCallable(() -> tokenRevocationService.isRevoked(claims)
+                        ? Optional.<UsernamePasswordAuthenticationToken>empty()
+                        : Optional.of(new UsernamePasswordAuthenticationToken(
+                                claims.getSubject(), null, AuthorityUtils.NO_AUTHORITIES)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(authentication -> authentication
+                        .map(token -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(token)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+}
@@ -0,0 +1,28 @@
+package com.lifepattern.ai.reactive;
+
+import com.lifepattern.ai.dto.DailyLogResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/logs")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveLogsController {
+    
+    private final ReactiveReadService readService;
+    
+    @GetMapping
+    public Mono<ResponseEntity<List<DailyLogResponse>>> getAllLogs(Authentication authentication) {
+        String email = authentication.getName();
+        return readService.getAllLogs(email).map(ResponseEntity::ok);
+    }
+}
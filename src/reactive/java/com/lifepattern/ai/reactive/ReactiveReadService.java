@@ -0,0 +1,146 @@
+package com.lifepattern.ai.reactive;
+
+import com.lifepattern.ai.archive.DailyLogArchive;
+import com.lifepattern.ai.archive.TierMergingIterator;
+import com.lifepattern.ai.dto.AIAnalysisResponse;
+import com.lifepattern.ai.dto.DailyLogResponse;
+import com.lifepattern.ai.dto.TrendDataResponse;
+import com.lifepattern.ai.dto.UserResponse;
+import com.lifepattern.ai.entity.DailyLog;
+import com.lifepattern.ai.entity.User;
+import com.lifepattern.ai.exception.BadRequestException;
+import com.lifepattern.ai.exception.ResourceNotFoundException;
+import com.lifepattern.ai.service.AnalysisService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The read paths of {@code DailyLogService}, {@code AnalysisService} and {@code AuthService} on
+ * R2DBC. Archived logs live in memory-mapped files, so those reads hop to the bounded elastic
+ * pool; everything else stays on the event loop.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveReadService {
+    
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveDailyLogRepository dailyLogRepository;
+    private final ReactiveAIAnalysisRepository aiAnalysisRepository;
+    private final DailyLogArchive dailyLogArchive;
+    
+    public Mono<List<DailyLogResponse>> getAllLogs(String email) {
+        return getUserByEmail(email).flatMap(user -> {
+            Mono<List<DailyLogResponse>> hot = dailyLogRepository.findByUserIdOrderByDateAsc(user.getId())
+                    .map(this::mapToResponse)
+                    .collectList();
+            Mono<List<DailyLogResponse>> archived = Mono.fromCallable(() -> dailyLogArchive.read(toUser(user), null, null)
+                            .stream()
+                            .map(this::mapToResponse)
+                            .toList())
+                    .subscribeOn(Schedulers.boundedElastic());
+            return Mono.zip(hot, archived, (hotLogs, archivedLogs) -> {
+                List<DailyLogResponse> logs = new ArrayList<>(hotLogs.size() + archivedLogs.size());
+                new TierMergingIterator<>(hotLogs.iterator(), archivedLogs.iterator(), DailyLogResponse::getDate)
+                        .forEachRemaining(logs::add);
+                Collections.reverse(logs);
+                return logs;
+            });
+        });
+    }
+    
+    public Mono<AIAnalysisResponse> getLatestAnalysis(String email) {
+        return getUserByEmail(email)
+                .flatMap(user -> aiAnalysisRepository.findFirstByUserIdOrderByAnalyzedAtDesc(user.getId()))
+                .switchIfEmpty(Mono.error(() ->
+                        new ResourceNotFoundException("No analysis found. Please create a daily log first.")))
+                .map(this::mapToResponse);
+    }
+    
+    public Mono<List<TrendDataResponse>> getTrends(String email, Integer days, LocalDate start, LocalDate end,
+                                                   Integer maxPoints, String fill) {
+        return Mono.fromCallable(() -> AnalysisService.TrendRequest.of(days, start, end, maxPoints, fill))
+                .flatMap(request -> getUserByEmail(email).flatMap(user -> {
+                    Mono<List<Object[]>> hot = dailyLogRepository
+                            .findTrendPoints(user.getId(), request.startDate(), request.endDate())
+                            .map(row -> new Object[] {row.getDate(), row.getSleepHours(), row.getStressLevel()})
+                            .collectList();
+                    Mono<List<Object[]>> archived = Mono.fromCallable(() ->
+                                    dailyLogArchive.trendPoints(user.getId(), request.startDate(), request.endDate()))
+                            .subscribeOn(Schedulers.boundedElastic());
+                    return Mono.zip(hot, archived, (hotRows, archivedRows) -> AnalysisService.buildTrends(request,
+                            new TierMergingIterator<>(hotRows.iterator(), archivedRows.iterator(),
+                                    row -> (LocalDate) row[0])));
+                }));
+    }
+    
+    public Mono<UserResponse> getCurrentUser(String email) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new BadRequestException("User not found")))
+                .map(user -> UserResponse.builder()
+                        .id(user.getId().toString())
+                        .email(user.getEmail())
+                        .name(user.getName())
+                        .build());
+    }
+    
+    private Mono<UserRow> getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User not found")));
+    }
+    
+    private User toUser(UserRow user) {
+        return User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .name(user.getName())
+                .build();
+    }
+    
+    private DailyLogResponse mapToResponse(DailyLogRow dailyLog) {
+        return DailyLogResponse.builder()
+                .id(dailyLog.getId().toString())
+                .date(dailyLog.getDate())
+                .sleepHours(dailyLog.getSleepHours())
+                .workHours(dailyLog.getWorkHours())
+                .studyHours(dailyLog.getStudyHours())
+                .entertainmentHours(dailyLog.getEntertainmentHours())
+                .energyLevel(dailyLog.getEnergyLevel())
+                .stressLevel(dailyLog.getStressLevel())
+                .notes(dailyLog.getNotes())
+                .build();
+    }
+    
+    private DailyLogResponse mapToResponse(DailyLog dailyLog) {
+        return DailyLogResponse.builder()
+                .id(dailyLog.getId().toString())
+                .date(dailyLog.getDate())
+                .sleepHours(dailyLog.getSleepHours())
+                .workHours(dailyLog.getWorkHours())
+                .studyHours(dailyLog.getStudyHours())
+                .entertainmentHours(dailyLog.getEntertainmentHours())
+                .energyLevel(dailyLog.getEnergyLevel())
+                .stressLevel(dailyLog.getStressLevel())
+                .notes(dailyLog.getNotes())
+                .build();
+    }
+    
+    private AIAnalysisResponse mapToResponse(AIAnalysisRow analysis) {
+        return AIAnalysisResponse.builder()
+                .userId(analysis.getUserId().toString())
+                .burnoutScore(analysis.getBurnoutScore())
+                .riskLevel(analysis.getRiskLevel())
+                .suggestionText(analysis.getSuggestionText())
+                .modelVersion(analysis.getModelVersion())
+                .analyzedAt(analysis.getAnalyzedAt())
+                .build();
+    }
+}
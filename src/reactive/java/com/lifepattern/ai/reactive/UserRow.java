@@ -0,0 +1,20 @@
+package com.lifepattern.ai.reactive;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC view of the {@code users} table maintained by the JPA entity.
+ */
+@Data
+@NoArgsConstructor
+@Table("users")
+public class UserRow {
+    
+    @Id
+    private Long id;
+    private String email;
+    private String name;
+}
@@ -0,0 +1,186 @@
+package com.lifepattern.ai.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.lifepattern.ai.dto.ForgotPasswordRequest;
+import com.lifepattern.ai.dto.LoginRequest;
+import com.lifepattern.ai.dto.RegisterRequest;
+import com.lifepattern.ai.dto.ResetPasswordRequest;
+import com.lifepattern.ai.entity.EmailOutboxMessage;
+import com.lifepattern.ai.repository.EmailOutboxMessageRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Password reset mail end to end: the request queues a row, the outbox sender delivers it to an
+ * embedded SMTP server, and the emailed token resets the password.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "logging.format=text",
+        "search.index-dir=${java.io.tmpdir}/lifepattern-test/search-index",
+        "archive.dir=${java.io.tmpdir}/lifepattern-test/archive",
+        "reminder.fetch-size=100",
+        "export.fetch-size=100",
+        // Tests drive the sender themselves
+        "mail.outbox.send-interval=3600000",
+        "mail.outbox.max-attempts=2"
+})
+class EmailOutboxServiceIntegrationTest {
+    
+    private static final Pattern TOKEN = Pattern.compile("\\?token=([A-Za-z0-9_-]+)");
+    
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+    
+    @Autowired
+    private AuthService authService;
+    
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+    
+    @Autowired
+    private EmailOutboxMessageRepository messageRepository;
+    
+    @BeforeEach
+    void clearOutbox() {
+        messageRepository.deleteAll();
+    }
+    
+    @Test
+    void resetLinkIsDeliveredAndResetsThePassword() throws Exception {
+        register("reset@example.com");
+        
+        authService.forgotPassword(forgotPassword("reset@example.com"));
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        emailOutboxService.sendDue();
+        
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("reset@example.com");
+        EmailOutboxMessage message = onlyMessage();
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxMessage.Status.SENT);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        
+        Matcher token = TOKEN.matcher(GreenMailUtil.getBody(received[0]));
+        assertThat(token.find()).isTrue();
+        ResetPasswordRequest reset = new ResetPasswordRequest();
+        reset.setToken(token.group(1));
+        reset.setNewPassword("changed1");
+        authService.resetPassword(reset);
+        
+        LoginRequest login = new LoginRequest();
+        login.setEmail("reset@example.com");
+        login.setPassword("changed1");
+        assertThat(authService.login(login).getAccess_token()).isNotBlank();
+    }
+    
+    @Test
+    void unknownEmailQueuesNothing() {
+        authService.forgotPassword(forgotPassword("nobody@example.com"));
+        emailOutboxService.sendDue();
+        
+        assertThat(messageRepository.findAll()).isEmpty();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+    
+    @Test
+    void failedSendIsRetriedAfterBackoff() {
+        register("retry@example.com");
+        authService.forgotPassword(forgotPassword("retry@example.com"));
+        
+        greenMail.stop();
+        try {
+            emailOutboxService.sendDue();
+        } finally {
+            greenMail.start();
+        }
+        EmailOutboxMessage message = onlyMessage();
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxMessage.Status.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getLastError()).isNotBlank();
+        assertThat(message.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        
+        // Not due yet
+        emailOutboxService.sendDue();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        
+        message.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        messageRepository.save(message);
+        emailOutboxService.sendDue();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(onlyMessage().getStatus()).isEqualTo(EmailOutboxMessage.Status.SENT);
+        assertThat(onlyMessage().getAttempts()).isEqualTo(2);
+    }
+    
+    @Test
+    void leasedMessageIsLeftToItsSender() {
+        register("leased@example.com");
+        authService.forgotPassword(forgotPassword("leased@example.com"));
+        EmailOutboxMessage message = onlyMessage();
+        message.setAttempts(1);
+        message.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+        messageRepository.save(message);
+        
+        emailOutboxService.sendDue();
+        
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(onlyMessage().getStatus()).isEqualTo(EmailOutboxMessage.Status.PENDING);
+    }
+    
+    @Test
+    void expiredLeaseOnTheLastAttemptFailsTheMessage() {
+        register("expired@example.com");
+        authService.forgotPassword(forgotPassword("expired@example.com"));
+        // A sender claimed the last attempt and died before recording a result
+        EmailOutboxMessage message = onlyMessage();
+        message.setAttempts(2);
+        message.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        messageRepository.save(message);
+        
+        emailOutboxService.sendDue();
+        
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(onlyMessage().getStatus()).isEqualTo(EmailOutboxMessage.Status.FAILED);
+    }
+    
+    private void register(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail(email);
+        request.setPassword("secret1");
+        request.setName("Test User");
+        authService.register(request);
+    }
+    
+    private static ForgotPasswordRequest forgotPassword(String email) {
+        ForgotPasswordRequest request = new ForgotPasswordRequest();
+        request.setEmail(email);
+        return request;
+    }
+    
+    private EmailOutboxMessage onlyMessage() {
+        List<EmailOutboxMessage> messages = messageRepository.findAll();
+        assertThat(messages).hasSize(1);
+        return messages.get(0);
+    }
+}